@@ -0,0 +1,56 @@
+#!/bin/bash
+
+# Compare booking-service en mode threads plateforme (défaut) et threads virtuels sous la même charge.
+# Prérequis : PostgreSQL démarré (docker-compose up -d booking-db), JDK 21, et
+#   cd booking-service && mvn clean install -DskipTests -Pjava21
+# Résultats : target/load-platform.json et target/load-virtual-threads.json (+ histogrammes .hgrm)
+#
+# Variables : CONCURRENCY (400), DURATION (60 s), WARMUP (15 s), READ_RATIO (0.8), PORT (18081)
+
+set -e
+cd "$(dirname "$0")"
+
+JAR=../booking-service/target/booking-service.jar
+PORT=${PORT:-18081}
+CONCURRENCY=${CONCURRENCY:-400}
+DURATION=${DURATION:-60}
+WARMUP=${WARMUP:-15}
+READ_RATIO=${READ_RATIO:-0.8}
+
+if [ ! -f "$JAR" ]; then
+    echo "❌ $JAR introuvable : construire booking-service avec mvn install -Pjava21"
+    exit 1
+fi
+
+mkdir -p target
+mvn -q compile
+
+for mode in platform virtual-threads; do
+    profile=""
+    if [ "$mode" = "virtual-threads" ]; then
+        profile="--spring.profiles.active=virtual-threads"
+    fi
+
+    echo "🚀 Démarrage de booking-service ($mode)..."
+    java -jar "$JAR" --server.port="$PORT" $profile \
+        --spring.cloud.config.enabled=false --eureka.client.enabled=false \
+        --spring.jpa.show-sql=false --logging.level.com.prj.booking=WARN \
+        > "target/booking-service-$mode.log" 2>&1 &
+    pid=$!
+
+    until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "❌ booking-service s'est arrêté, voir target/booking-service-$mode.log"
+            exit 1
+        fi
+        sleep 1
+    done
+
+    mvn -q exec:exec@load-test -Dload.args="--url http://localhost:$PORT --label $mode \
+        --concurrency $CONCURRENCY --duration $DURATION --warmup $WARMUP --read-ratio $READ_RATIO"
+
+    kill "$pid"
+    wait "$pid" || true
+done
+
+echo "✅ Résultats dans booking-benchmarks/target/load-*.json"
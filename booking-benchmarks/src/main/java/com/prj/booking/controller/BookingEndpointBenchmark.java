@@ -0,0 +1,91 @@
+package com.prj.booking.controller;
+
+import com.prj.booking.BookingServiceApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Full controller → service → repository path on the real application context, backed by an
+ * in-memory H2 database so no container is needed. Requests go through the DispatcherServlet
+ * (MockMvc), which leaves socket and Tomcat overhead out of the measurement.
+ * The bookings cache is disabled so that reads reach the database.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingEndpointBenchmark {
+
+    private static final String CREATE_BODY = """
+            {"customerId": %d, "flightId": 100, "numberOfPassengers": 1, "totalPrice": 250.0}""";
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+    private final AtomicLong customerIds = new AtomicLong();
+    private long existingId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        SpringApplication application = new SpringApplication(BookingServiceApplication.class);
+        application.setWebApplicationType(WebApplicationType.SERVLET);
+        context = application.run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:bookings;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.flyway.enabled=false",
+                "--spring.autoconfigure.exclude="
+                        + "org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration,"
+                        + "org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration",
+                "--spring.cache.type=none",
+                "--booking.clients.flight-service.enabled=false",
+                "--logging.level.root=WARN");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+
+        existingId = createBooking();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult getBookingById() throws Exception {
+        return mockMvc.perform(get("/api/bookings/{id}", existingId)).andReturn();
+    }
+
+    @Benchmark
+    public long createBooking() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_BODY.formatted(customerIds.incrementAndGet())))
+                .andReturn();
+        if (result.getResponse().getStatus() != 201) {
+            throw new IllegalStateException("Unexpected status " + result.getResponse().getStatus()
+                    + ": " + result.getResponse().getContentAsString());
+        }
+        String body = result.getResponse().getContentAsString();
+        int start = body.indexOf("\"id\":") + 5;
+        return Long.parseLong(body.substring(start, body.indexOf(',', start)));
+    }
+}
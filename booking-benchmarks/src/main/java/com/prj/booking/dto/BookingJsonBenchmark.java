@@ -0,0 +1,57 @@
+package com.prj.booking.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.prj.booking.entity.Booking;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON (de)serialization of the booking DTOs with the same ObjectMapper setup Spring Boot uses
+ * (JavaTimeModule, ISO dates instead of timestamps).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingJsonBenchmark {
+
+    private ObjectWriter responseWriter;
+    private ObjectMapper objectMapper;
+    private BookingResponse response;
+    private byte[] requestJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        responseWriter = objectMapper.writerFor(BookingResponse.class);
+
+        LocalDateTime now = LocalDateTime.now();
+        response = new BookingResponse(42L, 7L, 100L, 2, Booking.BookingStatus.CONFIRMED, 499.90,
+                now, now.plusDays(30), "12A,12B", "PAY-42", "Window seats", now, now, 3L);
+
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(7L);
+        request.setFlightId(100L);
+        request.setNumberOfPassengers(2);
+        request.setTotalPrice(499.90);
+        request.setDepartureDate(now.plusDays(30));
+        request.setSeatNumbers("12A,12B");
+        requestJson = objectMapper.writeValueAsBytes(request);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws Exception {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public BookingRequest deserializeRequest() throws Exception {
+        return objectMapper.readValue(requestJson, BookingRequest.class);
+    }
+}
@@ -0,0 +1,58 @@
+package com.prj.booking.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation of BookingRequest, as done by @Valid on POST /api/bookings and per item in the batch endpoint.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingRequestValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private BookingRequest valid;
+    private BookingRequest invalid;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        valid = new BookingRequest();
+        valid.setCustomerId(7L);
+        valid.setFlightId(100L);
+        valid.setNumberOfPassengers(2);
+        valid.setTotalPrice(499.90);
+
+        invalid = new BookingRequest();
+        invalid.setNumberOfPassengers(0);
+        invalid.setTotalPrice(-1.0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookingRequest>> validRequest() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<BookingRequest>> invalidRequest() {
+        return validator.validate(invalid);
+    }
+}
@@ -0,0 +1,195 @@
+package com.prj.booking.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator for the /api/bookings endpoints: {@code concurrency} clients each send
+ * one request, wait for the response, then send the next. Reads list a customer's bookings (always a
+ * database round trip, unlike GET /{id} which is cached), writes create a booking.
+ * <p>
+ * Latencies recorded during the warm-up are discarded. The run prints throughput and latency
+ * percentiles and writes them to {@code <out>/load-<label>.json}, plus the full HdrHistogram
+ * distribution to {@code load-<label>.hgrm}.
+ * <p>
+ * Options: {@code --url --label --concurrency --duration --warmup --read-ratio --customers --out}.
+ * Both execution modes should be compared at the same concurrency, since a closed loop slows
+ * its own request rate down when the server does.
+ */
+public final class BookingLoadTest {
+
+    private static final String CREATE_BODY = """
+            {"customerId": %d, "flightId": %d, "numberOfPassengers": 1, "totalPrice": 250.0}""";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Recorder recorder = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+    private final LongAdder errors = new LongAdder();
+    private final Map<Integer, LongAdder> statusCounts = new TreeMap<>();
+
+    private final String baseUrl;
+    private final String label;
+    private final int concurrency;
+    private final Duration duration;
+    private final Duration warmup;
+    private final double readRatio;
+    private final int customers;
+    private final Path outputDirectory;
+
+    private BookingLoadTest(Map<String, String> options) {
+        this.baseUrl = options.getOrDefault("url", "http://localhost:8081");
+        this.label = options.getOrDefault("label", "platform");
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "400"));
+        this.duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        this.warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15")));
+        this.readRatio = Double.parseDouble(options.getOrDefault("read-ratio", "0.8"));
+        this.customers = Integer.parseInt(options.getOrDefault("customers", "500"));
+        this.outputDirectory = Path.of(options.getOrDefault("out", "target"));
+        for (int status : new int[]{200, 201, 409, 429, 500, 503}) {
+            statusCounts.put(status, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Expected --option value pairs, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        new BookingLoadTest(options).run();
+    }
+
+    private void run() throws Exception {
+        System.out.printf("Load test '%s': %d clients, %ds warm-up + %ds against %s%n",
+                label, concurrency, warmup.toSeconds(), duration.toSeconds(), baseUrl);
+        for (int customerId = 1; customerId <= customers; customerId++) {
+            createBooking(customerId);
+        }
+
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+        List<Thread> clients = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Thread thread = new Thread(() -> clientLoop(end), "load-client-" + i);
+            thread.start();
+            clients.add(thread);
+        }
+
+        Thread.sleep(warmup.toMillis());
+        recorder.reset();
+        errors.reset();
+        statusCounts.values().forEach(LongAdder::reset);
+        long measureStart = System.nanoTime();
+        for (Thread thread : clients) {
+            thread.join();
+        }
+        long measuredNanos = System.nanoTime() - measureStart;
+
+        report(recorder.getIntervalHistogram(), measuredNanos);
+    }
+
+    private void clientLoop(long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            long customerId = 1 + random.nextInt(customers);
+            HttpRequest request = random.nextDouble() < readRatio
+                    ? HttpRequest.newBuilder(URI.create(baseUrl + "/api/bookings/customer/" + customerId)).GET().build()
+                    : createRequest(customerId, 1 + random.nextInt(200));
+            send(request);
+        }
+    }
+
+    private void createBooking(long customerId) throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(createRequest(customerId, 1 + customerId % 200),
+                HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 201) {
+            throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode());
+        }
+    }
+
+    private HttpRequest createRequest(long customerId, long flightId) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/bookings"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(CREATE_BODY.formatted(customerId, flightId)))
+                .build();
+    }
+
+    private void send(HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            LongAdder count = statusCounts.get(response.statusCode());
+            if (count != null) {
+                count.increment();
+            }
+            if (response.statusCode() >= 400) {
+                errors.increment();
+            }
+        } catch (IOException e) {
+            errors.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void report(Histogram histogram, long measuredNanos) throws IOException {
+        double seconds = measuredNanos / 1e9;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", label);
+        result.put("concurrency", concurrency);
+        result.put("durationSeconds", seconds);
+        result.put("readRatio", readRatio);
+        result.put("requests", histogram.getTotalCount());
+        result.put("errors", errors.sum());
+        result.put("throughputPerSecond", histogram.getTotalCount() / seconds);
+        result.put("latencyMillis", percentiles(histogram));
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        statusCounts.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+        result.put("statusCounts", statuses);
+
+        Files.createDirectories(outputDirectory);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(outputDirectory.resolve("load-" + label + ".json").toFile(), result);
+        try (PrintStream out = new PrintStream(outputDirectory.resolve("load-" + label + ".hgrm").toFile())) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+
+        System.out.printf("%s: %.0f req/s, %d errors, latency ms %s%n",
+                label, result.get("throughputPerSecond"), errors.sum(), result.get("latencyMillis"));
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> latencies = new LinkedHashMap<>();
+        latencies.put("p50", histogram.getValueAtPercentile(50) / 1000.0);
+        latencies.put("p90", histogram.getValueAtPercentile(90) / 1000.0);
+        latencies.put("p99", histogram.getValueAtPercentile(99) / 1000.0);
+        latencies.put("p999", histogram.getValueAtPercentile(99.9) / 1000.0);
+        latencies.put("max", histogram.getMaxValue() / 1000.0);
+        return latencies;
+    }
+}
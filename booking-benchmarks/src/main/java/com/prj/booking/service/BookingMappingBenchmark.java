@@ -0,0 +1,46 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.entity.Booking;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the entity → DTO mapping done on every read and write of BookingService.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingMappingBenchmark {
+
+    private Booking booking;
+
+    @Setup
+    public void setUp() {
+        booking = new Booking();
+        booking.setId(42L);
+        booking.setCustomerId(7L);
+        booking.setFlightId(100L);
+        booking.setNumberOfPassengers(2);
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        booking.setTotalPrice(499.90);
+        booking.setBookingDate(LocalDateTime.now());
+        booking.setDepartureDate(LocalDateTime.now().plusDays(30));
+        booking.setSeatNumbers("12A,12B");
+        booking.setPaymentId("PAY-42");
+        booking.setNotes("Window seats");
+        booking.setCreatedAt(LocalDateTime.now());
+        booking.setUpdatedAt(LocalDateTime.now());
+        booking.setVersion(3L);
+    }
+
+    @Benchmark
+    public BookingResponse mapToResponse() {
+        return BookingService.mapToResponse(booking);
+    }
+}
@@ -0,0 +1,121 @@
+package com.prj.booking.client;
+
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.web.client.RestClientBuilderConfigurer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Clients of the services booking-service depends on. Requests go to {@code http://<service-id>} and
+ * are spread over the instances registered in Eureka by Spring Cloud LoadBalancer. Each service has
+ * its own pool of keep-alive connections and its own resilience4j circuit breaker, time limiter and
+ * thread-pool bulkhead, so that a slow service cannot take connections or threads from another.
+ */
+@Configuration
+@EnableConfigurationProperties(ClientProperties.class)
+@Slf4j
+public class ClientConfig {
+
+    public static final String FLIGHT_SERVICE = "flight-service";
+    public static final String CUSTOMER_SERVICE = "customer-service";
+
+    private static final TimeValue VALIDATE_AFTER_INACTIVITY = TimeValue.ofSeconds(2);
+    /**
+     * Below the keep-alive timeout of the called Tomcat servers (20 s), so idle connections are
+     * closed on our side first.
+     */
+    private static final TimeValue MAX_IDLE_TIME = TimeValue.ofSeconds(15);
+
+    @Bean
+    @LoadBalanced
+    public RestClient.Builder loadBalancedRestClientBuilder(RestClientBuilderConfigurer configurer) {
+        return configurer.configure(RestClient.builder());
+    }
+
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService clientTimeoutScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "client-timeouts");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean(name = FLIGHT_SERVICE)
+    public ServiceClient flightServiceClient(ClientProperties properties,
+                                             @LoadBalanced RestClient.Builder builder,
+                                             CircuitBreakerRegistry circuitBreakers,
+                                             TimeLimiterRegistry timeLimiters,
+                                             ThreadPoolBulkheadRegistry bulkheads,
+                                             @Qualifier("clientTimeoutScheduler") ScheduledExecutorService scheduler) {
+        return serviceClient(FLIGHT_SERVICE, properties.getFlightService(), builder, circuitBreakers, timeLimiters,
+                bulkheads, scheduler);
+    }
+
+    @Bean(name = CUSTOMER_SERVICE)
+    public ServiceClient customerServiceClient(ClientProperties properties,
+                                               @LoadBalanced RestClient.Builder builder,
+                                               CircuitBreakerRegistry circuitBreakers,
+                                               TimeLimiterRegistry timeLimiters,
+                                               ThreadPoolBulkheadRegistry bulkheads,
+                                               @Qualifier("clientTimeoutScheduler") ScheduledExecutorService scheduler) {
+        return serviceClient(CUSTOMER_SERVICE, properties.getCustomerService(), builder, circuitBreakers,
+                timeLimiters, bulkheads, scheduler);
+    }
+
+    private static ServiceClient serviceClient(String serviceId,
+                                               ClientProperties.Dependency dependency,
+                                               RestClient.Builder builder,
+                                               CircuitBreakerRegistry circuitBreakers,
+                                               TimeLimiterRegistry timeLimiters,
+                                               ThreadPoolBulkheadRegistry bulkheads,
+                                               ScheduledExecutorService scheduler) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(dependency.getMaxConnections())
+                .setMaxConnPerRoute(dependency.getMaxConnections())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(dependency.getConnectTimeout()))
+                        .setValidateAfterInactivity(VALIDATE_AFTER_INACTIVITY)
+                        .build())
+                .build();
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(dependency.getConnectTimeout()))
+                        .setResponseTimeout(Timeout.of(dependency.getResponseTimeout()))
+                        .build())
+                .evictIdleConnections(MAX_IDLE_TIME)
+                .build();
+
+        RestClient restClient = builder.clone()
+                .baseUrl("http://" + serviceId)
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(serviceId);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("Circuit breaker of {}: {}", serviceId, event.getStateTransition()));
+        return new ServiceClient(serviceId, dependency.isEnabled(), restClient, circuitBreaker,
+                timeLimiters.timeLimiter(serviceId), bulkheads.bulkhead(serviceId), scheduler, httpClient);
+    }
+}
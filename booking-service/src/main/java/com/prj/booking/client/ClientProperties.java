@@ -0,0 +1,44 @@
+package com.prj.booking.client;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * HTTP settings of the services called by booking-service ({@code booking.clients.*}). Circuit
+ * breakers, bulkheads and time limiters are configured under {@code resilience4j.*} with the same
+ * service ids.
+ */
+@Data
+@ConfigurationProperties("booking.clients")
+public class ClientProperties {
+
+    private Dependency flightService = new Dependency();
+    /**
+     * Disabled until customer-service exposes {@code /api/customers/{id}}.
+     */
+    private Dependency customerService = new Dependency(false);
+
+    @Data
+    @NoArgsConstructor
+    public static class Dependency {
+
+        private boolean enabled = true;
+        private Duration connectTimeout = Duration.ofMillis(500);
+        /**
+         * Bounds the time a bulkhead thread waits for one response, so a slow service releases it.
+         */
+        private Duration responseTimeout = Duration.ofSeconds(2);
+        /**
+         * Pooled keep-alive connections to the service, shared by its instances; at least the
+         * bulkhead's maximum thread count.
+         */
+        private int maxConnections = 20;
+
+        Dependency(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.prj.booking.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class CustomerClient {
+
+    private final ServiceClient serviceClient;
+
+    public CustomerClient(@Qualifier(ClientConfig.CUSTOMER_SERVICE) ServiceClient serviceClient) {
+        this.serviceClient = serviceClient;
+    }
+
+    public boolean isEnabled() {
+        return serviceClient.isEnabled();
+    }
+
+    public CompletableFuture<Boolean> exists(Long customerId) {
+        return serviceClient.call(client -> client.head()
+                .uri("/api/customers/{id}", customerId)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                        return false;
+                    }
+                    if (response.getStatusCode().isError()) {
+                        throw new RestClientException("HEAD customer " + customerId + ": " + response.getStatusCode());
+                    }
+                    return true;
+                }));
+    }
+}
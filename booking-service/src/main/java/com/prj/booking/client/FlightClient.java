@@ -0,0 +1,41 @@
+package com.prj.booking.client;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+public class FlightClient {
+
+    private final ServiceClient serviceClient;
+
+    public FlightClient(@Qualifier(ClientConfig.FLIGHT_SERVICE) ServiceClient serviceClient) {
+        this.serviceClient = serviceClient;
+    }
+
+    public boolean isEnabled() {
+        return serviceClient.isEnabled();
+    }
+
+    /**
+     * Completes with an empty optional when flight-service does not know the flight; a 404 is an
+     * answer, not a failure, and does not count against the circuit breaker.
+     */
+    public CompletableFuture<Optional<FlightInfo>> getFlight(Long flightId) {
+        return serviceClient.call(client -> client.get()
+                .uri("/api/flights/{id}", flightId)
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+                        return Optional.empty();
+                    }
+                    if (response.getStatusCode().isError()) {
+                        throw new RestClientException("GET flight " + flightId + ": " + response.getStatusCode());
+                    }
+                    return Optional.ofNullable(response.bodyTo(FlightInfo.class));
+                }));
+    }
+}
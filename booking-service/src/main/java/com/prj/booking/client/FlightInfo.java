@@ -0,0 +1,18 @@
+package com.prj.booking.client;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of flight-service's {@code FlightResponse} that a booking is checked against, and the
+ * capacity its flight is admitted against.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record FlightInfo(Long id, String flightNumber, LocalDateTime departureTime, Double price, Integer totalSeats,
+                         String status) {
+
+    public boolean isCancelled() {
+        return "CANCELLED".equals(status);
+    }
+}
@@ -0,0 +1,84 @@
+package com.prj.booking.client;
+
+import com.prj.booking.exception.DependencyUnavailableException;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.micrometer.context.ContextSnapshotFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+
+/**
+ * One remote service, called through its circuit breaker, time limiter and thread-pool bulkhead. Calls
+ * run on the bulkhead's threads, never on the caller's: a slow service fills its own bulkhead, and once
+ * the bulkhead queue is full or the circuit is open, callers fail at once with
+ * {@link DependencyUnavailableException} instead of waiting.
+ */
+@Slf4j
+public class ServiceClient implements AutoCloseable {
+
+    private static final ContextSnapshotFactory CONTEXT = ContextSnapshotFactory.builder().build();
+
+    private final String serviceId;
+    private final boolean enabled;
+    private final RestClient restClient;
+    private final CircuitBreaker circuitBreaker;
+    private final TimeLimiter timeLimiter;
+    private final ThreadPoolBulkhead bulkhead;
+    private final ScheduledExecutorService timeoutScheduler;
+    private final AutoCloseable httpClient;
+
+    public ServiceClient(String serviceId, boolean enabled, RestClient restClient, CircuitBreaker circuitBreaker,
+                         TimeLimiter timeLimiter, ThreadPoolBulkhead bulkhead,
+                         ScheduledExecutorService timeoutScheduler, AutoCloseable httpClient) {
+        this.serviceId = serviceId;
+        this.enabled = enabled;
+        this.restClient = restClient;
+        this.circuitBreaker = circuitBreaker;
+        this.timeLimiter = timeLimiter;
+        this.bulkhead = bulkhead;
+        this.timeoutScheduler = timeoutScheduler;
+        this.httpClient = httpClient;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sends the request on the bulkhead. The future fails with {@link DependencyUnavailableException}
+     * on any failure, timeout or rejection; the trace context of the caller is carried over.
+     */
+    public <T> CompletableFuture<T> call(Function<RestClient, T> request) {
+        // Captured on the caller's thread, restored on the bulkhead thread
+        var call = CONTEXT.captureAll().wrap(() -> request.apply(restClient));
+        CompletableFuture<T> result = new CompletableFuture<>();
+        circuitBreaker.executeCompletionStage(() ->
+                        timeLimiter.executeCompletionStage(timeoutScheduler, () -> bulkhead.executeCallable(call)))
+                .whenComplete((value, failure) -> {
+                    if (failure == null) {
+                        result.complete(value);
+                    } else {
+                        Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+                        log.debug("Call to {} failed: {}", serviceId, cause.toString());
+                        result.completeExceptionally(new DependencyUnavailableException(serviceId));
+                    }
+                });
+        return result;
+    }
+
+    @Override
+    public void close() throws Exception {
+        bulkhead.close();
+        httpClient.close();
+    }
+}
@@ -0,0 +1,19 @@
+package com.prj.booking.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * The caching advice is ordered just outside the transaction advice: a cache hit never opens a
+ * transaction, and evictions on the write paths run after the commit. This does not rule out stale
+ * entries: a reader that loaded the booking before the commit and stores it after the eviction
+ * re-caches the old state, and writes on other replicas never evict this one's entries. Both are
+ * bounded by the short {@code expireAfterWrite} of {@code spring.cache.caffeine.spec}.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String BOOKINGS_CACHE = "bookings";
+}
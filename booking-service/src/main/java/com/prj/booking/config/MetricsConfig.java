@@ -0,0 +1,20 @@
+package com.prj.booking.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Observed} on service classes: each call yields a timer and, when sampled, a span.
+ * Repository invocations, the Hikari pool, the caches and JDBC statements are instrumented by their
+ * auto-configurations.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+}
@@ -1,60 +1,191 @@
 package com.prj.booking.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.prj.booking.dto.BatchBookingResponse;
+import com.prj.booking.dto.BookingPageResponse;
 import com.prj.booking.dto.BookingRequest;
 import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.dto.CustomerBookingSummaryResponse;
+import com.prj.booking.dto.FlightCapacityResponse;
+import com.prj.booking.dto.SeatMapResponse;
 import com.prj.booking.entity.Booking;
+import com.prj.booking.exception.InvalidBookingException;
+import com.prj.booking.service.BookingBatchService;
+import com.prj.booking.service.BookingETags;
+import com.prj.booking.service.BookingFields;
 import com.prj.booking.service.BookingService;
+import com.prj.booking.service.BookingValidator;
+import com.prj.booking.service.CustomerSummaryService;
+import com.prj.booking.service.ETagged;
+import com.prj.booking.service.FlightCapacityCounters;
+import com.prj.booking.service.IdempotencyStore;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/bookings")
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingValidator bookingValidator;
+    private final BookingBatchService bookingBatchService;
+    private final CustomerSummaryService customerSummaryService;
+    private final FlightCapacityCounters flightCapacityCounters;
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
-    public ResponseEntity<BookingResponse> createBooking(@Valid @RequestBody BookingRequest request) {
-        BookingResponse response = bookingService.createBooking(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<BookingResponse> createBooking(
+            @RequestHeader(value = IdempotencyStore.KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody BookingRequest request) {
+        String scope = "customer " + request.getCustomerId();
+        return idempotencyStore.execute(idempotencyKey, scope, request, BookingResponse.class, () -> {
+            bookingValidator.validate(request);
+            BookingResponse response = bookingService.createBooking(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        });
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBookingResponse> createBookings(@RequestBody List<BookingRequest> requests) {
+        BatchBookingResponse response = bookingBatchService.createBookings(requests);
+        HttpStatus status = response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.OK;
+        return ResponseEntity.status(status).body(response);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BookingResponse> getBookingById(@PathVariable Long id) {
+    public ResponseEntity<BookingResponse> getBookingById(@PathVariable Long id, WebRequest request) {
+        String current = null;
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            current = bookingService.getBookingETag(id);
+            if (request.checkNotModified(current)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+            }
+        }
         BookingResponse response = bookingService.getBookingById(id);
-        return ResponseEntity.ok(response);
+        if (current != null && !current.equals(BookingETags.of(response))) {
+            // The cached copy is not the version just read from the database: it may predate a commit
+            bookingService.evictCachedBooking(id);
+            response = bookingService.getBookingById(id);
+        }
+        // Tagged from the body returned, so a client never holds a newer ETag than the body it has
+        return ResponseEntity.ok().eTag(BookingETags.of(response)).body(response);
     }
 
     @GetMapping
-    public ResponseEntity<List<BookingResponse>> getAllBookings() {
-        List<BookingResponse> responses = bookingService.getAllBookings();
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<BookingPageResponse<?>> getAllBookings(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<String> selected = BookingFields.parse(fields);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+            return tagged(bookingService.getBookingsPageWithETag(after, size, selected));
+        }
+        String etag = bookingService.getBookingsPageETag(after, size, selected);
+        return conditional(request, etag, () -> selected.isEmpty()
+                ? bookingService.getBookingsPage(after, size)
+                : bookingService.getBookingsPage(after, size, selected));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllBookings() {
+        ObjectWriter writer = objectMapper.writerFor(BookingResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = writer.createGenerator(outputStream)) {
+                bookingService.streamAllBookings(response -> {
+                    try {
+                        writer.writeValue(generator, response);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<BookingResponse>> getBookingsByCustomerId(@PathVariable Long customerId) {
-        List<BookingResponse> responses = bookingService.getBookingsByCustomerId(customerId);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<?>> getBookingsByCustomerId(
+            @PathVariable Long customerId,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<String> selected = BookingFields.parse(fields);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+            return tagged(bookingService.getBookingsByCustomerIdWithETag(customerId, selected));
+        }
+        String etag = bookingService.getBookingsETagByCustomerId(customerId, selected);
+        return conditional(request, etag, () -> selected.isEmpty()
+                ? bookingService.getBookingsByCustomerId(customerId)
+                : bookingService.getBookingsByCustomerId(customerId, selected));
+    }
+
+    @GetMapping("/customer/{customerId}/summary")
+    public ResponseEntity<CustomerBookingSummaryResponse> getCustomerSummary(@PathVariable Long customerId) {
+        CustomerBookingSummaryResponse response = customerSummaryService.getSummary(customerId);
+        return ResponseEntity.ok(response);
     }
 
     @GetMapping("/flight/{flightId}")
-    public ResponseEntity<List<BookingResponse>> getBookingsByFlightId(@PathVariable Long flightId) {
-        List<BookingResponse> responses = bookingService.getBookingsByFlightId(flightId);
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<?>> getBookingsByFlightId(
+            @PathVariable Long flightId,
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<String> selected = BookingFields.parse(fields);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null) {
+            return tagged(bookingService.getBookingsByFlightIdWithETag(flightId, selected));
+        }
+        String etag = bookingService.getBookingsETagByFlightId(flightId, selected);
+        return conditional(request, etag, () -> selected.isEmpty()
+                ? bookingService.getBookingsByFlightId(flightId)
+                : bookingService.getBookingsByFlightId(flightId, selected));
+    }
+
+    @GetMapping("/flight/{flightId}/seatmap")
+    public ResponseEntity<SeatMapResponse> getSeatMap(@PathVariable Long flightId) {
+        SeatMapResponse response = bookingService.getSeatMap(flightId);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/flight/{flightId}/capacity")
+    public ResponseEntity<FlightCapacityResponse> getFlightCapacity(@PathVariable Long flightId) {
+        FlightCapacityResponse response = flightCapacityCounters.getCapacity(flightId);
+        return ResponseEntity.ok(response);
     }
 
     @PatchMapping("/{id}/status")
     public ResponseEntity<BookingResponse> updateBookingStatus(
             @PathVariable Long id,
             @RequestBody Map<String, String> statusMap) {
-        Booking.BookingStatus status = Booking.BookingStatus.valueOf(statusMap.get("status"));
+        String value = statusMap.get("status");
+        if (value == null) {
+            throw new InvalidBookingException("status is required");
+        }
+        Booking.BookingStatus status = Booking.BookingStatus.valueOf(value);
         BookingResponse response = bookingService.updateBookingStatus(id, status);
         return ResponseEntity.ok(response);
     }
@@ -62,10 +193,13 @@ public class BookingController {
     @PostMapping("/{id}/confirm")
     public ResponseEntity<BookingResponse> confirmBooking(
             @PathVariable Long id,
+            @RequestHeader(value = IdempotencyStore.KEY_HEADER, required = false) String idempotencyKey,
             @RequestBody Map<String, String> paymentMap) {
         String paymentId = paymentMap.get("paymentId");
-        BookingResponse response = bookingService.confirmBooking(id, paymentId);
-        return ResponseEntity.ok(response);
+        return idempotencyStore.execute(idempotencyKey, "booking " + id, paymentId, BookingResponse.class, () -> {
+            BookingResponse response = bookingService.confirmBooking(id, paymentId);
+            return ResponseEntity.ok(response);
+        });
     }
 
     @PostMapping("/{id}/cancel")
@@ -79,6 +213,23 @@ public class BookingController {
         bookingService.deleteBooking(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static <T> ResponseEntity<T> tagged(ETagged<T> result) {
+        return ResponseEntity.ok().eTag(result.etag()).body(result.body());
+    }
+
+    /**
+     * Answers 304 when {@code etag} matches If-None-Match, without building the body. Only for lists,
+     * whose bodies are read from the database, never from the booking cache: the ETag is read first, so
+     * a concurrent write can only leave it older than the body (the next poll then refetches), never
+     * newer. Used only when If-None-Match is present; other GETs take their ETag from the rows they load.
+     */
+    private <T> ResponseEntity<T> conditional(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(body.get());
+    }
 }
 
 
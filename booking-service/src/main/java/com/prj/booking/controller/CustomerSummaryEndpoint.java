@@ -0,0 +1,26 @@
+package com.prj.booking.controller;
+
+import com.prj.booking.service.CustomerSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * {@code POST /actuator/customersummaries} regenerates every customer summary. Served on the
+ * management endpoints, which the gateway does not route, rather than under {@code /api/bookings}.
+ */
+@Component
+@Endpoint(id = "customersummaries")
+@RequiredArgsConstructor
+public class CustomerSummaryEndpoint {
+
+    private final CustomerSummaryService customerSummaryService;
+
+    @WriteOperation
+    public Map<String, Integer> rebuild() {
+        return Map.of("customers", customerSummaryService.rebuild());
+    }
+}
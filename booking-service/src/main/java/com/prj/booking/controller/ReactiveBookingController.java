@@ -0,0 +1,141 @@
+package com.prj.booking.controller;
+
+import com.prj.booking.dto.BatchBookingResponse;
+import com.prj.booking.dto.BookingPageResponse;
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.dto.CustomerBookingSummaryResponse;
+import com.prj.booking.dto.FlightCapacityResponse;
+import com.prj.booking.dto.SeatMapResponse;
+import com.prj.booking.entity.Booking;
+import com.prj.booking.exception.InvalidBookingException;
+import com.prj.booking.service.BookingETags;
+import com.prj.booking.service.IdempotencyStore;
+import com.prj.booking.service.ReactiveBookingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WebFlux version of {@link BookingController}, served instead of it with the reactive profile.
+ */
+@RestController
+@RequestMapping("/api/bookings")
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingController {
+
+    private final ReactiveBookingService bookingService;
+    private final IdempotencyStore idempotencyStore;
+
+    @PostMapping
+    public Mono<ResponseEntity<BookingResponse>> createBooking(
+            @RequestHeader(value = IdempotencyStore.KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody BookingRequest request) {
+        String scope = "customer " + request.getCustomerId();
+        return idempotencyStore.executeAsync(idempotencyKey, scope, request, BookingResponse.class, () ->
+                bookingService.createBooking(request)
+                        .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response)));
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchBookingResponse>> createBookings(@RequestBody List<BookingRequest> requests) {
+        return bookingService.createBookings(requests)
+                .map(response -> ResponseEntity.status(response.getFailed() == 0 ? HttpStatus.CREATED : HttpStatus.OK)
+                        .body(response));
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<BookingResponse>> getBookingById(@PathVariable Long id, ServerWebExchange exchange) {
+        if (exchange.getRequest().getHeaders().getIfNoneMatch().isEmpty()) {
+            return bookingService.getBookingById(id)
+                    .map(response -> ResponseEntity.ok().eTag(BookingETags.of(response)).body(response));
+        }
+        // Version-only read first: an unchanged booking is answered with 304 without loading the row
+        return bookingService.getBookingETag(id)
+                .flatMap(etag -> exchange.checkNotModified(etag)
+                        ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<BookingResponse>build())
+                        : bookingService.getBookingById(id)
+                                .map(response -> ResponseEntity.ok().eTag(BookingETags.of(response)).body(response)));
+    }
+
+    @GetMapping
+    public Mono<BookingPageResponse<BookingResponse>> getAllBookings(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer size) {
+        return bookingService.getBookingsPage(after, size);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookingResponse> streamAllBookings() {
+        return bookingService.streamAllBookings();
+    }
+
+    @GetMapping("/customer/{customerId}")
+    public Flux<BookingResponse> getBookingsByCustomerId(@PathVariable Long customerId) {
+        return bookingService.getBookingsByCustomerId(customerId);
+    }
+
+    @GetMapping("/customer/{customerId}/summary")
+    public Mono<CustomerBookingSummaryResponse> getCustomerSummary(@PathVariable Long customerId) {
+        return bookingService.getCustomerSummary(customerId);
+    }
+
+    @GetMapping("/flight/{flightId}")
+    public Flux<BookingResponse> getBookingsByFlightId(@PathVariable Long flightId) {
+        return bookingService.getBookingsByFlightId(flightId);
+    }
+
+    @GetMapping("/flight/{flightId}/seatmap")
+    public Mono<SeatMapResponse> getSeatMap(@PathVariable Long flightId) {
+        return bookingService.getSeatMap(flightId);
+    }
+
+    @GetMapping("/flight/{flightId}/capacity")
+    public Mono<FlightCapacityResponse> getFlightCapacity(@PathVariable Long flightId) {
+        return bookingService.getFlightCapacity(flightId);
+    }
+
+    @PatchMapping("/{id}/status")
+    public Mono<BookingResponse> updateBookingStatus(
+            @PathVariable Long id,
+            @RequestBody Map<String, String> statusMap) {
+        String value = statusMap.get("status");
+        if (value == null) {
+            throw new InvalidBookingException("status is required");
+        }
+        Booking.BookingStatus status = Booking.BookingStatus.valueOf(value);
+        return bookingService.updateBookingStatus(id, status);
+    }
+
+    @PostMapping("/{id}/confirm")
+    public Mono<ResponseEntity<BookingResponse>> confirmBooking(
+            @PathVariable Long id,
+            @RequestHeader(value = IdempotencyStore.KEY_HEADER, required = false) String idempotencyKey,
+            @RequestBody Map<String, String> paymentMap) {
+        String paymentId = paymentMap.get("paymentId");
+        return idempotencyStore.executeAsync(idempotencyKey, "booking " + id, paymentId, BookingResponse.class, () ->
+                bookingService.confirmBooking(id, paymentId).map(ResponseEntity::ok));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public Mono<BookingResponse> cancelBooking(@PathVariable Long id) {
+        return bookingService.cancelBooking(id);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> deleteBooking(@PathVariable Long id) {
+        return bookingService.deleteBooking(id);
+    }
+}
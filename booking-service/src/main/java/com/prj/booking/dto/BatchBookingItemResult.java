@@ -0,0 +1,29 @@
+package com.prj.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingItemResult {
+
+    private int index;
+    private ItemStatus status;
+    private BookingResponse booking;
+    private String error;
+
+    public enum ItemStatus {
+        CREATED,
+        FAILED
+    }
+
+    public static BatchBookingItemResult created(int index, BookingResponse booking) {
+        return new BatchBookingItemResult(index, ItemStatus.CREATED, booking, null);
+    }
+
+    public static BatchBookingItemResult failed(int index, String error) {
+        return new BatchBookingItemResult(index, ItemStatus.FAILED, null, error);
+    }
+}
@@ -0,0 +1,17 @@
+package com.prj.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResponse {
+
+    private int created;
+    private int failed;
+    private List<BatchBookingItemResult> results;
+}
@@ -0,0 +1,17 @@
+package com.prj.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private Long nextCursor;
+}
@@ -0,0 +1,21 @@
+package com.prj.booking.dto;
+
+import com.prj.booking.entity.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBookingSummaryResponse {
+
+    private Long customerId;
+    private Long totalBookings;
+    private Map<Booking.BookingStatus, Long> countsByStatus;
+    private Double totalSpent;
+    private LocalDateTime nextDeparture;
+}
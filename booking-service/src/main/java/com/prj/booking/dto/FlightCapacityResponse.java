@@ -0,0 +1,19 @@
+package com.prj.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@code totalSeats} and {@code remainingSeats} are null for a flight whose capacity flight-service has
+ * not reported to this instance.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightCapacityResponse {
+
+    private Long flightId;
+    private Integer totalSeats;
+    private Integer remainingSeats;
+}
@@ -6,6 +6,11 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 
 @Entity
 @Table(name = "bookings")
@@ -15,7 +20,8 @@ import java.time.LocalDateTime;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -55,6 +61,10 @@ public class Booking {
     @Column
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -66,11 +76,35 @@ public class Booking {
         updatedAt = LocalDateTime.now();
     }
 
+    /**
+     * Booking lifecycle: PENDING → CONFIRMED → COMPLETED, and PENDING or CONFIRMED → CANCELLED.
+     * CANCELLED and COMPLETED are terminal.
+     */
     public enum BookingStatus {
         PENDING,
         CONFIRMED,
         CANCELLED,
-        COMPLETED
+        COMPLETED;
+
+        private static final Map<BookingStatus, Set<BookingStatus>> SOURCES = new EnumMap<>(BookingStatus.class);
+
+        static {
+            SOURCES.put(PENDING, Collections.unmodifiableSet(EnumSet.noneOf(BookingStatus.class)));
+            SOURCES.put(CONFIRMED, Collections.unmodifiableSet(EnumSet.of(PENDING)));
+            SOURCES.put(CANCELLED, Collections.unmodifiableSet(EnumSet.of(PENDING, CONFIRMED)));
+            SOURCES.put(COMPLETED, Collections.unmodifiableSet(EnumSet.of(CONFIRMED)));
+        }
+
+        /**
+         * Statuses from which a booking may move to this one.
+         */
+        public Set<BookingStatus> allowedSources() {
+            return SOURCES.get(this);
+        }
+
+        public boolean canTransitionTo(BookingStatus target) {
+            return target.allowedSources().contains(this);
+        }
     }
 }
 
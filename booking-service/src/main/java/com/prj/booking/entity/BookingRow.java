@@ -0,0 +1,36 @@
+package com.prj.booking.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only R2DBC view of the {@code bookings} table used by the reactive API. Writes always go
+ * through the JPA {@link Booking} entity.
+ */
+@Table("bookings")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingRow {
+
+    @Id
+    private Long id;
+    private Long customerId;
+    private Long flightId;
+    private Integer numberOfPassengers;
+    private Booking.BookingStatus status;
+    private Double totalPrice;
+    private LocalDateTime bookingDate;
+    private LocalDateTime departureDate;
+    private String seatNumbers;
+    private String paymentId;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+}
@@ -0,0 +1,61 @@
+package com.prj.booking.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-customer read model kept up to date by CustomerSummaryService. {@code totalSpent} sums the
+ * price of every booking that is not cancelled; {@code nextDeparture} is the earliest future
+ * departure of a pending or confirmed booking.
+ */
+@Entity
+@Table(name = "customer_booking_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerBookingSummary {
+
+    @Id
+    private Long customerId;
+
+    @Column(nullable = false)
+    private Long pendingCount;
+
+    @Column(nullable = false)
+    private Long confirmedCount;
+
+    @Column(nullable = false)
+    private Long cancelledCount;
+
+    @Column(nullable = false)
+    private Long completedCount;
+
+    @Column(nullable = false)
+    private Double totalSpent;
+
+    @Column
+    private LocalDateTime nextDeparture;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public static CustomerBookingSummary empty(Long customerId) {
+        return new CustomerBookingSummary(customerId, 0L, 0L, 0L, 0L, 0.0, null, LocalDateTime.now());
+    }
+
+    public long countOf(Booking.BookingStatus status) {
+        return switch (status) {
+            case PENDING -> pendingCount;
+            case CONFIRMED -> confirmedCount;
+            case CANCELLED -> cancelledCount;
+            case COMPLETED -> completedCount;
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.prj.booking.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "seat_reservations",
+        uniqueConstraints = @UniqueConstraint(name = "uk_seat_reservations_flight_seat",
+                columnNames = {"flightId", "seatNumber"}),
+        indexes = @Index(name = "idx_seat_reservations_booking", columnList = "bookingId"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seat_reservation_seq")
+    @SequenceGenerator(name = "seat_reservation_seq", sequenceName = "seat_reservations_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long flightId;
+
+    @Column(nullable = false, length = 8)
+    private String seatNumber;
+
+    @Column(nullable = false)
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private LocalDateTime reservedAt;
+}
@@ -0,0 +1,34 @@
+package com.prj.booking.event;
+
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.entity.Booking;
+
+/**
+ * Published by {@code BookingService} inside the transaction of every write. {@code booking} is the
+ * state after the change (the last known state for deletions); {@code previousStatus} is null for
+ * newly created bookings.
+ */
+public record BookingChangedEvent(Type type, BookingResponse booking, Booking.BookingStatus previousStatus) {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    public static BookingChangedEvent created(BookingResponse booking) {
+        return new BookingChangedEvent(Type.CREATED, booking, null);
+    }
+
+    public static BookingChangedEvent statusChanged(BookingResponse booking, Booking.BookingStatus previousStatus) {
+        return new BookingChangedEvent(Type.STATUS_CHANGED, booking, previousStatus);
+    }
+
+    public static BookingChangedEvent deleted(BookingResponse booking) {
+        return new BookingChangedEvent(Type.DELETED, booking, booking.getStatus());
+    }
+
+    public boolean holdsSeats() {
+        return type != Type.DELETED && booking.getStatus() != Booking.BookingStatus.CANCELLED;
+    }
+}
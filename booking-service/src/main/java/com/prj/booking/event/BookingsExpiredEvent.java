@@ -0,0 +1,22 @@
+package com.prj.booking.event;
+
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.entity.Booking;
+
+import java.util.List;
+
+/**
+ * Published by {@code BookingService} inside the transaction of a hold expiry batch, in place of one
+ * {@link BookingChangedEvent} per booking. Every booking in {@code bookings} went from PENDING to CANCELLED.
+ */
+public record BookingsExpiredEvent(List<BookingResponse> bookings) {
+
+    /**
+     * The batch as one status change per booking, for listeners that handle bookings one at a time.
+     */
+    public List<BookingChangedEvent> changes() {
+        return bookings.stream()
+                .map(booking -> BookingChangedEvent.statusChanged(booking, Booking.BookingStatus.PENDING))
+                .toList();
+    }
+}
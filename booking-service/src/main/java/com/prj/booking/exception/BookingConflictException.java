@@ -0,0 +1,23 @@
+package com.prj.booking.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class BookingConflictException extends BookingException {
+
+    protected BookingConflictException() {
+    }
+
+    public BookingConflictException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Booking conflict";
+    }
+}
@@ -0,0 +1,23 @@
+package com.prj.booking.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class for expected, client-facing booking failures. These are control flow rather than bugs,
+ * so no stack trace is captured. Subclasses whose message is formatted from their fields keep the fields
+ * and build it in {@link #getMessage()}, only when it is read.
+ */
+public abstract class BookingException extends RuntimeException {
+
+    protected BookingException() {
+        super(null, null, false, false);
+    }
+
+    protected BookingException(String message) {
+        super(message, null, false, false);
+    }
+
+    public abstract HttpStatus getStatus();
+
+    public abstract String getTitle();
+}
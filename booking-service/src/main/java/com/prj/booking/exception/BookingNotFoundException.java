@@ -0,0 +1,31 @@
+package com.prj.booking.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class BookingNotFoundException extends BookingException {
+
+    private final Long bookingId;
+
+    public BookingNotFoundException(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Booking not found with id: " + bookingId;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Booking not found";
+    }
+}
@@ -0,0 +1,34 @@
+package com.prj.booking.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A service the booking depends on timed out, failed, or is shed by its circuit breaker or bulkhead.
+ */
+public class DependencyUnavailableException extends BookingException {
+
+    private final String serviceId;
+
+    public DependencyUnavailableException(String serviceId) {
+        this.serviceId = serviceId;
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+
+    @Override
+    public String getMessage() {
+        return serviceId + " is unavailable, retry later";
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Service unavailable";
+    }
+}
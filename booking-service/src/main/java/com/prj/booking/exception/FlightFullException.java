@@ -0,0 +1,28 @@
+package com.prj.booking.exception;
+
+public class FlightFullException extends BookingConflictException {
+
+    private final Long flightId;
+    private final int remaining;
+    private final int requested;
+
+    public FlightFullException(Long flightId, int remaining, int requested) {
+        this.flightId = flightId;
+        this.remaining = remaining;
+        this.requested = requested;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Flight " + flightId + " has " + Math.max(remaining, 0) + " seat(s) left, " + requested + " requested";
+    }
+
+    @Override
+    public String getTitle() {
+        return "Flight full";
+    }
+}
@@ -1,52 +1,139 @@
 package com.prj.booking.exception;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
+import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Every error is rendered as an RFC 7807 problem detail ({@code application/problem+json}).
+ */
 @RestControllerAdvice
+@Slf4j
 public class GlobalExceptionHandler {
 
+    @ExceptionHandler(BookingException.class)
+    public ResponseEntity<ProblemDetail> handleBookingException(BookingException ex) {
+        ProblemDetail problem = problem(ex.getStatus(), ex.getTitle(), ex.getMessage());
+        return ResponseEntity.status(ex.getStatus()).body(problem);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ProblemDetail> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ProblemDetail problem = problem(HttpStatus.CONFLICT, "Concurrent modification",
+                "The booking was modified by another request, reload it and retry");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+    }
+
+    /**
+     * A write broke a unique constraint, such as a payment id already used by another booking. The
+     * detail stays generic since the database message names tables and values.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ProblemDetail> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        log.info("Constraint violation: {}", ex.getMostSpecificCause().getMessage());
+        ProblemDetail problem = problem(HttpStatus.CONFLICT, "Conflict",
+                "The request conflicts with an existing booking");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+    }
+
+    /**
+     * No database connection became available within the pool's connection timeout.
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ProblemDetail> handleCannotCreateTransaction(CannotCreateTransactionException ex) {
+        ProblemDetail problem = problem(HttpStatus.SERVICE_UNAVAILABLE, "Service unavailable",
+                "The booking database is saturated, retry later");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problem);
+    }
+
+    @ExceptionHandler(DependencyUnavailableException.class)
+    public ResponseEntity<ProblemDetail> handleDependencyUnavailable(DependencyUnavailableException ex) {
+        ProblemDetail problem = problem(ex.getStatus(), ex.getTitle(), ex.getMessage());
+        return ResponseEntity.status(ex.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problem);
+    }
+
+    /**
+     * Invalid values in an otherwise well-formed request (unknown status, malformed seat numbers,
+     * negative capacity...); their messages are written for the client.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ProblemDetail> handleIllegalArgument(IllegalArgumentException ex) {
+        ProblemDetail problem = problem(HttpStatus.BAD_REQUEST, "Bad request", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problem);
+    }
+
+    /**
+     * Unreadable bodies and path or query values of the wrong type.
+     */
+    @ExceptionHandler({HttpMessageNotReadableException.class, TypeMismatchException.class})
+    public ResponseEntity<ProblemDetail> handleMalformedRequest(Exception ex) {
+        ProblemDetail problem = problem(HttpStatus.BAD_REQUEST, "Bad request", "Malformed request");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problem);
+    }
+
+    /**
+     * Framework exceptions that carry their own status (unsupported method or media type, missing
+     * header, WebFlux input errors...) keep it. Anything else is a server error, logged here and
+     * answered without its message.
+     */
     @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex) {
-        ErrorResponse error = new ErrorResponse(
-                HttpStatus.BAD_REQUEST.value(),
-                ex.getMessage(),
-                LocalDateTime.now()
-        );
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
-    }
-
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        Map<String, Object> errors = new HashMap<>();
+    public ResponseEntity<ProblemDetail> handleRuntimeException(RuntimeException ex) {
+        if (ex instanceof ErrorResponse errorResponse) {
+            HttpStatus status = HttpStatus.valueOf(errorResponse.getStatusCode().value());
+            ProblemDetail problem = problem(status, status.getReasonPhrase(), errorResponse.getBody().getDetail());
+            return ResponseEntity.status(status).headers(errorResponse.getHeaders()).body(problem);
+        }
+        log.error("Unexpected error", ex);
+        ProblemDetail problem = problem(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error",
+                "The request could not be processed");
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(problem);
+    }
+
+    /**
+     * Bean validation failures, raised as MethodArgumentNotValidException by Spring MVC and as
+     * WebExchangeBindException by WebFlux (reactive profile); both are binding results.
+     */
+    @ExceptionHandler({MethodArgumentNotValidException.class, WebExchangeBindException.class})
+    public ResponseEntity<ProblemDetail> handleValidationExceptions(Exception ex) {
         Map<String, String> fieldErrors = new HashMap<>();
 
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
+        ((BindingResult) ex).getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
             fieldErrors.put(fieldName, errorMessage);
         });
 
-        errors.put("status", HttpStatus.BAD_REQUEST.value());
-        errors.put("message", "Validation failed");
-        errors.put("errors", fieldErrors);
-        errors.put("timestamp", LocalDateTime.now());
-
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+        ProblemDetail problem = problem(HttpStatus.BAD_REQUEST, "Validation failed", "Validation failed");
+        problem.setProperty("errors", fieldErrors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problem);
     }
 
-    public record ErrorResponse(int status, String message, LocalDateTime timestamp) {}
+    private ProblemDetail problem(HttpStatus status, String title, String detail) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setTitle(title);
+        problem.setProperty("timestamp", LocalDateTime.now());
+        return problem;
+    }
 }
-
-
-
-
-
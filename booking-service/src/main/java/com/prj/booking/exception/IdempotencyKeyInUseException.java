@@ -0,0 +1,27 @@
+package com.prj.booking.exception;
+
+/**
+ * A request with the same {@code Idempotency-Key} is still being processed.
+ */
+public class IdempotencyKeyInUseException extends BookingConflictException {
+
+    private final String key;
+
+    public IdempotencyKeyInUseException(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public String getMessage() {
+        return "A request with Idempotency-Key " + key + " is still in progress, retry later";
+    }
+
+    @Override
+    public String getTitle() {
+        return "Request in progress";
+    }
+}
@@ -0,0 +1,34 @@
+package com.prj.booking.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The {@code Idempotency-Key} was already used for another operation or request body.
+ */
+public class IdempotencyKeyReusedException extends BookingException {
+
+    private final String key;
+
+    public IdempotencyKeyReusedException(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Idempotency-Key " + key + " was already used for a different request";
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.UNPROCESSABLE_ENTITY;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Idempotency key reused";
+    }
+}
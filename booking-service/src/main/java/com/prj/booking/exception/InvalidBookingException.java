@@ -0,0 +1,23 @@
+package com.prj.booking.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * The request is well formed but refers to a flight or customer that the owning service rejects.
+ */
+public class InvalidBookingException extends BookingException {
+
+    public InvalidBookingException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Invalid booking";
+    }
+}
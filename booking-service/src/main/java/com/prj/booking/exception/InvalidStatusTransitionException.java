@@ -0,0 +1,44 @@
+package com.prj.booking.exception;
+
+import com.prj.booking.entity.Booking;
+import org.springframework.http.HttpStatus;
+
+public class InvalidStatusTransitionException extends BookingException {
+
+    private final Long bookingId;
+    private final Booking.BookingStatus from;
+    private final Booking.BookingStatus to;
+
+    public InvalidStatusTransitionException(Long bookingId, Booking.BookingStatus from, Booking.BookingStatus to) {
+        this.bookingId = bookingId;
+        this.from = from;
+        this.to = to;
+    }
+
+    public Long getBookingId() {
+        return bookingId;
+    }
+
+    public Booking.BookingStatus getFrom() {
+        return from;
+    }
+
+    public Booking.BookingStatus getTo() {
+        return to;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Booking " + bookingId + " cannot move from " + from + " to " + to;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.CONFLICT;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Invalid status transition";
+    }
+}
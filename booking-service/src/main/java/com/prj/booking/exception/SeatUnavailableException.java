@@ -0,0 +1,37 @@
+package com.prj.booking.exception;
+
+import java.util.List;
+
+public class SeatUnavailableException extends BookingConflictException {
+
+    private final Long flightId;
+    private final List<String> seats;
+
+    public SeatUnavailableException(Long flightId, List<String> seats) {
+        this.flightId = flightId;
+        this.seats = seats;
+    }
+
+    public SeatUnavailableException(String message) {
+        super(message);
+        this.flightId = null;
+        this.seats = List.of();
+    }
+
+    public List<String> getSeats() {
+        return seats;
+    }
+
+    @Override
+    public String getMessage() {
+        if (flightId == null) {
+            return super.getMessage();
+        }
+        return "One or more seats are no longer available on flight " + flightId + ": " + String.join(",", seats);
+    }
+
+    @Override
+    public String getTitle() {
+        return "Seat unavailable";
+    }
+}
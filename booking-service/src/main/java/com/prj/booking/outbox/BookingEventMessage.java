@@ -0,0 +1,15 @@
+package com.prj.booking.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking change as delivered to downstream consumers. Delivery is at-least-once: consumers discard
+ * duplicates by treating {@code id} as a unique key (a set of seen ids or an idempotent upsert). Ids do
+ * not follow commit order, since each replica allocates its own block of them and relays publish
+ * batches in parallel, so they must not be used as a high-water mark. Events of one booking are ordered
+ * by {@code bookingVersion}; a deletion carries the version of the last state and comes after any other
+ * event with the same version.
+ */
+public record BookingEventMessage(Long id, Long bookingId, Long bookingVersion, String eventType, String payload,
+                                  LocalDateTime createdAt) {
+}
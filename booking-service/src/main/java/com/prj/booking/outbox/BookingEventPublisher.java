@@ -0,0 +1,12 @@
+package com.prj.booking.outbox;
+
+import java.util.List;
+
+/**
+ * Transport for relayed outbox events. A batch either succeeds as a whole or throws, in which case
+ * the relay keeps the events and retries them later.
+ */
+public interface BookingEventPublisher {
+
+    void publish(List<BookingEventMessage> events) throws Exception;
+}
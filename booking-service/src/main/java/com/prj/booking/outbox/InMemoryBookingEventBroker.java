@@ -0,0 +1,35 @@
+package com.prj.booking.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Embedded broker used when no other {@link BookingEventPublisher} is configured: subscribers in the
+ * same JVM receive every relayed event. Intended for tests and single-node development setups.
+ */
+@Slf4j
+public class InMemoryBookingEventBroker implements BookingEventPublisher {
+
+    private final List<Consumer<BookingEventMessage>> subscribers = new CopyOnWriteArrayList<>();
+
+    public void subscribe(Consumer<BookingEventMessage> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    public void unsubscribe(Consumer<BookingEventMessage> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void publish(List<BookingEventMessage> events) {
+        for (BookingEventMessage event : events) {
+            for (Consumer<BookingEventMessage> subscriber : subscribers) {
+                subscriber.accept(event);
+            }
+        }
+        log.debug("Delivered {} booking event(s) to {} subscriber(s)", events.size(), subscribers.size());
+    }
+}
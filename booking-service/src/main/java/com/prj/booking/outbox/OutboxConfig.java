@@ -0,0 +1,15 @@
+package com.prj.booking.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(BookingEventPublisher.class)
+    public InMemoryBookingEventBroker inMemoryBookingEventBroker() {
+        return new InMemoryBookingEventBroker();
+    }
+}
@@ -0,0 +1,149 @@
+package com.prj.booking.outbox;
+
+import com.prj.booking.entity.OutboxEvent;
+import com.prj.booking.event.BookingChangedEvent;
+import com.prj.booking.event.BookingsExpiredEvent;
+import com.prj.booking.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox table in batches and hands the events to the {@link BookingEventPublisher}.
+ * A commit that wrote events wakes the relay immediately; otherwise it polls once per
+ * {@code booking.outbox.poll-interval}, so an idle service costs one indexed query per interval.
+ * Events are deleted in the same transaction that locked them, only after a successful publish.
+ */
+@Component
+@Slf4j
+public class OutboxRelay implements SmartLifecycle {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final BookingEventPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final boolean enabled;
+    private final Semaphore signal = new Semaphore(0);
+
+    private volatile Thread worker;
+    private volatile boolean running;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       BookingEventPublisher publisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${booking.outbox.batch-size:100}") int batchSize,
+                       @Value("${booking.outbox.poll-interval:PT1S}") Duration pollInterval,
+                       @Value("${booking.outbox.relay-enabled:true}") boolean enabled) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.enabled = enabled;
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        wakeUp();
+    }
+
+    @TransactionalEventListener
+    public void onBookingsExpired(BookingsExpiredEvent event) {
+        wakeUp();
+    }
+
+    public void wakeUp() {
+        if (signal.availablePermits() == 0) {
+            signal.release();
+        }
+    }
+
+    /**
+     * Publishes at most one batch and returns the number of events relayed.
+     */
+    public int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+            List<BookingEventMessage> messages = events.stream()
+                    .map(e -> new BookingEventMessage(e.getId(), e.getBookingId(), e.getBookingVersion(),
+                            e.getEventType(), e.getPayload(), e.getCreatedAt()))
+                    .collect(Collectors.toList());
+            try {
+                publisher.publish(messages);
+            } catch (Exception e) {
+                throw new IllegalStateException("Publishing " + messages.size() + " booking event(s) failed", e);
+            }
+            outboxEventRepository.deleteAllInBatch(events);
+            return events.size();
+        });
+        return relayed == null ? 0 : relayed;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                int relayed = relayBatch();
+                if (relayed < batchSize) {
+                    signal.tryAcquire(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    signal.drainPermits();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Outbox relay failed, retrying in {}: {}", pollInterval, e.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollInterval.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "booking-outbox-relay");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = worker;
+        if (current != null) {
+            current.interrupt();
+            worker = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
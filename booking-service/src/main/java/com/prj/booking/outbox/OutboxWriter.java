@@ -0,0 +1,64 @@
+package com.prj.booking.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prj.booking.entity.OutboxEvent;
+import com.prj.booking.event.BookingChangedEvent;
+import com.prj.booking.event.BookingsExpiredEvent;
+import com.prj.booking.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Appends every {@link BookingChangedEvent} to the outbox table, one row per booking of a
+ * {@link BookingsExpiredEvent}. The listener runs synchronously in
+ * the publishing transaction, so the event row commits or rolls back together with the booking change.
+ */
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        outboxEventRepository.save(toOutboxEvent(event));
+    }
+
+    @EventListener
+    public void onBookingsExpired(BookingsExpiredEvent event) {
+        List<OutboxEvent> outboxEvents = event.changes().stream().map(this::toOutboxEvent).toList();
+        outboxEventRepository.saveAll(outboxEvents);
+    }
+
+    static String eventType(BookingChangedEvent event) {
+        return switch (event.type()) {
+            case CREATED -> "BOOKING_CREATED";
+            case DELETED -> "BOOKING_DELETED";
+            case STATUS_CHANGED -> "BOOKING_" + event.booking().getStatus();
+        };
+    }
+
+    private OutboxEvent toOutboxEvent(BookingChangedEvent event) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setBookingId(event.booking().getId());
+        outboxEvent.setBookingVersion(event.booking().getVersion());
+        outboxEvent.setEventType(eventType(event));
+        outboxEvent.setPayload(toJson(event));
+        outboxEvent.setCreatedAt(LocalDateTime.now());
+        return outboxEvent;
+    }
+
+    private String toJson(BookingChangedEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize booking event for booking " + event.booking().getId(), e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.prj.booking.repository;
+
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * List queries that select only the requested {@code Booking} attributes. Each row is returned as a map
+ * keyed by attribute name, in the order of {@code fields}; {@code id} is always included. Rows come in id
+ * order, like the version-only queries the list ETags are computed from.
+ */
+public interface BookingFieldQueries {
+
+    List<Map<String, Object>> findFieldsByCustomerId(Long customerId, Set<String> fields);
+
+    List<Map<String, Object>> findFieldsByFlightId(Long flightId, Set<String> fields);
+
+    List<Map<String, Object>> findFieldsAfter(Long afterId, Set<String> fields, Limit limit);
+}
@@ -0,0 +1,77 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+class BookingFieldQueriesImpl implements BookingFieldQueries {
+
+    private final EntityManager entityManager;
+
+    BookingFieldQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByCustomerId(Long customerId, Set<String> fields) {
+        return select(fields, (cb, root) -> cb.equal(root.get("customerId"), customerId), Limit.unlimited());
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByFlightId(Long flightId, Set<String> fields) {
+        return select(fields, (cb, root) -> cb.equal(root.get("flightId"), flightId), Limit.unlimited());
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsAfter(Long afterId, Set<String> fields, Limit limit) {
+        return select(fields, (cb, root) -> cb.greaterThan(root.get("id"), afterId), limit);
+    }
+
+    private List<Map<String, Object>> select(Set<String> fields,
+                                             BiFunction<CriteriaBuilder, Root<Booking>, Predicate> where,
+                                             Limit limit) {
+        Set<String> attributes = new LinkedHashSet<>();
+        attributes.add("id");
+        attributes.addAll(fields);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> criteria = cb.createTupleQuery();
+        Root<Booking> root = criteria.from(Booking.class);
+        List<Selection<?>> selections = new ArrayList<>(attributes.size());
+        for (String attribute : attributes) {
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        criteria.multiselect(selections).where(where.apply(cb, root)).orderBy(cb.asc(root.get("id")));
+
+        TypedQuery<Tuple> query = entityManager.createQuery(criteria);
+        if (limit.isLimited()) {
+            query.setMaxResults(limit.max());
+        }
+        List<Tuple> tuples = query.getResultList();
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (TupleElement<?> element : tuple.getElements()) {
+                row.put(element.getAlias(), tuple.get(element));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+}
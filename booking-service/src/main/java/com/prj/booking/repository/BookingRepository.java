@@ -1,14 +1,38 @@
 package com.prj.booking.repository;
 
+import com.prj.booking.dto.BookingResponse;
 import com.prj.booking.entity.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingStatusTransitions,
+        BookingFieldQueries {
+
+    /**
+     * Constructor expression shared by the read-only list queries: rows are selected straight into
+     * {@link BookingResponse}, so no managed entity or dirty-checking snapshot is created.
+     */
+    String SELECT_RESPONSE = "select new com.prj.booking.dto.BookingResponse(b.id, b.customerId, b.flightId, "
+            + "b.numberOfPassengers, b.status, b.totalPrice, b.bookingDate, b.departureDate, b.seatNumbers, "
+            + "b.paymentId, b.notes, b.createdAt, b.updatedAt, b.version) from Booking b ";
+
+    /**
+     * Id and version only, enough to compute a list ETag without reading the rows' other columns.
+     */
+    String SELECT_VERSION = "select new com.prj.booking.repository.BookingVersion(b.id, b.version) from Booking b ";
 
     List<Booking> findByCustomerId(Long customerId);
 
@@ -21,9 +45,63 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByCustomerIdAndStatus(Long customerId, Booking.BookingStatus status);
 
     boolean existsByFlightIdAndSeatNumbers(Long flightId, String seatNumbers);
-}
 
+    @Query("select b.status from Booking b where b.id = :id")
+    Optional<Booking.BookingStatus> findStatusById(@Param("id") Long id);
+
+    @Query("select min(b.departureDate) from Booking b where b.customerId = :customerId "
+            + "and b.status in :statuses and b.departureDate > :after")
+    Optional<LocalDateTime> findNextDeparture(@Param("customerId") Long customerId,
+                                              @Param("statuses") Collection<Booking.BookingStatus> statuses,
+                                              @Param("after") LocalDateTime after);
+
+    @Query("select distinct b.customerId from Booking b where b.customerId > :afterId order by b.customerId")
+    List<Long> findCustomerIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query(SELECT_RESPONSE + "where b.id = :id")
+    Optional<BookingResponse> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + "where b.customerId = :customerId order by b.id")
+    List<BookingResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
 
+    @Query(SELECT_RESPONSE + "where b.flightId = :flightId order by b.id")
+    List<BookingResponse> findResponsesByFlightId(@Param("flightId") Long flightId);
 
+    @Query(SELECT_RESPONSE + "where b.id > :afterId order by b.id")
+    List<BookingResponse> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
 
+    @Query(SELECT_RESPONSE + "order by b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<BookingResponse> streamResponses();
 
+    @Query("select b.version from Booking b where b.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(SELECT_VERSION + "where b.customerId = :customerId order by b.id")
+    List<BookingVersion> findVersionsByCustomerId(@Param("customerId") Long customerId);
+
+    @Query(SELECT_VERSION + "where b.flightId = :flightId order by b.id")
+    List<BookingVersion> findVersionsByFlightId(@Param("flightId") Long flightId);
+
+    @Query(SELECT_VERSION + "where b.id > :afterId order by b.id")
+    List<BookingVersion> findVersionsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("select new com.prj.booking.repository.PendingHold(b.id, b.createdAt) from Booking b "
+            + "where b.status = :status and b.id > :afterId order by b.id")
+    List<PendingHold> findHoldsByStatusAfter(@Param("status") Booking.BookingStatus status,
+                                             @Param("afterId") Long afterId, Limit limit);
+
+    @Query("select new com.prj.booking.repository.PendingHold(b.id, b.createdAt) from Booking b "
+            + "where b.status = :status and b.createdAt <= :createdBefore and b.id > :afterId order by b.id")
+    List<PendingHold> findHoldsCreatedBefore(@Param("status") Booking.BookingStatus status,
+                                             @Param("createdBefore") LocalDateTime createdBefore,
+                                             @Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Seats held per flight by the bookings in one of the given statuses.
+     */
+    @Query("select new com.prj.booking.repository.FlightSeats(b.flightId, sum(b.numberOfPassengers)) from Booking b "
+            + "where b.flightId in :flightIds and b.status in :statuses group by b.flightId")
+    List<FlightSeats> sumSeatsByFlightIds(@Param("flightIds") Collection<Long> flightIds,
+                                          @Param("statuses") Collection<Booking.BookingStatus> statuses);
+}
@@ -0,0 +1,28 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface BookingStatusTransitions {
+
+    /**
+     * Moves a booking to {@code target} in a single conditional UPDATE, provided its current status
+     * is one of {@code target.allowedSources()}. The version is incremented as for any other write.
+     * A non-null {@code paymentId} is stored in the same statement.
+     *
+     * @return the updated booking, or empty if the booking does not exist or is not in an allowed status
+     */
+    Optional<StatusTransition> transitionStatus(Long id, Booking.BookingStatus target, String paymentId);
+
+    /**
+     * Cancels, in a single UPDATE, those of the given bookings that are still PENDING and were created
+     * at or before {@code createdBefore}. The others are left untouched.
+     *
+     * @return the bookings that were cancelled
+     */
+    List<Booking> expirePendingHolds(Collection<Long> ids, LocalDateTime createdBefore);
+}
@@ -0,0 +1,182 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.Booking;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Query;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+class BookingStatusTransitionsImpl implements BookingStatusTransitions {
+
+    /**
+     * Locks the row, checks the source status and returns the new row together with the old status,
+     * all in one round trip.
+     */
+    private static final String POSTGRES_TRANSITION = """
+            WITH prev AS (SELECT id, status FROM bookings WHERE id = :id FOR UPDATE)
+            UPDATE bookings b
+               SET status = :target,
+                   payment_id = COALESCE(CAST(:paymentId AS VARCHAR), b.payment_id),
+                   version = b.version + 1,
+                   updated_at = :now
+              FROM prev
+             WHERE b.id = prev.id AND prev.status IN (:sources)
+            RETURNING {b.*}, prev.status AS previous_status
+            """;
+
+    /**
+     * The status guard is re-checked on rows locked by a concurrent confirmation, so a booking paid in
+     * the meantime is not cancelled.
+     */
+    private static final String POSTGRES_EXPIRE = """
+            UPDATE bookings b
+               SET status = 'CANCELLED',
+                   version = b.version + 1,
+                   updated_at = :now
+             WHERE b.id IN (:ids) AND b.status = 'PENDING' AND b.created_at <= :createdBefore
+            RETURNING b.*
+            """;
+
+    private final EntityManager entityManager;
+    private final boolean postgres;
+
+    BookingStatusTransitionsImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.postgres = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    public Optional<StatusTransition> transitionStatus(Long id, Booking.BookingStatus target, String paymentId) {
+        Set<Booking.BookingStatus> sources = target.allowedSources();
+        if (sources.isEmpty()) {
+            return Optional.empty();
+        }
+        return postgres
+                ? transitionWithReturning(id, target, paymentId, sources)
+                : transitionThenLoad(id, target, paymentId, sources);
+    }
+
+    private Optional<StatusTransition> transitionWithReturning(Long id, Booking.BookingStatus target, String paymentId,
+                                                               Set<Booking.BookingStatus> sources) {
+        NativeQuery<Object[]> query = entityManager.unwrap(Session.class)
+                .createNativeQuery(POSTGRES_TRANSITION, Object[].class)
+                .addEntity("b", Booking.class)
+                .addScalar("previous_status", StandardBasicTypes.STRING);
+        query.setParameter("id", id);
+        query.setParameter("target", target.name());
+        query.setParameter("paymentId", paymentId);
+        query.setParameter("now", LocalDateTime.now());
+        query.setParameterList("sources", sources.stream().map(Enum::name).toList());
+
+        List<Object[]> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        Booking booking = (Booking) row[0];
+        if (booking.getStatus() != target) {
+            // The booking was already managed in this session, so Hibernate kept its stale state
+            entityManager.refresh(booking);
+        }
+        return Optional.of(new StatusTransition(booking, Booking.BookingStatus.valueOf((String) row[1])));
+    }
+
+    /**
+     * Portable fallback for databases without UPDATE ... RETURNING (H2 in tests): the UPDATE is guarded
+     * by the status just read, so a concurrent change makes it match no row.
+     */
+    private Optional<StatusTransition> transitionThenLoad(Long id, Booking.BookingStatus target, String paymentId,
+                                                          Set<Booking.BookingStatus> sources) {
+        Booking.BookingStatus previousStatus = entityManager.createQuery(
+                        "select b.status from Booking b where b.id = :id", Booking.BookingStatus.class)
+                .setParameter("id", id)
+                .getResultStream().findFirst().orElse(null);
+        if (previousStatus == null || !sources.contains(previousStatus)) {
+            return Optional.empty();
+        }
+
+        String paymentAssignment = paymentId == null ? "" : ", b.paymentId = :paymentId";
+        Query update = entityManager.createQuery("update Booking b"
+                        + " set b.status = :target, b.version = b.version + 1, b.updatedAt = :now" + paymentAssignment
+                        + " where b.id = :id and b.status = :previous")
+                .setParameter("target", target)
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("id", id)
+                .setParameter("previous", previousStatus);
+        if (paymentId != null) {
+            update.setParameter("paymentId", paymentId);
+        }
+        int updated = update.executeUpdate();
+        if (updated == 0) {
+            return Optional.empty();
+        }
+
+        Booking booking = entityManager.find(Booking.class, id);
+        entityManager.refresh(booking);
+        return Optional.of(new StatusTransition(booking, previousStatus));
+    }
+
+    @Override
+    public List<Booking> expirePendingHolds(Collection<Long> ids, LocalDateTime createdBefore) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (!postgres) {
+            return expireThenLoad(ids, createdBefore);
+        }
+        return entityManager.unwrap(Session.class)
+                .createNativeQuery(POSTGRES_EXPIRE, Booking.class)
+                .setParameterList("ids", ids)
+                .setParameter("createdBefore", createdBefore)
+                .setParameter("now", LocalDateTime.now())
+                .getResultList();
+    }
+
+    /**
+     * Portable fallback for databases without UPDATE ... RETURNING (H2 in tests). The pending rows are
+     * locked when read, so a concurrent confirmation cannot slip in before the UPDATE and exactly the
+     * rows read are the ones cancelled.
+     */
+    private List<Booking> expireThenLoad(Collection<Long> ids, LocalDateTime createdBefore) {
+        List<Long> pending = entityManager.createQuery("select b.id from Booking b where b.id in :ids"
+                        + " and b.status = :pending and b.createdAt <= :createdBefore", Long.class)
+                .setParameter("ids", ids)
+                .setParameter("pending", Booking.BookingStatus.PENDING)
+                .setParameter("createdBefore", createdBefore)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        if (pending.isEmpty()) {
+            return List.of();
+        }
+        int updated = entityManager.createQuery("update Booking b"
+                        + " set b.status = :cancelled, b.version = b.version + 1, b.updatedAt = :now"
+                        + " where b.id in :ids and b.status = :pending")
+                .setParameter("cancelled", Booking.BookingStatus.CANCELLED)
+                .setParameter("now", LocalDateTime.now())
+                .setParameter("ids", pending)
+                .setParameter("pending", Booking.BookingStatus.PENDING)
+                .executeUpdate();
+        if (updated != pending.size()) {
+            throw new IllegalStateException("Expected to cancel " + pending.size() + " locked hold(s), cancelled "
+                    + updated);
+        }
+        List<Booking> cancelled = entityManager.createQuery(
+                        "select b from Booking b where b.id in :ids order by b.id", Booking.class)
+                .setParameter("ids", pending)
+                .getResultList();
+        // Bookings already managed in this session still carry their pre-UPDATE state
+        cancelled.forEach(entityManager::refresh);
+        return cancelled;
+    }
+}
@@ -0,0 +1,7 @@
+package com.prj.booking.repository;
+
+/**
+ * Id and optimistic-lock version of one booking, as read by the ETag queries.
+ */
+public record BookingVersion(Long id, Long version) {
+}
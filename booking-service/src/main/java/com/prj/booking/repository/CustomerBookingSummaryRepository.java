@@ -0,0 +1,22 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.CustomerBookingSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CustomerBookingSummaryRepository
+        extends JpaRepository<CustomerBookingSummary, Long>, CustomerSummaryUpdates {
+
+    @Modifying
+    @Query("update CustomerBookingSummary s set s.nextDeparture = :nextDeparture, s.updatedAt = :now "
+            + "where s.customerId = :customerId")
+    int updateNextDeparture(@Param("customerId") Long customerId,
+                            @Param("nextDeparture") LocalDateTime nextDeparture,
+                            @Param("now") LocalDateTime now);
+}
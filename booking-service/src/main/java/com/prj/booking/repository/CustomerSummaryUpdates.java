@@ -0,0 +1,36 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.Booking;
+
+import java.time.LocalDateTime;
+import java.util.SortedMap;
+
+public interface CustomerSummaryUpdates {
+
+    /**
+     * Applies one booking change to a customer's summary, creating it if needed: the count of
+     * {@code removed} is decremented, the count of {@code added} incremented (either may be null),
+     * {@code spentDelta} is added to the total and {@code departure}, if earlier, becomes the next departure.
+     */
+    void applyDelta(Long customerId, Booking.BookingStatus removed, Booking.BookingStatus added,
+                    double spentDelta, LocalDateTime departure);
+
+    /**
+     * {@link #applyDelta} for a batch of bookings that all moved from {@code removed} to {@code added}, in one
+     * statement. {@code deltas} holds, per customer id, the number of bookings and the sum of their spent deltas.
+     */
+    void applyDeltas(Booking.BookingStatus removed, Booking.BookingStatus added, SortedMap<Long, Delta> deltas);
+
+    /**
+     * Regenerates from the bookings table the summaries of the customers with an id in
+     * {@code (afterId, upToId]}, removing those left without bookings, and returns the number of customers.
+     */
+    int rebuildRange(Long afterId, Long upToId, LocalDateTime now);
+
+    record Delta(long bookings, double spent) {
+
+        public Delta plus(Delta other) {
+            return new Delta(bookings + other.bookings, spent + other.spent);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.Booking;
+import com.prj.booking.entity.CustomerBookingSummary;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.MutationQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SortedMap;
+
+class CustomerSummaryUpdatesImpl implements CustomerSummaryUpdates {
+
+    /**
+     * One customer's delta, followed by {@link #ADD_ON_CONFLICT}.
+     */
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO customer_booking_summary AS s (customer_id, pending_count, confirmed_count, cancelled_count,
+                                                       completed_count, total_spent, next_departure, updated_at)
+            VALUES (:customerId, :pending, :confirmed, :cancelled, :completed, :spent, :departure, :now)
+            """;
+
+    /**
+     * Many customers' deltas, followed by {@link #ADD_ON_CONFLICT}; {@code %s} is the list of
+     * (customer id, bookings, spent) rows, one per customer.
+     */
+    private static final String POSTGRES_BATCH_UPSERT = """
+            INSERT INTO customer_booking_summary AS s (customer_id, pending_count, confirmed_count, cancelled_count,
+                                                       completed_count, total_spent, next_departure, updated_at)
+            SELECT v.customer_id, v.bookings * :pending, v.bookings * :confirmed, v.bookings * :cancelled,
+                   v.bookings * :completed, v.spent, CAST(NULL AS TIMESTAMP), :now
+            FROM (VALUES %s) AS v (customer_id, bookings, spent)
+            """;
+
+    /**
+     * Additive upsert: concurrent bookings of the same customer serialize on the row, none is lost.
+     */
+    private static final String ADD_ON_CONFLICT = """
+            ON CONFLICT (customer_id) DO UPDATE SET
+                pending_count = s.pending_count + EXCLUDED.pending_count,
+                confirmed_count = s.confirmed_count + EXCLUDED.confirmed_count,
+                cancelled_count = s.cancelled_count + EXCLUDED.cancelled_count,
+                completed_count = s.completed_count + EXCLUDED.completed_count,
+                total_spent = s.total_spent + EXCLUDED.total_spent,
+                next_departure = LEAST(s.next_departure, EXCLUDED.next_departure),
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    /**
+     * Summaries of the customers in {@code (afterId, upToId]}; ON CONFLICT is added on PostgreSQL.
+     */
+    private static final String REBUILD_RANGE = """
+            INSERT INTO customer_booking_summary (customer_id, pending_count, confirmed_count, cancelled_count,
+                                                  completed_count, total_spent, next_departure, updated_at)
+            SELECT customer_id,
+                   COUNT(CASE WHEN status = 'PENDING' THEN 1 END),
+                   COUNT(CASE WHEN status = 'CONFIRMED' THEN 1 END),
+                   COUNT(CASE WHEN status = 'CANCELLED' THEN 1 END),
+                   COUNT(CASE WHEN status = 'COMPLETED' THEN 1 END),
+                   COALESCE(SUM(CASE WHEN status <> 'CANCELLED' THEN total_price END), 0),
+                   MIN(CASE WHEN status IN ('PENDING', 'CONFIRMED') AND departure_date > :now THEN departure_date END),
+                   :now
+            FROM bookings
+            WHERE customer_id > :afterId AND customer_id <= :upToId
+            GROUP BY customer_id
+            """;
+
+    private final EntityManager entityManager;
+    private final boolean postgres;
+
+    CustomerSummaryUpdatesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.postgres = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    public void applyDelta(Long customerId, Booking.BookingStatus removed, Booking.BookingStatus added,
+                           double spentDelta, LocalDateTime departure) {
+        if (postgres) {
+            upsert(customerId, removed, added, spentDelta, departure);
+        } else {
+            lockAndUpdate(customerId, removed, added, 1, spentDelta, departure);
+        }
+    }
+
+    /**
+     * Customers are written in id order, so two batches touching the same customers cannot deadlock.
+     */
+    @Override
+    public void applyDeltas(Booking.BookingStatus removed, Booking.BookingStatus added,
+                            SortedMap<Long, Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        if (!postgres) {
+            deltas.forEach((customerId, delta) ->
+                    lockAndUpdate(customerId, removed, added, delta.bookings(), delta.spent(), null));
+            return;
+        }
+        StringBuilder values = new StringBuilder();
+        for (int i = 0; i < deltas.size(); i++) {
+            values.append(i == 0 ? "" : ", ").append("(:customerId").append(i)
+                    .append(", :bookings").append(i).append(", :spent").append(i).append(')');
+        }
+        MutationQuery query = entityManager.unwrap(Session.class)
+                .createNativeMutationQuery(POSTGRES_BATCH_UPSERT.formatted(values) + ADD_ON_CONFLICT);
+        query.setParameter("pending", delta(Booking.BookingStatus.PENDING, removed, added));
+        query.setParameter("confirmed", delta(Booking.BookingStatus.CONFIRMED, removed, added));
+        query.setParameter("cancelled", delta(Booking.BookingStatus.CANCELLED, removed, added));
+        query.setParameter("completed", delta(Booking.BookingStatus.COMPLETED, removed, added));
+        query.setParameter("now", LocalDateTime.now());
+        int i = 0;
+        for (Map.Entry<Long, Delta> entry : deltas.entrySet()) {
+            query.setParameter("customerId" + i, entry.getKey());
+            query.setParameter("bookings" + i, entry.getValue().bookings());
+            query.setParameter("spent" + i, entry.getValue().spent());
+            i++;
+        }
+        query.executeUpdate();
+    }
+
+    private void upsert(Long customerId, Booking.BookingStatus removed, Booking.BookingStatus added,
+                        double spentDelta, LocalDateTime departure) {
+        MutationQuery query = entityManager.unwrap(Session.class)
+                .createNativeMutationQuery(POSTGRES_UPSERT + ADD_ON_CONFLICT);
+        query.setParameter("customerId", customerId);
+        query.setParameter("pending", delta(Booking.BookingStatus.PENDING, removed, added));
+        query.setParameter("confirmed", delta(Booking.BookingStatus.CONFIRMED, removed, added));
+        query.setParameter("cancelled", delta(Booking.BookingStatus.CANCELLED, removed, added));
+        query.setParameter("completed", delta(Booking.BookingStatus.COMPLETED, removed, added));
+        query.setParameter("spent", spentDelta);
+        query.setParameter("departure", departure, StandardBasicTypes.LOCAL_DATE_TIME);
+        query.setParameter("now", LocalDateTime.now());
+        query.executeUpdate();
+    }
+
+    /**
+     * Portable fallback for databases without INSERT ... ON CONFLICT (H2 in tests).
+     */
+    private void lockAndUpdate(Long customerId, Booking.BookingStatus removed, Booking.BookingStatus added,
+                               long bookings, double spentDelta, LocalDateTime departure) {
+        CustomerBookingSummary summary = entityManager.find(CustomerBookingSummary.class, customerId,
+                LockModeType.PESSIMISTIC_WRITE);
+        if (summary == null) {
+            summary = CustomerBookingSummary.empty(customerId);
+            entityManager.persist(summary);
+        }
+        summary.setPendingCount(summary.getPendingCount()
+                + bookings * delta(Booking.BookingStatus.PENDING, removed, added));
+        summary.setConfirmedCount(summary.getConfirmedCount()
+                + bookings * delta(Booking.BookingStatus.CONFIRMED, removed, added));
+        summary.setCancelledCount(summary.getCancelledCount()
+                + bookings * delta(Booking.BookingStatus.CANCELLED, removed, added));
+        summary.setCompletedCount(summary.getCompletedCount()
+                + bookings * delta(Booking.BookingStatus.COMPLETED, removed, added));
+        summary.setTotalSpent(summary.getTotalSpent() + spentDelta);
+        if (departure != null && (summary.getNextDeparture() == null || departure.isBefore(summary.getNextDeparture()))) {
+            summary.setNextDeparture(departure);
+        }
+        summary.setUpdatedAt(LocalDateTime.now());
+    }
+
+    /**
+     * The DELETE row-locks the range's summaries, so writers of those customers wait for this transaction
+     * only, then apply their delta on top of the rebuilt row. The INSERT is a later statement and sees every
+     * booking committed before the locks were taken. A summary created meanwhile by a customer's first
+     * booking is kept as is.
+     */
+    @Override
+    public int rebuildRange(Long afterId, Long upToId, LocalDateTime now) {
+        entityManager.flush();
+        Session session = entityManager.unwrap(Session.class);
+        session.createNativeMutationQuery(
+                        "DELETE FROM customer_booking_summary WHERE customer_id > :afterId AND customer_id <= :upToId")
+                .setParameter("afterId", afterId)
+                .setParameter("upToId", upToId)
+                .executeUpdate();
+        int rebuilt = session.createNativeMutationQuery(
+                        postgres ? REBUILD_RANGE + "ON CONFLICT (customer_id) DO NOTHING" : REBUILD_RANGE)
+                .setParameter("afterId", afterId)
+                .setParameter("upToId", upToId)
+                .setParameter("now", now)
+                .executeUpdate();
+        entityManager.clear();
+        return rebuilt;
+    }
+
+    private static long delta(Booking.BookingStatus status, Booking.BookingStatus removed, Booking.BookingStatus added) {
+        return (status == added ? 1 : 0) - (status == removed ? 1 : 0);
+    }
+}
@@ -0,0 +1,7 @@
+package com.prj.booking.repository;
+
+/**
+ * Seats held on a flight by its bookings that are not cancelled.
+ */
+public record FlightSeats(Long flightId, Long seats) {
+}
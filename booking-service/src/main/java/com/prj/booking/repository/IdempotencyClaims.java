@@ -0,0 +1,13 @@
+package com.prj.booking.repository;
+
+import java.time.LocalDateTime;
+
+public interface IdempotencyClaims {
+
+    /**
+     * Inserts a pending record for the key unless one exists that has not expired by {@code claimedAt},
+     * and returns whether this call claimed the key.
+     */
+    boolean claim(String scope, String idempotencyKey, String requestDigest, LocalDateTime claimedAt,
+                  LocalDateTime expiresAt);
+}
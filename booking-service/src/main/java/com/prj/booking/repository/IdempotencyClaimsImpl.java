@@ -0,0 +1,79 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.IdempotencyRecord;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import org.hibernate.Session;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.LocalDateTime;
+
+class IdempotencyClaimsImpl implements IdempotencyClaims {
+
+    /**
+     * One statement: a concurrent claim of the same key waits on the row and then matches nothing. An
+     * expired record is taken over in place.
+     */
+    private static final String POSTGRES_CLAIM = """
+            INSERT INTO idempotency_keys AS k (scope, idempotency_key, request_digest, claimed_at, expires_at)
+            VALUES (:scope, :key, :digest, :claimedAt, :expiresAt)
+            ON CONFLICT (scope, idempotency_key) DO UPDATE SET
+                request_digest = EXCLUDED.request_digest,
+                status_code = NULL,
+                response_headers = NULL,
+                response_body = NULL,
+                claimed_at = EXCLUDED.claimed_at,
+                expires_at = EXCLUDED.expires_at
+            WHERE k.expires_at < EXCLUDED.claimed_at
+            """;
+
+    private final EntityManager entityManager;
+    private final boolean postgres;
+
+    IdempotencyClaimsImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+        this.postgres = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    public boolean claim(String scope, String idempotencyKey, String requestDigest, LocalDateTime claimedAt,
+                         LocalDateTime expiresAt) {
+        if (postgres) {
+            return entityManager.unwrap(Session.class).createNativeMutationQuery(POSTGRES_CLAIM)
+                    .setParameter("scope", scope)
+                    .setParameter("key", idempotencyKey)
+                    .setParameter("digest", requestDigest)
+                    .setParameter("claimedAt", claimedAt)
+                    .setParameter("expiresAt", expiresAt)
+                    .executeUpdate() == 1;
+        }
+        return findThenInsert(scope, idempotencyKey, requestDigest, claimedAt, expiresAt);
+    }
+
+    /**
+     * Portable fallback for databases without INSERT ... ON CONFLICT (H2 in tests); two first claims racing
+     * on the key fail the second transaction on the primary key.
+     */
+    private boolean findThenInsert(String scope, String idempotencyKey, String requestDigest,
+                                   LocalDateTime claimedAt, LocalDateTime expiresAt) {
+        IdempotencyRecord existing = entityManager.find(IdempotencyRecord.class,
+                new IdempotencyRecord.Key(scope, idempotencyKey), LockModeType.PESSIMISTIC_WRITE);
+        if (existing == null) {
+            entityManager.persist(new IdempotencyRecord(scope, idempotencyKey, requestDigest, null, null, null,
+                    claimedAt, expiresAt));
+            return true;
+        }
+        if (!existing.getExpiresAt().isBefore(claimedAt)) {
+            return false;
+        }
+        existing.setRequestDigest(requestDigest);
+        existing.setStatusCode(null);
+        existing.setResponseHeaders(null);
+        existing.setResponseBody(null);
+        existing.setClaimedAt(claimedAt);
+        existing.setExpiresAt(expiresAt);
+        return true;
+    }
+}
@@ -0,0 +1,41 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository
+        extends JpaRepository<IdempotencyRecord, IdempotencyRecord.Key>, IdempotencyClaims {
+
+    /**
+     * Stores the response of the claim made at {@code claimedAt}, if the key has not been claimed again since.
+     */
+    @Modifying
+    @Query("update IdempotencyRecord r set r.statusCode = :statusCode, r.responseHeaders = :headers, "
+            + "r.responseBody = :body, r.expiresAt = :expiresAt "
+            + "where r.scope = :scope and r.idempotencyKey = :key and r.claimedAt = :claimedAt")
+    int complete(@Param("scope") String scope,
+                 @Param("key") String idempotencyKey,
+                 @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("statusCode") int statusCode,
+                 @Param("headers") String headers,
+                 @Param("body") String body,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.scope = :scope and r.idempotencyKey = :key "
+            + "and r.claimedAt = :claimedAt and r.statusCode is null")
+    int release(@Param("scope") String scope,
+                @Param("key") String idempotencyKey,
+                @Param("claimedAt") LocalDateTime claimedAt);
+
+    @Modifying
+    @Query("delete from IdempotencyRecord r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,9 @@
+package com.prj.booking.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking waiting for payment, as read to rebuild the hold deadlines.
+ */
+public record PendingHold(Long id, LocalDateTime createdAt) {
+}
@@ -0,0 +1,36 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.Booking;
+import com.prj.booking.entity.BookingRow;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC counterpart of {@link BookingRepository}'s finders, only active with the reactive profile.
+ */
+@Repository
+public interface ReactiveBookingRepository extends ReactiveCrudRepository<BookingRow, Long> {
+
+    Flux<BookingRow> findByCustomerId(Long customerId);
+
+    Flux<BookingRow> findByFlightId(Long flightId);
+
+    Flux<BookingRow> findByStatus(Booking.BookingStatus status);
+
+    Mono<BookingRow> findByPaymentId(String paymentId);
+
+    Flux<BookingRow> findByCustomerIdAndStatus(Long customerId, Booking.BookingStatus status);
+
+    Mono<Boolean> existsByFlightIdAndSeatNumbers(Long flightId, String seatNumbers);
+
+    Flux<BookingRow> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    Flux<BookingRow> findAllByOrderByIdAsc();
+
+    @Query("SELECT version FROM bookings WHERE id = :id")
+    Mono<Long> findVersionById(Long id);
+}
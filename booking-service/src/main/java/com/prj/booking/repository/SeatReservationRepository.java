@@ -0,0 +1,27 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.SeatReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface SeatReservationRepository extends JpaRepository<SeatReservation, Long> {
+
+    List<SeatReservation> findByFlightId(Long flightId);
+
+    List<SeatReservation> findByBookingId(Long bookingId);
+
+    @Modifying
+    @Query("delete from SeatReservation s where s.bookingId = :bookingId")
+    int deleteByBookingId(@Param("bookingId") Long bookingId);
+
+    @Modifying
+    @Query("delete from SeatReservation s where s.bookingId in :bookingIds")
+    int deleteByBookingIdIn(@Param("bookingIds") Collection<Long> bookingIds);
+}
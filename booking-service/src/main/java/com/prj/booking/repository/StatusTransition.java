@@ -0,0 +1,9 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.Booking;
+
+/**
+ * Result of a successful conditional status update: the booking as written and the status it had before.
+ */
+public record StatusTransition(Booking booking, Booking.BookingStatus previousStatus) {
+}
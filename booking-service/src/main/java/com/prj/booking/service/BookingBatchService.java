@@ -0,0 +1,115 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.BatchBookingItemResult;
+import com.prj.booking.dto.BatchBookingResponse;
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.exception.BookingException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Runs a batch of booking requests. Requests are checked against flight and customer services in one
+ * parallel round of calls, then valid requests are written together in one transaction so
+ * Hibernate can batch the inserts; if that transaction fails (typically a seat already taken), each
+ * request is retried on its own so the caller gets a precise per-item outcome.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingBatchService {
+
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private final BookingService bookingService;
+    private final BookingValidator bookingValidator;
+    private final Validator validator;
+
+    public BatchBookingResponse createBookings(List<BookingRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch size " + requests.size() + " exceeds maximum of " + MAX_BATCH_SIZE);
+        }
+
+        BatchBookingItemResult[] results = new BatchBookingItemResult[requests.size()];
+        List<Integer> checkedIndexes = new ArrayList<>();
+        List<BookingRequest> checkedRequests = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i));
+            if (error != null) {
+                results[i] = BatchBookingItemResult.failed(i, error);
+            } else {
+                checkedIndexes.add(i);
+                checkedRequests.add(requests.get(i));
+            }
+        }
+
+        List<Integer> validIndexes = new ArrayList<>();
+        List<BookingRequest> validRequests = new ArrayList<>();
+        List<String> errors = checkedRequests.isEmpty() ? List.of() : bookingValidator.validateAll(checkedRequests);
+        for (int i = 0; i < errors.size(); i++) {
+            int index = checkedIndexes.get(i);
+            if (errors.get(i) != null) {
+                results[index] = BatchBookingItemResult.failed(index, errors.get(i));
+            } else {
+                validIndexes.add(index);
+                validRequests.add(checkedRequests.get(i));
+            }
+        }
+
+        if (!validRequests.isEmpty()) {
+            try {
+                List<BookingResponse> created = bookingService.createBookings(validRequests);
+                for (int i = 0; i < created.size(); i++) {
+                    int index = validIndexes.get(i);
+                    results[index] = BatchBookingItemResult.created(index, created.get(i));
+                }
+            } catch (RuntimeException e) {
+                log.info("Batch insert of {} bookings failed ({}), falling back to one transaction per booking",
+                        validRequests.size(), e.getMessage());
+                for (int index : validIndexes) {
+                    results[index] = createOne(index, requests.get(index));
+                }
+            }
+        }
+
+        List<BatchBookingItemResult> items = Arrays.asList(results);
+        int created = (int) items.stream()
+                .filter(item -> item.getStatus() == BatchBookingItemResult.ItemStatus.CREATED)
+                .count();
+        return new BatchBookingResponse(created, items.size() - created, items);
+    }
+
+    private BatchBookingItemResult createOne(int index, BookingRequest request) {
+        try {
+            return BatchBookingItemResult.created(index, bookingService.createBooking(request));
+        } catch (BookingException e) {
+            return BatchBookingItemResult.failed(index, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Booking {} of the batch could not be created", index, e);
+            return BatchBookingItemResult.failed(index, "Booking could not be created");
+        }
+    }
+
+    private String validate(BookingRequest request) {
+        if (request == null) {
+            return "Booking request is required";
+        }
+        Set<ConstraintViolation<BookingRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,51 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.repository.BookingVersion;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Strong ETags for booking resources. A single booking is tagged with its optimistic-lock version, which
+ * every write increments. A list is tagged with a digest of its rows' ids and versions plus the selected
+ * fields, so it can be computed from a version-only query before, or instead of, loading the rows.
+ */
+public final class BookingETags {
+
+    private BookingETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String of(BookingResponse response) {
+        return of(response.getVersion());
+    }
+
+    public static String ofVersions(List<BookingVersion> versions, Collection<String> fields) {
+        StringBuilder key = new StringBuilder(String.join(",", fields)).append('|');
+        for (BookingVersion version : versions) {
+            key.append(version.id()).append(':').append(version.version()).append(';');
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    public static String ofResponses(List<BookingResponse> rows, Collection<String> fields) {
+        return ofVersions(rows.stream().map(row -> new BookingVersion(row.getId(), row.getVersion())).toList(), fields);
+    }
+
+    /**
+     * @param rows field rows that include {@code id} and {@code version}
+     */
+    public static String ofFieldRows(List<Map<String, Object>> rows, Collection<String> fields) {
+        return ofVersions(rows.stream()
+                .map(row -> new BookingVersion((Long) row.get("id"), (Long) row.get("version")))
+                .toList(), fields);
+    }
+
+}
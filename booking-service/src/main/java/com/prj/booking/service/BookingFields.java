@@ -0,0 +1,41 @@
+package com.prj.booking.service;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Parses the {@code fields} query parameter of the list endpoints into the set of booking attributes
+ * to select. Names are those of {@link com.prj.booking.dto.BookingResponse}; the requested order is kept.
+ */
+public final class BookingFields {
+
+    public static final Set<String> ALLOWED = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(
+            "id", "customerId", "flightId", "numberOfPassengers", "status", "totalPrice", "bookingDate",
+            "departureDate", "seatNumbers", "paymentId", "notes", "createdAt", "updatedAt", "version")));
+
+    private BookingFields() {
+    }
+
+    /**
+     * @return the requested fields, or an empty set when every field is wanted
+     */
+    public static Set<String> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return Collections.emptySet();
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String token : fields.split(",")) {
+            String field = token.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!ALLOWED.contains(field)) {
+                throw new IllegalArgumentException("Unknown booking field: " + field);
+            }
+            selected.add(field);
+        }
+        return selected;
+    }
+}
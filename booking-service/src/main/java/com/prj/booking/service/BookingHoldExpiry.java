@@ -0,0 +1,196 @@
+package com.prj.booking.service;
+
+import com.prj.booking.config.CacheConfig;
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.entity.Booking;
+import com.prj.booking.event.BookingChangedEvent;
+import com.prj.booking.repository.BookingRepository;
+import com.prj.booking.repository.PendingHold;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cancels bookings still PENDING {@code booking.hold.duration} after their creation, which releases
+ * their seats and capacity. Deadlines live in a {@link HoldTimingWheel}: a booking is added when its
+ * creation commits, and every pending booking is read back once at startup. A tick only looks at
+ * memory; the database is written when holds fall due, with one UPDATE per
+ * {@code booking.hold.batch-size} bookings. A replica tracks the holds it created plus those pending
+ * when it started; a hold expired by two replicas is cancelled once, the second UPDATE matching no row.
+ * Holds no live replica tracks (their creator stopped after starting them) are caught by a sweep of
+ * the table every {@code booking.hold.sweep-interval}.
+ */
+@Component
+@Slf4j
+public class BookingHoldExpiry {
+
+    private static final int REBUILD_CHUNK = 1000;
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final CacheManager cacheManager;
+    private final Duration holdDuration;
+    private final int batchSize;
+    private final boolean enabled;
+    private final HoldTimingWheel wheel;
+
+    public BookingHoldExpiry(BookingService bookingService,
+                             BookingRepository bookingRepository,
+                             CacheManager cacheManager,
+                             @Value("${booking.hold.duration:PT30M}") Duration holdDuration,
+                             @Value("${booking.hold.tick:PT1S}") Duration tick,
+                             @Value("${booking.hold.wheel-size:4096}") int wheelSize,
+                             @Value("${booking.hold.batch-size:500}") int batchSize,
+                             @Value("${booking.hold.enabled:true}") boolean enabled) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.cacheManager = cacheManager;
+        this.holdDuration = holdDuration;
+        this.batchSize = batchSize;
+        this.enabled = enabled;
+        this.wheel = new HoldTimingWheel(tick.toMillis(), wheelSize, System.currentTimeMillis());
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        BookingResponse booking = event.booking();
+        if (enabled && event.type() == BookingChangedEvent.Type.CREATED
+                && booking.getStatus() == Booking.BookingStatus.PENDING) {
+            wheel.schedule(booking.getId(), deadline(booking.getCreatedAt()));
+        }
+    }
+
+    /**
+     * Schedules every pending booking, read by id in chunks from the pending-holds index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long afterId = 0L;
+        int count = 0;
+        List<PendingHold> holds;
+        do {
+            holds = bookingRepository.findHoldsByStatusAfter(Booking.BookingStatus.PENDING, afterId,
+                    Limit.of(REBUILD_CHUNK));
+            for (PendingHold hold : holds) {
+                wheel.schedule(hold.id(), deadline(hold.createdAt()));
+                afterId = hold.id();
+            }
+            count += holds.size();
+        } while (holds.size() == REBUILD_CHUNK);
+        log.info("Tracking {} pending booking hold(s), expiring after {}", count, holdDuration);
+    }
+
+    /**
+     * Expires the pending bookings past their hold that no wheel tracks, read by id in chunks.
+     */
+    @Scheduled(initialDelayString = "${booking.hold.sweep-interval:PT5M}",
+            fixedDelayString = "${booking.hold.sweep-interval:PT5M}")
+    public void sweepOrphanedHolds() {
+        if (enabled) {
+            sweepHoldsCreatedBefore(LocalDateTime.now().minus(holdDuration));
+        }
+    }
+
+    /**
+     * @return the number of bookings cancelled
+     */
+    int sweepHoldsCreatedBefore(LocalDateTime createdBefore) {
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKINGS_CACHE);
+        long afterId = 0L;
+        int expired = 0;
+        List<PendingHold> holds;
+        do {
+            holds = bookingRepository.findHoldsCreatedBefore(Booking.BookingStatus.PENDING, createdBefore,
+                    afterId, Limit.of(batchSize));
+            if (holds.isEmpty()) {
+                break;
+            }
+            List<Long> ids = holds.stream().map(PendingHold::id).toList();
+            afterId = ids.get(ids.size() - 1);
+            try {
+                expired += expire(ids, createdBefore, cache);
+            } catch (RuntimeException e) {
+                log.warn("Could not expire {} orphaned booking hold(s), retrying at next sweep: {}", ids.size(),
+                        e.toString());
+            }
+        } while (holds.size() == batchSize);
+        if (expired > 0) {
+            log.info("Swept {} orphaned booking hold(s)", expired);
+        }
+        return expired;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.hold.tick:PT1S}")
+    public void expireDueHolds() {
+        if (enabled) {
+            expireHoldsDueBy(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Expires the holds due by {@code nowMillis}, one transaction per batch. A batch that fails is
+     * scheduled again after {@link #RETRY_DELAY}.
+     *
+     * @return the number of bookings cancelled
+     */
+    int expireHoldsDueBy(long nowMillis) {
+        long[] due = wheel.advance(nowMillis);
+        if (due.length == 0) {
+            return 0;
+        }
+        LocalDateTime createdBefore = toLocal(nowMillis).minus(holdDuration);
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKINGS_CACHE);
+        int expired = 0;
+        for (int from = 0; from < due.length; from += batchSize) {
+            List<Long> ids = Arrays.stream(due, from, Math.min(from + batchSize, due.length)).boxed().toList();
+            try {
+                expired += expire(ids, createdBefore, cache);
+            } catch (RuntimeException e) {
+                log.warn("Could not expire {} booking hold(s), retrying in {}: {}", ids.size(), RETRY_DELAY,
+                        e.toString());
+                long retryAt = nowMillis + RETRY_DELAY.toMillis();
+                ids.forEach(id -> wheel.schedule(id, retryAt));
+            }
+        }
+        log.debug("{} hold(s) due, {} expired, {} still tracked", due.length, expired, wheel.size());
+        return expired;
+    }
+
+    private int expire(List<Long> ids, LocalDateTime createdBefore, Cache cache) {
+        List<BookingResponse> cancelled = bookingService.expireHolds(ids, createdBefore);
+        if (cache != null) {
+            cancelled.forEach(booking -> cache.evict(booking.getId()));
+        }
+        return cancelled.size();
+    }
+
+    int trackedHolds() {
+        return wheel.size();
+    }
+
+    private long deadline(LocalDateTime createdAt) {
+        return createdAt.atZone(ZoneId.systemDefault()).toInstant().plus(holdDuration).toEpochMilli();
+    }
+
+    private static LocalDateTime toLocal(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,61 @@
+package com.prj.booking.service;
+
+import com.prj.booking.entity.Booking;
+import com.prj.booking.event.BookingChangedEvent;
+import com.prj.booking.event.BookingsExpiredEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Business counters fed by {@link BookingChangedEvent}s, counted once the change is committed:
+ * {@code booking.status.transitions} tagged with {@code from} and {@code to}, and {@code booking.changes}
+ * tagged with the event type. Every legal transition is registered up front so it is exported at zero.
+ */
+@Component
+public class BookingMetrics {
+
+    private final Map<Booking.BookingStatus, Map<Booking.BookingStatus, Counter>> transitions =
+            new EnumMap<>(Booking.BookingStatus.class);
+    private final Map<BookingChangedEvent.Type, Counter> changes = new EnumMap<>(BookingChangedEvent.Type.class);
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        for (Booking.BookingStatus target : Booking.BookingStatus.values()) {
+            for (Booking.BookingStatus source : target.allowedSources()) {
+                transitions.computeIfAbsent(source, s -> new EnumMap<>(Booking.BookingStatus.class))
+                        .put(target, Counter.builder("booking.status.transitions")
+                                .description("Committed booking status changes")
+                                .tag("from", source.name())
+                                .tag("to", target.name())
+                                .register(meterRegistry));
+            }
+        }
+        for (BookingChangedEvent.Type type : BookingChangedEvent.Type.values()) {
+            changes.put(type, Counter.builder("booking.changes")
+                    .description("Committed booking writes")
+                    .tag("type", type.name())
+                    .register(meterRegistry));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        changes.get(event.type()).increment();
+        if (event.type() == BookingChangedEvent.Type.STATUS_CHANGED && event.previousStatus() != null) {
+            Counter counter = transitions.getOrDefault(event.previousStatus(), Map.of())
+                    .get(event.booking().getStatus());
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingsExpired(BookingsExpiredEvent event) {
+        event.changes().forEach(this::onBookingChanged);
+    }
+}
@@ -1,129 +1,384 @@
 package com.prj.booking.service;
 
+import com.prj.booking.config.CacheConfig;
+import com.prj.booking.dto.BookingPageResponse;
 import com.prj.booking.dto.BookingRequest;
 import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.dto.SeatMapResponse;
 import com.prj.booking.entity.Booking;
+import com.prj.booking.entity.SeatReservation;
+import com.prj.booking.event.BookingChangedEvent;
+import com.prj.booking.event.BookingsExpiredEvent;
+import com.prj.booking.exception.BookingNotFoundException;
+import com.prj.booking.exception.InvalidStatusTransitionException;
 import com.prj.booking.repository.BookingRepository;
+import com.prj.booking.repository.BookingVersion;
+import com.prj.booking.repository.StatusTransition;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
+@Observed(name = "booking.service")
 public class BookingService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final BookingRepository bookingRepository;
+    private final SeatInventoryService seatInventoryService;
+    private final SeatMapIndex seatMapIndex;
+    private final FlightCapacityCounters flightCapacityCounters;
+    private final ApplicationEventPublisher eventPublisher;
 
     public BookingResponse createBooking(BookingRequest request) {
-        log.info("Creating booking for customer {} and flight {}", request.getCustomerId(), request.getFlightId());
-
-        Booking booking = new Booking();
-        booking.setCustomerId(request.getCustomerId());
-        booking.setFlightId(request.getFlightId());
-        booking.setNumberOfPassengers(request.getNumberOfPassengers());
-        booking.setTotalPrice(request.getTotalPrice());
-        booking.setDepartureDate(request.getDepartureDate());
-        booking.setSeatNumbers(request.getSeatNumbers());
-        booking.setNotes(request.getNotes());
-        booking.setStatus(Booking.BookingStatus.PENDING);
-        booking.setBookingDate(LocalDateTime.now());
+        log.debug("Creating booking for customer {} and flight {}", request.getCustomerId(), request.getFlightId());
 
-        Booking savedBooking = bookingRepository.save(booking);
+        List<String> seats = parseSeats(request);
+        flightCapacityCounters.acquire(request.getFlightId(), request.getNumberOfPassengers());
+        Booking savedBooking = bookingRepository.save(newBooking(request, seats));
+        seatInventoryService.reserve(savedBooking.getFlightId(), savedBooking.getId(), seats);
         log.info("Booking created with ID: {}", savedBooking.getId());
 
-        return mapToResponse(savedBooking);
+        BookingResponse response = mapToResponse(savedBooking);
+        eventPublisher.publishEvent(BookingChangedEvent.created(response));
+        return response;
+    }
+
+    /**
+     * Creates all bookings in one transaction: bookings and seat reservations are each written
+     * with batched inserts. Any failure rolls back the whole batch.
+     */
+    public List<BookingResponse> createBookings(List<BookingRequest> requests) {
+        log.debug("Creating {} bookings in batch", requests.size());
+
+        List<List<String>> seatsPerBooking = new ArrayList<>(requests.size());
+        List<Booking> bookings = new ArrayList<>(requests.size());
+        for (BookingRequest request : requests) {
+            List<String> seats = parseSeats(request);
+            flightCapacityCounters.acquire(request.getFlightId(), request.getNumberOfPassengers());
+            seatsPerBooking.add(seats);
+            bookings.add(newBooking(request, seats));
+        }
+
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        List<SeatReservation> reservations = new ArrayList<>();
+        for (int i = 0; i < savedBookings.size(); i++) {
+            Booking saved = savedBookings.get(i);
+            reservations.addAll(SeatInventoryService.reservations(saved.getFlightId(), saved.getId(), seatsPerBooking.get(i)));
+        }
+        seatInventoryService.reserveAll(reservations);
+        bookingRepository.flush();
+        log.info("Batch of {} bookings created", savedBookings.size());
+
+        List<BookingResponse> responses = new ArrayList<>(savedBookings.size());
+        for (Booking saved : savedBookings) {
+            BookingResponse response = mapToResponse(saved);
+            eventPublisher.publishEvent(BookingChangedEvent.created(response));
+            responses.add(response);
+        }
+        return responses;
     }
 
+    @Cacheable(cacheNames = CacheConfig.BOOKINGS_CACHE, key = "#id")
     @Transactional(readOnly = true)
     public BookingResponse getBookingById(Long id) {
-        log.info("Fetching booking with ID: {}", id);
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
-        return mapToResponse(booking);
+        log.debug("Fetching booking with ID: {}", id);
+        return bookingRepository.findResponseById(id)
+                .orElseThrow(() -> new BookingNotFoundException(id));
+    }
+
+    /**
+     * Drops the cached copy of a booking, such as one found to differ from the version in the database.
+     */
+    @CacheEvict(cacheNames = CacheConfig.BOOKINGS_CACHE, key = "#id")
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void evictCachedBooking(Long id) {
+        log.debug("Evicting cached booking {}", id);
     }
 
     @Transactional(readOnly = true)
-    public List<BookingResponse> getAllBookings() {
-        log.info("Fetching all bookings");
-        return bookingRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public BookingPageResponse<BookingResponse> getBookingsPage(Long afterId, Integer size) {
+        int pageSize = pageSize(size);
+        long cursor = afterId == null ? 0L : afterId;
+        log.debug("Fetching bookings after ID {} (page size {})", cursor, pageSize);
+
+        // One extra row tells us whether another page exists without a count query
+        List<BookingResponse> rows = bookingRepository.findResponsesAfter(cursor, Limit.of(pageSize + 1));
+        return page(rows, pageSize, BookingResponse::getId);
+    }
+
+    /**
+     * Same cursor page as {@link #getBookingsPage(Long, Integer)}, but only the given fields are selected.
+     */
+    @Transactional(readOnly = true)
+    public BookingPageResponse<Map<String, Object>> getBookingsPage(Long afterId, Integer size, Set<String> fields) {
+        int pageSize = pageSize(size);
+        long cursor = afterId == null ? 0L : afterId;
+        log.debug("Fetching fields {} of bookings after ID {} (page size {})", fields, cursor, pageSize);
+
+        List<Map<String, Object>> rows = bookingRepository.findFieldsAfter(cursor, fields, Limit.of(pageSize + 1));
+        return page(rows, pageSize, row -> (Long) row.get("id"));
+    }
+
+    /**
+     * ETags of the read endpoints, computed from version-only queries so that a conditional GET on an
+     * unchanged resource never reads the rows themselves.
+     */
+    @Transactional(readOnly = true)
+    public String getBookingETag(Long id) {
+        return bookingRepository.findVersionById(id)
+                .map(BookingETags::of)
+                .orElseThrow(() -> new BookingNotFoundException(id));
+    }
+
+    @Transactional(readOnly = true)
+    public String getBookingsPageETag(Long afterId, Integer size, Set<String> fields) {
+        long cursor = afterId == null ? 0L : afterId;
+        List<BookingVersion> versions = bookingRepository.findVersionsAfter(cursor, Limit.of(pageSize(size) + 1));
+        return BookingETags.ofVersions(versions, fields);
+    }
+
+    @Transactional(readOnly = true)
+    public String getBookingsETagByCustomerId(Long customerId, Set<String> fields) {
+        return BookingETags.ofVersions(bookingRepository.findVersionsByCustomerId(customerId), fields);
+    }
+
+    @Transactional(readOnly = true)
+    public String getBookingsETagByFlightId(Long flightId, Set<String> fields) {
+        return BookingETags.ofVersions(bookingRepository.findVersionsByFlightId(flightId), fields);
+    }
+
+    /**
+     * The list reads with their ETag taken from the rows loaded, for GETs without {@code If-None-Match}
+     * that would otherwise run the version-only query as well. The tags are those of the version-only
+     * methods above, so a later conditional GET still matches.
+     */
+    @Transactional(readOnly = true)
+    public ETagged<BookingPageResponse<?>> getBookingsPageWithETag(Long afterId, Integer size, Set<String> fields) {
+        int pageSize = pageSize(size);
+        long cursor = afterId == null ? 0L : afterId;
+        Limit limit = Limit.of(pageSize + 1);
+        if (fields.isEmpty()) {
+            List<BookingResponse> rows = bookingRepository.findResponsesAfter(cursor, limit);
+            return new ETagged<>(page(rows, pageSize, BookingResponse::getId), BookingETags.ofResponses(rows, fields));
+        }
+        List<Map<String, Object>> rows = bookingRepository.findFieldsAfter(cursor, withVersion(fields), limit);
+        String etag = tagFieldRows(rows, fields);
+        return new ETagged<>(page(rows, pageSize, row -> (Long) row.get("id")), etag);
+    }
+
+    @Transactional(readOnly = true)
+    public ETagged<List<?>> getBookingsByCustomerIdWithETag(Long customerId, Set<String> fields) {
+        if (fields.isEmpty()) {
+            List<BookingResponse> rows = bookingRepository.findResponsesByCustomerId(customerId);
+            return new ETagged<>(rows, BookingETags.ofResponses(rows, fields));
+        }
+        List<Map<String, Object>> rows = bookingRepository.findFieldsByCustomerId(customerId, withVersion(fields));
+        return new ETagged<>(rows, tagFieldRows(rows, fields));
+    }
+
+    @Transactional(readOnly = true)
+    public ETagged<List<?>> getBookingsByFlightIdWithETag(Long flightId, Set<String> fields) {
+        if (fields.isEmpty()) {
+            List<BookingResponse> rows = bookingRepository.findResponsesByFlightId(flightId);
+            return new ETagged<>(rows, BookingETags.ofResponses(rows, fields));
+        }
+        List<Map<String, Object>> rows = bookingRepository.findFieldsByFlightId(flightId, withVersion(fields));
+        return new ETagged<>(rows, tagFieldRows(rows, fields));
+    }
+
+    /**
+     * Streams every booking in id order to the given consumer. Rows are read through a
+     * server-side cursor straight into responses, so no entity enters the persistence context.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllBookings(Consumer<BookingResponse> consumer) {
+        log.debug("Streaming all bookings");
+        try (Stream<BookingResponse> bookings = bookingRepository.streamResponses()) {
+            bookings.forEach(consumer);
+        }
     }
 
     @Transactional(readOnly = true)
     public List<BookingResponse> getBookingsByCustomerId(Long customerId) {
-        log.info("Fetching bookings for customer: {}", customerId);
-        return bookingRepository.findByCustomerId(customerId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        log.debug("Fetching bookings for customer: {}", customerId);
+        return bookingRepository.findResponsesByCustomerId(customerId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getBookingsByCustomerId(Long customerId, Set<String> fields) {
+        log.debug("Fetching fields {} of bookings for customer: {}", fields, customerId);
+        return bookingRepository.findFieldsByCustomerId(customerId, fields);
     }
 
     @Transactional(readOnly = true)
     public List<BookingResponse> getBookingsByFlightId(Long flightId) {
-        log.info("Fetching bookings for flight: {}", flightId);
-        return bookingRepository.findByFlightId(flightId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        log.debug("Fetching bookings for flight: {}", flightId);
+        return bookingRepository.findResponsesByFlightId(flightId);
     }
 
-    public BookingResponse updateBookingStatus(Long id, Booking.BookingStatus status) {
-        log.info("Updating booking {} status to {}", id, status);
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getBookingsByFlightId(Long flightId, Set<String> fields) {
+        log.debug("Fetching fields {} of bookings for flight: {}", fields, flightId);
+        return bookingRepository.findFieldsByFlightId(flightId, fields);
+    }
 
-        booking.setStatus(status);
-        Booking updatedBooking = bookingRepository.save(booking);
+    @CacheEvict(cacheNames = CacheConfig.BOOKINGS_CACHE, key = "#id")
+    public BookingResponse updateBookingStatus(Long id, Booking.BookingStatus status) {
+        log.debug("Updating booking {} status to {}", id, status);
+        BookingResponse response = transition(id, status, null);
         log.info("Booking {} status updated to {}", id, status);
-
-        return mapToResponse(updatedBooking);
+        return response;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKINGS_CACHE, key = "#id")
     public BookingResponse confirmBooking(Long id, String paymentId) {
-        log.info("Confirming booking {} with payment ID: {}", id, paymentId);
-        Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
-
-        booking.setStatus(Booking.BookingStatus.CONFIRMED);
-        booking.setPaymentId(paymentId);
-        Booking confirmedBooking = bookingRepository.save(booking);
+        log.debug("Confirming booking {} with payment ID: {}", id, paymentId);
+        BookingResponse response = transition(id, Booking.BookingStatus.CONFIRMED, paymentId);
         log.info("Booking {} confirmed", id);
-
-        return mapToResponse(confirmedBooking);
+        return response;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKINGS_CACHE, key = "#id")
     public BookingResponse cancelBooking(Long id) {
-        log.info("Cancelling booking: {}", id);
+        log.debug("Cancelling booking: {}", id);
+        BookingResponse response = transition(id, Booking.BookingStatus.CANCELLED, null);
+        log.info("Booking {} cancelled", id);
+        return response;
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.BOOKINGS_CACHE, key = "#id")
+    public void deleteBooking(Long id) {
+        log.debug("Deleting booking: {}", id);
         Booking booking = bookingRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + id));
+                .orElseThrow(() -> new BookingNotFoundException(id));
+        seatInventoryService.release(id);
+        bookingRepository.delete(booking);
+        log.info("Booking {} deleted", id);
 
-        if (booking.getStatus() == Booking.BookingStatus.CANCELLED) {
-            throw new RuntimeException("Booking is already cancelled");
+        eventPublisher.publishEvent(BookingChangedEvent.deleted(mapToResponse(booking)));
+    }
+
+    /**
+     * Cancels those of the given bookings that are still pending and were created at or before
+     * {@code createdBefore}, with one UPDATE and one seat DELETE for the whole batch, and publishes a single
+     * {@link BookingsExpiredEvent}. The caller evicts
+     * the cached entries once this transaction has committed.
+     */
+    public List<BookingResponse> expireHolds(Collection<Long> ids, LocalDateTime createdBefore) {
+        List<Booking> expired = bookingRepository.expirePendingHolds(ids, createdBefore);
+        if (expired.isEmpty()) {
+            return List.of();
         }
+        seatInventoryService.releaseAll(expired.stream().map(Booking::getId).toList());
 
-        booking.setStatus(Booking.BookingStatus.CANCELLED);
-        Booking cancelledBooking = bookingRepository.save(booking);
-        log.info("Booking {} cancelled", id);
+        List<BookingResponse> responses = expired.stream().map(BookingService::mapToResponse).toList();
+        eventPublisher.publishEvent(new BookingsExpiredEvent(responses));
+        log.info("Expired {} unpaid pending booking(s)", responses.size());
+        return responses;
+    }
 
-        return mapToResponse(cancelledBooking);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public SeatMapResponse getSeatMap(Long flightId) {
+        return seatMapIndex.getSeatMap(flightId);
     }
 
-    public void deleteBooking(Long id) {
-        log.info("Deleting booking: {}", id);
-        if (!bookingRepository.existsById(id)) {
-            throw new RuntimeException("Booking not found with id: " + id);
+    /**
+     * Applies a status change with one conditional UPDATE. Only when it matches no row is the booking
+     * read again, to tell a missing booking (404) from a stale or illegal transition (409).
+     */
+    private BookingResponse transition(Long id, Booking.BookingStatus target, String paymentId) {
+        StatusTransition transition = bookingRepository.transitionStatus(id, target, paymentId)
+                .orElseThrow(() -> rejectedTransition(id, target));
+        if (target == Booking.BookingStatus.CANCELLED) {
+            seatInventoryService.release(id);
         }
-        bookingRepository.deleteById(id);
-        log.info("Booking {} deleted", id);
+
+        BookingResponse response = mapToResponse(transition.booking());
+        eventPublisher.publishEvent(BookingChangedEvent.statusChanged(response, transition.previousStatus()));
+        return response;
+    }
+
+    private InvalidStatusTransitionException rejectedTransition(Long id, Booking.BookingStatus target) {
+        Booking.BookingStatus current = bookingRepository.findStatusById(id)
+                .orElseThrow(() -> new BookingNotFoundException(id));
+        return new InvalidStatusTransitionException(id, current, target);
+    }
+
+    private static int pageSize(Integer size) {
+        return size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    private static Set<String> withVersion(Set<String> fields) {
+        Set<String> selected = new LinkedHashSet<>(fields);
+        selected.add("version");
+        return selected;
+    }
+
+    /**
+     * Tags rows read with {@link #withVersion}, then drops the version from those that did not ask for it.
+     */
+    private static String tagFieldRows(List<Map<String, Object>> rows, Set<String> fields) {
+        String etag = BookingETags.ofFieldRows(rows, fields);
+        if (!fields.contains("version")) {
+            rows.forEach(row -> row.remove("version"));
+        }
+        return etag;
+    }
+
+    private static <T> BookingPageResponse<T> page(List<T> rows, int pageSize, Function<T, Long> id) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> content = hasNext ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = hasNext ? id.apply(content.get(content.size() - 1)) : null;
+        return new BookingPageResponse<>(content, content.size(), nextCursor);
+    }
+
+    private List<String> parseSeats(BookingRequest request) {
+        List<String> seats = SeatNumbers.parse(request.getSeatNumbers());
+        if (!seats.isEmpty() && seats.size() != request.getNumberOfPassengers()) {
+            throw new IllegalArgumentException("Expected " + request.getNumberOfPassengers()
+                    + " seat(s) but got " + seats.size());
+        }
+        return seats;
+    }
+
+    private Booking newBooking(BookingRequest request, List<String> seats) {
+        Booking booking = new Booking();
+        booking.setCustomerId(request.getCustomerId());
+        booking.setFlightId(request.getFlightId());
+        booking.setNumberOfPassengers(request.getNumberOfPassengers());
+        booking.setTotalPrice(request.getTotalPrice());
+        booking.setDepartureDate(request.getDepartureDate());
+        booking.setSeatNumbers(seats.isEmpty() ? null : String.join(",", seats));
+        booking.setNotes(request.getNotes());
+        booking.setStatus(Booking.BookingStatus.PENDING);
+        booking.setBookingDate(LocalDateTime.now());
+        return booking;
     }
 
-    private BookingResponse mapToResponse(Booking booking) {
+    static BookingResponse mapToResponse(Booking booking) {
         BookingResponse response = new BookingResponse();
         response.setId(booking.getId());
         response.setCustomerId(booking.getCustomerId());
@@ -138,6 +393,7 @@ public class BookingService {
         response.setNotes(booking.getNotes());
         response.setCreatedAt(booking.getCreatedAt());
         response.setUpdatedAt(booking.getUpdatedAt());
+        response.setVersion(booking.getVersion());
         return response;
     }
 }
@@ -0,0 +1,128 @@
+package com.prj.booking.service;
+
+import com.prj.booking.client.CustomerClient;
+import com.prj.booking.client.FlightClient;
+import com.prj.booking.client.FlightInfo;
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.exception.InvalidBookingException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Checks booking requests against the services that own their references instead of trusting the
+ * client: the flight must exist, not be cancelled and cost {@code totalPrice} for the requested
+ * passengers, and the customer must exist. There is one call per distinct flight and customer, all
+ * sent at once, so a check takes as long as the slowest call. It runs before the booking transaction
+ * so that no database connection is held while waiting. The capacity of every flight found is passed
+ * to {@link FlightCapacityCounters}.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingValidator {
+
+    private static final double PRICE_TOLERANCE = 0.005;
+
+    private final FlightClient flightClient;
+    private final CustomerClient customerClient;
+    private final FlightCapacityCounters flightCapacityCounters;
+
+    /**
+     * @throws InvalidBookingException if a service rejects the request
+     * @throws com.prj.booking.exception.DependencyUnavailableException if a service cannot answer
+     */
+    public void validate(BookingRequest request) {
+        String error = await(check(List.of(request))).get(0);
+        if (error != null) {
+            throw new InvalidBookingException(error);
+        }
+    }
+
+    public CompletableFuture<Void> validateAsync(BookingRequest request) {
+        return check(List.of(request)).thenAccept(errors -> {
+            if (errors.get(0) != null) {
+                throw new InvalidBookingException(errors.get(0));
+            }
+        });
+    }
+
+    /**
+     * One entry per request: null when it is valid, otherwise the reason it is not.
+     */
+    public List<String> validateAll(List<BookingRequest> requests) {
+        return await(check(requests));
+    }
+
+    private CompletableFuture<List<String>> check(List<BookingRequest> requests) {
+        Map<Long, CompletableFuture<Optional<FlightInfo>>> flights = new HashMap<>();
+        Map<Long, CompletableFuture<Boolean>> customers = new HashMap<>();
+        for (BookingRequest request : requests) {
+            if (flightClient.isEnabled()) {
+                flights.computeIfAbsent(request.getFlightId(), flightClient::getFlight);
+            }
+            if (customerClient.isEnabled()) {
+                customers.computeIfAbsent(request.getCustomerId(), customerClient::exists);
+            }
+        }
+
+        List<CompletableFuture<?>> calls = new ArrayList<>(flights.values());
+        calls.addAll(customers.values());
+        return CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).thenApply(done -> {
+            flights.values().forEach(flight -> flight.join().ifPresent(this::trackCapacity));
+            List<String> errors = new ArrayList<>(requests.size());
+            for (BookingRequest request : requests) {
+                errors.add(error(request, flights.get(request.getFlightId()), customers.get(request.getCustomerId())));
+            }
+            return errors;
+        });
+    }
+
+    private void trackCapacity(FlightInfo flight) {
+        if (flight.totalSeats() != null && flight.departureTime() != null && !flight.isCancelled()) {
+            flightCapacityCounters.track(flight.id(), flight.totalSeats(), flight.departureTime());
+        }
+    }
+
+    private static String error(BookingRequest request,
+                                CompletableFuture<Optional<FlightInfo>> flight,
+                                CompletableFuture<Boolean> customer) {
+        if (customer != null && !customer.join()) {
+            return "Customer " + request.getCustomerId() + " not found";
+        }
+        if (flight == null) {
+            return null;
+        }
+        Optional<FlightInfo> found = flight.join();
+        if (found.isEmpty()) {
+            return "Flight " + request.getFlightId() + " not found";
+        }
+        FlightInfo info = found.get();
+        if (info.isCancelled()) {
+            return "Flight " + info.flightNumber() + " is cancelled";
+        }
+        if (info.price() != null
+                && Math.abs(info.price() * request.getNumberOfPassengers() - request.getTotalPrice()) > PRICE_TOLERANCE) {
+            return "Total price " + request.getTotalPrice() + " does not match " + request.getNumberOfPassengers()
+                    + " passenger(s) at " + info.price();
+        }
+        return null;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
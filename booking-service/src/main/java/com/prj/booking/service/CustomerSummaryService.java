@@ -0,0 +1,178 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.dto.CustomerBookingSummaryResponse;
+import com.prj.booking.entity.Booking;
+import com.prj.booking.entity.CustomerBookingSummary;
+import com.prj.booking.event.BookingChangedEvent;
+import com.prj.booking.event.BookingsExpiredEvent;
+import com.prj.booking.repository.BookingRepository;
+import com.prj.booking.repository.CustomerBookingSummaryRepository;
+import com.prj.booking.repository.CustomerSummaryUpdates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Maintains the per-customer booking summary. Every booking change is applied as a delta in the
+ * transaction that made it, so the summary endpoint is a primary-key lookup instead of loading all
+ * of the customer's bookings.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional
+public class CustomerSummaryService {
+
+    private static final int REBUILD_CHUNK = 500;
+
+    private static final Set<Booking.BookingStatus> ACTIVE =
+            EnumSet.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED);
+
+    private final CustomerBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        BookingResponse booking = event.booking();
+        Long customerId = booking.getCustomerId();
+        Booking.BookingStatus status = booking.getStatus();
+
+        switch (event.type()) {
+            case CREATED -> summaryRepository.applyDelta(customerId, null, status, spent(status, booking),
+                    ACTIVE.contains(status) ? upcoming(booking.getDepartureDate()) : null);
+            case STATUS_CHANGED -> {
+                Booking.BookingStatus previous = event.previousStatus();
+                summaryRepository.applyDelta(customerId, previous, status,
+                        spent(status, booking) - spent(previous, booking), null);
+                if (ACTIVE.contains(previous) && !ACTIVE.contains(status)) {
+                    refreshNextDeparture(customerId, booking.getDepartureDate());
+                }
+            }
+            case DELETED -> {
+                summaryRepository.applyDelta(customerId, status, null, -spent(status, booking), null);
+                if (ACTIVE.contains(status)) {
+                    refreshNextDeparture(customerId, booking.getDepartureDate());
+                }
+            }
+        }
+    }
+
+    /**
+     * The batch's deltas are summed per customer and written with one statement, then each customer's next
+     * departure is looked up again at most once.
+     */
+    @EventListener
+    public void onBookingsExpired(BookingsExpiredEvent event) {
+        SortedMap<Long, CustomerSummaryUpdates.Delta> deltas = new TreeMap<>();
+        Map<Long, LocalDateTime> departures = new HashMap<>();
+        for (BookingResponse booking : event.bookings()) {
+            double spent = spent(Booking.BookingStatus.CANCELLED, booking) - spent(Booking.BookingStatus.PENDING, booking);
+            deltas.merge(booking.getCustomerId(), new CustomerSummaryUpdates.Delta(1, spent),
+                    CustomerSummaryUpdates.Delta::plus);
+            LocalDateTime departure = upcoming(booking.getDepartureDate());
+            if (departure != null) {
+                departures.merge(booking.getCustomerId(), departure, (a, b) -> a.isBefore(b) ? a : b);
+            }
+        }
+        summaryRepository.applyDeltas(Booking.BookingStatus.PENDING, Booking.BookingStatus.CANCELLED, deltas);
+        departures.forEach(this::refreshNextDeparture);
+    }
+
+    public CustomerBookingSummaryResponse getSummary(Long customerId) {
+        CustomerBookingSummary summary = summaryRepository.findById(customerId)
+                .orElseGet(() -> CustomerBookingSummary.empty(customerId));
+
+        LocalDateTime now = LocalDateTime.now();
+        if (summary.getNextDeparture() != null && !summary.getNextDeparture().isAfter(now)) {
+            // The next trip has left since the last write: move on to the following one
+            LocalDateTime next = bookingRepository.findNextDeparture(customerId, ACTIVE, now).orElse(null);
+            summaryRepository.updateNextDeparture(customerId, next, now);
+            summary.setNextDeparture(next);
+        }
+        return mapToResponse(summary);
+    }
+
+    /**
+     * Regenerates all summaries from the bookings table, e.g. after a data fix made outside the service.
+     * Customers are rebuilt {@link #REBUILD_CHUNK} at a time, one transaction each, so booking writes only
+     * ever wait for the chunk holding their customer.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuild() {
+        log.info("Rebuilding customer booking summaries");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        LocalDateTime now = LocalDateTime.now();
+        long afterId = Long.MIN_VALUE;
+        int customers = 0;
+        List<Long> customerIds;
+        do {
+            customerIds = bookingRepository.findCustomerIdsAfter(afterId, Limit.of(REBUILD_CHUNK));
+            // The last range is left open so summaries past the last booking's customer are removed too
+            long from = afterId;
+            long upTo = customerIds.size() == REBUILD_CHUNK ? customerIds.get(REBUILD_CHUNK - 1) : Long.MAX_VALUE;
+            Integer rebuilt = transactionTemplate.execute(status -> summaryRepository.rebuildRange(from, upTo, now));
+            customers += rebuilt == null ? 0 : rebuilt;
+            afterId = upTo;
+        } while (customerIds.size() == REBUILD_CHUNK);
+        log.info("Rebuilt booking summaries for {} customers", customers);
+        return customers;
+    }
+
+    @Scheduled(cron = "${booking.summary.rebuild-cron:-}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Only a booking that may have been the next departure requires a new lookup.
+     */
+    private void refreshNextDeparture(Long customerId, LocalDateTime departure) {
+        if (departure == null || !departure.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        CustomerBookingSummary summary = summaryRepository.findById(customerId).orElse(null);
+        if (summary != null && departure.equals(summary.getNextDeparture())) {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime next = bookingRepository.findNextDeparture(customerId, ACTIVE, now).orElse(null);
+            summaryRepository.updateNextDeparture(customerId, next, now);
+        }
+    }
+
+    private static double spent(Booking.BookingStatus status, BookingResponse booking) {
+        return status == Booking.BookingStatus.CANCELLED ? 0.0 : booking.getTotalPrice();
+    }
+
+    private static LocalDateTime upcoming(LocalDateTime departure) {
+        return departure != null && departure.isAfter(LocalDateTime.now()) ? departure : null;
+    }
+
+    private static CustomerBookingSummaryResponse mapToResponse(CustomerBookingSummary summary) {
+        Map<Booking.BookingStatus, Long> counts = new EnumMap<>(Booking.BookingStatus.class);
+        long total = 0;
+        for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
+            counts.put(status, summary.countOf(status));
+            total += summary.countOf(status);
+        }
+        return new CustomerBookingSummaryResponse(summary.getCustomerId(), total, counts,
+                summary.getTotalSpent(), summary.getNextDeparture());
+    }
+}
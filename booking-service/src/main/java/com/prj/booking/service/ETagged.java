@@ -0,0 +1,7 @@
+package com.prj.booking.service;
+
+/**
+ * A read result with the ETag computed from the rows it was built from.
+ */
+public record ETagged<T>(T body, String etag) {
+}
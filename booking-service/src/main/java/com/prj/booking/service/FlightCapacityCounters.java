@@ -0,0 +1,251 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.FlightCapacityResponse;
+import com.prj.booking.entity.Booking;
+import com.prj.booking.event.BookingChangedEvent;
+import com.prj.booking.event.BookingsExpiredEvent;
+import com.prj.booking.exception.FlightFullException;
+import com.prj.booking.repository.BookingRepository;
+import com.prj.booking.repository.FlightSeats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remaining seats per flight, taken with a compare-and-set loop so that admitting a booking costs no
+ * query and no lock. Capacity is flight-service's {@code totalSeats}, reported by {@link BookingValidator}
+ * each time it fetches the flight; a flight is loaded the first time it is reported, with the seats held
+ * by its bookings. Flights flight-service has not reported (its client is disabled) are not limited.
+ * <p>
+ * Seats taken inside a transaction are given back if it rolls back; cancellations and deletions give
+ * them back once committed. Every {@code booking.capacity.reconcile-interval} the counters are
+ * recomputed from the database, which corrects writes made by other replicas. Counters of departed
+ * flights, and of flights not booked for {@code booking.capacity.idle-after}, are dropped then.
+ * Between two reconciliations each replica admits against its own counters.
+ */
+@Component
+@Slf4j
+public class FlightCapacityCounters {
+
+    private static final int RECONCILE_CHUNK = 1000;
+    private static final Set<Booking.BookingStatus> HOLDING_STATUSES =
+            EnumSet.complementOf(EnumSet.of(Booking.BookingStatus.CANCELLED));
+
+    private final BookingRepository bookingRepository;
+    private final long idleAfterNanos;
+    private final ConcurrentHashMap<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    public FlightCapacityCounters(BookingRepository bookingRepository,
+                                  @Value("${booking.capacity.idle-after:PT24H}") Duration idleAfter) {
+        this.bookingRepository = bookingRepository;
+        this.idleAfterNanos = idleAfter.toNanos();
+    }
+
+    /**
+     * Records the capacity flight-service reports for a flight. A flight seen for the first time is
+     * loaded; a changed capacity is applied with a reconciliation of that flight.
+     */
+    public void track(Long flightId, int totalSeats, LocalDateTime departureTime) {
+        Counter counter = counters.get(flightId);
+        if (counter == null) {
+            // Loaded outside the map so the query never holds a bin lock shared with other flights;
+            // concurrent loaders of the same flight keep whichever counter is installed first
+            counter = counters.putIfAbsent(flightId, load(flightId, totalSeats, departureTime));
+            if (counter == null) {
+                return;
+            }
+        }
+        counter.departureTime = departureTime;
+        counter.touch();
+        if (counter.capacity != totalSeats) {
+            counter.capacity = totalSeats;
+            reconcile(List.of(flightId));
+            log.info("Capacity of flight {} is now {} seats", flightId, totalSeats);
+        }
+    }
+
+    /**
+     * Takes {@code seats} seats on the flight or throws {@link FlightFullException}. Within a
+     * transaction, the seats are given back if it does not commit. Untracked flights are admitted.
+     */
+    public void acquire(Long flightId, int seats) {
+        Counter counter = counters.get(flightId);
+        if (counter == null) {
+            return;
+        }
+        counter.touch();
+        if (!counter.tryAcquire(seats)) {
+            throw new FlightFullException(flightId, counter.remaining.get(), seats);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    counter.complete(seats, status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            counter.complete(seats, true);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        Booking.BookingStatus previous = event.previousStatus();
+        if (event.holdsSeats() || previous == null || previous == Booking.BookingStatus.CANCELLED) {
+            return;
+        }
+        Counter counter = counters.get(event.booking().getFlightId());
+        if (counter != null) {
+            counter.release(event.booking().getNumberOfPassengers());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onBookingsExpired(BookingsExpiredEvent event) {
+        event.changes().forEach(this::onBookingChanged);
+    }
+
+    public FlightCapacityResponse getCapacity(Long flightId) {
+        Counter counter = counters.get(flightId);
+        return counter == null ? new FlightCapacityResponse(flightId, null, null) : counter.toResponse(flightId);
+    }
+
+    @Scheduled(initialDelayString = "${booking.capacity.reconcile-interval:PT5M}",
+            fixedDelayString = "${booking.capacity.reconcile-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void reconcileAll() {
+        LocalDateTime now = LocalDateTime.now();
+        long nowNanos = System.nanoTime();
+        int evicted = 0;
+        List<Long> flightIds = new ArrayList<>(counters.size());
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            Counter counter = entry.getValue();
+            if (counter.departureTime.isBefore(now) || nowNanos - counter.lastUsedNanos > idleAfterNanos) {
+                counters.remove(entry.getKey(), counter);
+                evicted++;
+            } else {
+                flightIds.add(entry.getKey());
+            }
+        }
+        for (int from = 0; from < flightIds.size(); from += RECONCILE_CHUNK) {
+            reconcile(flightIds.subList(from, Math.min(from + RECONCILE_CHUNK, flightIds.size())));
+        }
+        log.debug("Reconciled capacity counters of {} flight(s), dropped {}", flightIds.size(), evicted);
+    }
+
+    private void reconcile(List<Long> flightIds) {
+        List<Counter> snapshot = new ArrayList<>(flightIds.size());
+        for (Long flightId : flightIds) {
+            Counter counter = counters.get(flightId);
+            if (counter != null) {
+                counter.beginSnapshot();
+            }
+            snapshot.add(counter);
+        }
+        Map<Long, Long> held = new HashMap<>();
+        bookingRepository.sumSeatsByFlightIds(flightIds, HOLDING_STATUSES)
+                .forEach(seats -> held.put(seats.flightId(), seats.seats()));
+
+        for (int i = 0; i < flightIds.size(); i++) {
+            if (snapshot.get(i) != null) {
+                snapshot.get(i).reconcile(held.getOrDefault(flightIds.get(i), 0L));
+            }
+        }
+    }
+
+    private Counter load(Long flightId, int totalSeats, LocalDateTime departureTime) {
+        Counter counter = new Counter(totalSeats, departureTime);
+        counter.beginSnapshot();
+        long held = bookingRepository.sumSeatsByFlightIds(List.of(flightId), HOLDING_STATUSES).stream()
+                .mapToLong(FlightSeats::seats)
+                .sum();
+        counter.reconcile(held);
+        return counter;
+    }
+
+    /**
+     * Seats are counted as in flight from just before they are taken until their transaction
+     * completes, and a reconciliation subtracts them from what the database reports as held. Commits
+     * made while the database is being read are subtracted as well: they may be counted twice, which
+     * only ever under-admits until the next reconciliation.
+     */
+    private static final class Counter {
+
+        private final AtomicInteger remaining = new AtomicInteger();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger committedSinceSnapshot = new AtomicInteger();
+        private volatile int capacity;
+        private volatile LocalDateTime departureTime;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        Counter(int capacity, LocalDateTime departureTime) {
+            this.capacity = capacity;
+            this.departureTime = departureTime;
+        }
+
+        void touch() {
+            lastUsedNanos = System.nanoTime();
+        }
+
+        boolean tryAcquire(int seats) {
+            inFlight.addAndGet(seats);
+            int current;
+            do {
+                current = remaining.get();
+                if (current < seats) {
+                    inFlight.addAndGet(-seats);
+                    return false;
+                }
+            } while (!remaining.compareAndSet(current, current - seats));
+            return true;
+        }
+
+        void complete(int seats, boolean committed) {
+            if (committed) {
+                committedSinceSnapshot.addAndGet(seats);
+            } else {
+                remaining.addAndGet(seats);
+            }
+            inFlight.addAndGet(-seats);
+        }
+
+        void release(int seats) {
+            remaining.addAndGet(seats);
+        }
+
+        void beginSnapshot() {
+            committedSinceSnapshot.set(0);
+        }
+
+        void reconcile(long held) {
+            // Retried when a booking takes seats meanwhile, so that its in-flight seats are read again
+            int current;
+            int target;
+            do {
+                current = remaining.get();
+                target = (int) Math.max(Integer.MIN_VALUE, capacity - held - inFlight.get() - committedSinceSnapshot.get());
+            } while (!remaining.compareAndSet(current, target));
+        }
+
+        FlightCapacityResponse toResponse(Long flightId) {
+            return new FlightCapacityResponse(flightId, capacity, Math.max(0, remaining.get()));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.prj.booking.service;
+
+import java.util.Arrays;
+
+/**
+ * Hashed timing wheel of booking ids keyed by deadline. A deadline is rounded up to a tick and stored
+ * in slot {@code tick % wheelSize} with its tick, so scheduling is O(1) whatever the number of
+ * entries; deadlines more than one revolution away stay in their slot until their own tick comes round.
+ * Entries are never removed before they are due: ids whose booking was confirmed or cancelled
+ * meanwhile are returned too and left to the caller to skip. Ids are kept in primitive arrays, 16 bytes
+ * per entry.
+ */
+final class HoldTimingWheel {
+
+    private final long tickMillis;
+    private final Slot[] slots;
+    private final int mask;
+    private long processedTick;
+    private int size;
+
+    /**
+     * @param wheelSize number of slots, rounded up to a power of two
+     */
+    HoldTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        int slotCount = Integer.highestOneBit(wheelSize - 1) << 1;
+        this.tickMillis = tickMillis;
+        this.slots = new Slot[Math.max(slotCount, 1)];
+        this.mask = slots.length - 1;
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = new Slot();
+        }
+        this.processedTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Deadlines already passed are due at the next {@link #advance}.
+     */
+    synchronized void schedule(long id, long deadlineMillis) {
+        long tick = Math.max(-Math.floorDiv(-deadlineMillis, tickMillis), processedTick + 1);
+        slots[(int) (tick & mask)].add(id, tick);
+        size++;
+    }
+
+    /**
+     * Removes and returns the ids due by {@code nowMillis}. Each slot is visited at most once, however
+     * long ago the previous call was.
+     */
+    synchronized long[] advance(long nowMillis) {
+        long nowTick = Math.floorDiv(nowMillis, tickMillis);
+        long from = Math.max(processedTick + 1, nowTick - mask);
+        Slot due = new Slot();
+        for (long tick = from; tick <= nowTick; tick++) {
+            slots[(int) (tick & mask)].drainTo(due, nowTick);
+        }
+        processedTick = Math.max(processedTick, nowTick);
+        size -= due.size;
+        return Arrays.copyOf(due.ids, due.size);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private static final class Slot {
+
+        private static final int INITIAL_CAPACITY = 8;
+
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private long[] ticks = new long[INITIAL_CAPACITY];
+        private int size;
+
+        void add(long id, long tick) {
+            if (size == ids.length) {
+                resize(size * 2);
+            }
+            ids[size] = id;
+            ticks[size] = tick;
+            size++;
+        }
+
+        /**
+         * Moves the entries due by {@code nowTick} to {@code due} and compacts the others in place.
+         */
+        void drainTo(Slot due, long nowTick) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (ticks[i] <= nowTick) {
+                    due.add(ids[i], ticks[i]);
+                } else {
+                    ids[kept] = ids[i];
+                    ticks[kept] = ticks[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            // Give back the memory of a burst once it has expired
+            if (ids.length > INITIAL_CAPACITY && size < ids.length / 4) {
+                resize(Math.max(INITIAL_CAPACITY, size * 2));
+            }
+        }
+
+        private void resize(int capacity) {
+            ids = Arrays.copyOf(ids, capacity);
+            ticks = Arrays.copyOf(ticks, capacity);
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.prj.booking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.prj.booking.entity.IdempotencyRecord;
+import com.prj.booking.exception.IdempotencyKeyInUseException;
+import com.prj.booking.exception.IdempotencyKeyReusedException;
+import com.prj.booking.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Responses of the writes sent with an {@code Idempotency-Key} header, kept in the {@code idempotency_keys}
+ * table shared by every instance for {@code booking.idempotency.ttl}. A key belongs to a scope, such as the
+ * customer of a new booking, and is compared by the SHA-256 of the request's JSON. A retry with the same
+ * key and body gets the stored response back without running the write again, whichever instance it
+ * reaches. The key is claimed before the write runs, so a duplicate arriving meanwhile is rejected with
+ * 409 rather than run twice; a write that fails releases its key and can be retried. A claim whose
+ * instance stops before answering lapses after {@code booking.idempotency.pending-timeout}. Expired
+ * records are purged every {@code booking.idempotency.purge-interval}.
+ * <p>
+ * Completed responses are also kept in memory, at most {@code booking.idempotency.maximum-size} of them, so
+ * a retry that reaches the instance which answered first is replayed without a query.
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final TypeReference<Map<String, List<String>>> HEADERS = new TypeReference<>() {
+    };
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+    private final Cache<Claim.Key, Completed> completed;
+
+    public IdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            @Value("${booking.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${booking.idempotency.pending-timeout:PT1M}") Duration pendingTimeout,
+                            @Value("${booking.idempotency.maximum-size:10000}") long maximumSize) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.pendingTimeout = pendingTimeout;
+        this.completed = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    /**
+     * Runs {@code action} once per key and {@code scope}; {@code request} identifies the write the key was
+     * first used for and {@code bodyType} is the type of the response body. Without a key, {@code action}
+     * simply runs.
+     *
+     * @throws IdempotencyKeyInUseException if the key's first request has not completed yet
+     * @throws IdempotencyKeyReusedException if the key was used for a different request
+     */
+    public <T> ResponseEntity<T> execute(String key, String scope, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        checkKey(key);
+        String digest = digest(request);
+        ResponseEntity<T> local = replayLocal(key, scope, digest);
+        if (local != null) {
+            return local;
+        }
+        Claim claim = claim(key, scope, digest);
+        if (claim == null) {
+            return replay(key, scope, digest, bodyType);
+        }
+        try {
+            ResponseEntity<T> response = action.get();
+            complete(claim, response);
+            return response;
+        } finally {
+            release(claim);
+        }
+    }
+
+    /**
+     * {@link #execute} for the reactive profile; the key is also released if the request is cancelled. The
+     * table is read and written off the caller's thread.
+     */
+    public <T> Mono<ResponseEntity<T>> executeAsync(String key, String scope, Object request, Class<T> bodyType,
+                                                    Supplier<Mono<ResponseEntity<T>>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        return Mono.defer(() -> {
+            checkKey(key);
+            String digest = digest(request);
+            ResponseEntity<T> local = replayLocal(key, scope, digest);
+            if (local != null) {
+                return Mono.just(local);
+            }
+            return blocking(() -> Optional.ofNullable(claim(key, scope, digest))).flatMap(claim -> claim.isEmpty()
+                    ? blocking(() -> replay(key, scope, digest, bodyType))
+                    : action.get()
+                            .flatMap(response -> blocking(() -> {
+                                complete(claim.get(), response);
+                                return response;
+                            }))
+                            .doFinally(signal -> Schedulers.boundedElastic().schedule(() -> release(claim.get()))));
+        });
+    }
+
+    @Scheduled(initialDelayString = "${booking.idempotency.purge-interval:PT10M}",
+            fixedDelayString = "${booking.idempotency.purge-interval:PT10M}")
+    public void purgeExpired() {
+        Integer purged = transactionTemplate.execute(status -> idempotencyRecordRepository.deleteExpired(now()));
+        log.debug("Purged {} expired idempotency key(s)", purged);
+    }
+
+    /**
+     * @return the claim, or null if the key is already held
+     */
+    private Claim claim(String key, String scope, String digest) {
+        LocalDateTime claimedAt = now();
+        Boolean claimed = transactionTemplate.execute(status -> idempotencyRecordRepository.claim(scope, key, digest,
+                claimedAt, claimedAt.plus(pendingTimeout)));
+        return Boolean.TRUE.equals(claimed) ? new Claim(new Claim.Key(scope, key), digest, claimedAt) : null;
+    }
+
+    private static void checkKey(String key) {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    /**
+     * The write has run by then: a response that cannot be stored is still returned, and its key lapses
+     * with the claim.
+     */
+    private void complete(Claim claim, ResponseEntity<?> response) {
+        claim.completed = true;
+        completed.put(claim.key, new Completed(claim.digest, response));
+        try {
+            String headers = objectMapper.writeValueAsString(response.getHeaders());
+            String body = response.getBody() == null ? null : objectMapper.writeValueAsString(response.getBody());
+            transactionTemplate.executeWithoutResult(status -> idempotencyRecordRepository.complete(claim.key.scope(),
+                    claim.key.key(), claim.claimedAt, response.getStatusCode().value(), headers, body,
+                    now().plus(ttl)));
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not store the response of idempotency key {}: {}", claim.key.key(), e.toString());
+        }
+    }
+
+    /**
+     * No-op once the write has completed, since its record then holds the response.
+     */
+    private void release(Claim claim) {
+        if (!claim.completed) {
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyRecordRepository.release(claim.key.scope(), claim.key.key(), claim.claimedAt));
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(String key, String scope, String digest, Class<T> bodyType) {
+        IdempotencyRecord record = idempotencyRecordRepository.findById(new IdempotencyRecord.Key(scope, key))
+                .orElseThrow(() -> new IdempotencyKeyInUseException(key));
+        if (!record.getRequestDigest().equals(digest)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+        if (record.getStatusCode() == null) {
+            throw new IdempotencyKeyInUseException(key);
+        }
+        ResponseEntity<T> response;
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            objectMapper.readValue(record.getResponseHeaders(), HEADERS).forEach(headers::addAll);
+            T body = record.getResponseBody() == null ? null : objectMapper.readValue(record.getResponseBody(), bodyType);
+            response = ResponseEntity.status(record.getStatusCode()).headers(headers).body(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable response stored for idempotency key " + key, e);
+        }
+        completed.put(new Claim.Key(scope, key), new Completed(digest, response));
+        return replayed(response);
+    }
+
+    /**
+     * @return the replayed response, or null if this instance holds none for the key
+     */
+    private <T> ResponseEntity<T> replayLocal(String key, String scope, String digest) {
+        Completed entry = completed.getIfPresent(new Claim.Key(scope, key));
+        if (entry == null) {
+            return null;
+        }
+        if (!entry.digest().equals(digest)) {
+            throw new IdempotencyKeyReusedException(key);
+        }
+        @SuppressWarnings("unchecked")
+        ResponseEntity<T> response = (ResponseEntity<T>) entry.response();
+        return replayed(response);
+    }
+
+    private static <T> ResponseEntity<T> replayed(ResponseEntity<T> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody());
+    }
+
+    private static <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private String digest(Object request) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot digest request", e);
+        }
+    }
+
+    /**
+     * Microseconds, as stored, so that a claim is matched back by its time.
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private record Completed(String digest, ResponseEntity<?> response) {
+    }
+
+    private static final class Claim {
+
+        private final Key key;
+        private final String digest;
+        private final LocalDateTime claimedAt;
+        private volatile boolean completed;
+
+        private Claim(Key key, String digest, LocalDateTime claimedAt) {
+            this.key = key;
+            this.digest = digest;
+            this.claimedAt = claimedAt;
+        }
+
+        private record Key(String scope, String key) {
+        }
+    }
+}
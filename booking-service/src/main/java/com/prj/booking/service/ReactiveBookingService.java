@@ -0,0 +1,171 @@
+package com.prj.booking.service;
+
+import com.prj.booking.config.ReactiveConfig;
+import com.prj.booking.dto.BatchBookingResponse;
+import com.prj.booking.dto.BookingPageResponse;
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.dto.CustomerBookingSummaryResponse;
+import com.prj.booking.dto.FlightCapacityResponse;
+import com.prj.booking.dto.SeatMapResponse;
+import com.prj.booking.entity.Booking;
+import com.prj.booking.entity.BookingRow;
+import com.prj.booking.exception.BookingNotFoundException;
+import com.prj.booking.repository.ReactiveBookingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Reactive facade of the booking API. Reads are served by R2DBC without blocking a thread; writes
+ * delegate to {@link BookingService} on the bounded JDBC scheduler so that seat reservations, the
+ * outbox, events and cache eviction keep a single implementation.
+ */
+@Service
+@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookingService {
+
+    private final ReactiveBookingRepository reactiveBookingRepository;
+    private final BookingService bookingService;
+    private final BookingValidator bookingValidator;
+    private final BookingBatchService bookingBatchService;
+    private final CustomerSummaryService customerSummaryService;
+    private final FlightCapacityCounters flightCapacityCounters;
+    private final Scheduler jdbcScheduler;
+
+    public ReactiveBookingService(ReactiveBookingRepository reactiveBookingRepository,
+                                  BookingService bookingService,
+                                  BookingValidator bookingValidator,
+                                  BookingBatchService bookingBatchService,
+                                  CustomerSummaryService customerSummaryService,
+                                  FlightCapacityCounters flightCapacityCounters,
+                                  @Qualifier(ReactiveConfig.JDBC_SCHEDULER) Scheduler jdbcScheduler) {
+        this.reactiveBookingRepository = reactiveBookingRepository;
+        this.bookingService = bookingService;
+        this.bookingValidator = bookingValidator;
+        this.bookingBatchService = bookingBatchService;
+        this.customerSummaryService = customerSummaryService;
+        this.flightCapacityCounters = flightCapacityCounters;
+        this.jdbcScheduler = jdbcScheduler;
+    }
+
+    /**
+     * The remote checks are awaited without holding a thread; only the write goes to the JDBC scheduler.
+     */
+    public Mono<BookingResponse> createBooking(BookingRequest request) {
+        return Mono.fromFuture(() -> bookingValidator.validateAsync(request))
+                .then(blocking(() -> bookingService.createBooking(request)));
+    }
+
+    public Mono<BatchBookingResponse> createBookings(List<BookingRequest> requests) {
+        return blocking(() -> bookingBatchService.createBookings(requests));
+    }
+
+    public Mono<BookingResponse> getBookingById(Long id) {
+        log.debug("Fetching booking with ID: {}", id);
+        return reactiveBookingRepository.findById(id)
+                .map(ReactiveBookingService::mapToResponse)
+                .switchIfEmpty(Mono.error(() -> new BookingNotFoundException(id)));
+    }
+
+    public Mono<String> getBookingETag(Long id) {
+        return reactiveBookingRepository.findVersionById(id)
+                .map(BookingETags::of)
+                .switchIfEmpty(Mono.error(() -> new BookingNotFoundException(id)));
+    }
+
+    public Mono<BookingPageResponse<BookingResponse>> getBookingsPage(Long afterId, Integer size) {
+        int pageSize = size == null ? BookingService.DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(size, BookingService.MAX_PAGE_SIZE));
+        long cursor = afterId == null ? 0L : afterId;
+
+        // One extra row tells us whether another page exists without a count query
+        return reactiveBookingRepository.findByIdGreaterThanOrderByIdAsc(cursor, Limit.of(pageSize + 1))
+                .map(ReactiveBookingService::mapToResponse)
+                .collectList()
+                .map(rows -> {
+                    boolean hasNext = rows.size() > pageSize;
+                    List<BookingResponse> content = hasNext ? rows.subList(0, pageSize) : rows;
+                    Long nextCursor = hasNext ? content.get(content.size() - 1).getId() : null;
+                    return new BookingPageResponse<>(content, content.size(), nextCursor);
+                });
+    }
+
+    /**
+     * Every booking in id order; rows are pulled from the database only as fast as the client reads them.
+     */
+    public Flux<BookingResponse> streamAllBookings() {
+        return reactiveBookingRepository.findAllByOrderByIdAsc().map(ReactiveBookingService::mapToResponse);
+    }
+
+    public Flux<BookingResponse> getBookingsByCustomerId(Long customerId) {
+        return reactiveBookingRepository.findByCustomerId(customerId).map(ReactiveBookingService::mapToResponse);
+    }
+
+    public Flux<BookingResponse> getBookingsByFlightId(Long flightId) {
+        return reactiveBookingRepository.findByFlightId(flightId).map(ReactiveBookingService::mapToResponse);
+    }
+
+    public Mono<CustomerBookingSummaryResponse> getCustomerSummary(Long customerId) {
+        return blocking(() -> customerSummaryService.getSummary(customerId));
+    }
+
+    public Mono<SeatMapResponse> getSeatMap(Long flightId) {
+        return blocking(() -> bookingService.getSeatMap(flightId));
+    }
+
+    public Mono<FlightCapacityResponse> getFlightCapacity(Long flightId) {
+        return blocking(() -> flightCapacityCounters.getCapacity(flightId));
+    }
+
+    public Mono<BookingResponse> updateBookingStatus(Long id, Booking.BookingStatus status) {
+        return blocking(() -> bookingService.updateBookingStatus(id, status));
+    }
+
+    public Mono<BookingResponse> confirmBooking(Long id, String paymentId) {
+        return blocking(() -> bookingService.confirmBooking(id, paymentId));
+    }
+
+    public Mono<BookingResponse> cancelBooking(Long id) {
+        return blocking(() -> bookingService.cancelBooking(id));
+    }
+
+    public Mono<Void> deleteBooking(Long id) {
+        return blocking(() -> {
+            bookingService.deleteBooking(id);
+            return null;
+        }).then();
+    }
+
+    private <T> Mono<T> blocking(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(jdbcScheduler);
+    }
+
+    static BookingResponse mapToResponse(BookingRow row) {
+        BookingResponse response = new BookingResponse();
+        response.setId(row.getId());
+        response.setCustomerId(row.getCustomerId());
+        response.setFlightId(row.getFlightId());
+        response.setNumberOfPassengers(row.getNumberOfPassengers());
+        response.setStatus(row.getStatus());
+        response.setTotalPrice(row.getTotalPrice());
+        response.setBookingDate(row.getBookingDate());
+        response.setDepartureDate(row.getDepartureDate());
+        response.setSeatNumbers(row.getSeatNumbers());
+        response.setPaymentId(row.getPaymentId());
+        response.setNotes(row.getNotes());
+        response.setCreatedAt(row.getCreatedAt());
+        response.setUpdatedAt(row.getUpdatedAt());
+        response.setVersion(row.getVersion());
+        return response;
+    }
+}
@@ -0,0 +1,84 @@
+package com.prj.booking.service;
+
+import com.prj.booking.entity.SeatReservation;
+import com.prj.booking.exception.SeatUnavailableException;
+import com.prj.booking.repository.SeatReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Seat inventory backed by the {@code seat_reservations} table. The unique (flightId, seatNumber)
+ * constraint is the only arbiter between concurrent bookings: there is no check-then-insert and no
+ * lock beyond the index entries of the seats being reserved, so unrelated seats and flights never
+ * contend with each other.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(propagation = Propagation.MANDATORY)
+public class SeatInventoryService {
+
+    private final SeatReservationRepository seatReservationRepository;
+
+    public void reserve(Long flightId, Long bookingId, List<String> seats) {
+        if (seats.isEmpty()) {
+            return;
+        }
+        try {
+            seatReservationRepository.saveAllAndFlush(reservations(flightId, bookingId, seats));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Seat conflict on flight {} for seats {}", flightId, seats);
+            throw new SeatUnavailableException(flightId, seats);
+        }
+    }
+
+    /**
+     * Reserves the seats of several bookings with a single batched flush. Rows are sorted by flight
+     * and seat so that concurrent batches acquire index entries in the same order.
+     */
+    public void reserveAll(List<SeatReservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        reservations.sort(Comparator.comparing(SeatReservation::getFlightId)
+                .thenComparing(SeatReservation::getSeatNumber));
+        try {
+            seatReservationRepository.saveAllAndFlush(reservations);
+        } catch (DataIntegrityViolationException e) {
+            log.info("Seat conflict while reserving {} seat(s) in batch", reservations.size());
+            throw new SeatUnavailableException("One or more seats in the batch are no longer available");
+        }
+    }
+
+    static List<SeatReservation> reservations(Long flightId, Long bookingId, List<String> seats) {
+        LocalDateTime now = LocalDateTime.now();
+        return seats.stream()
+                .map(seat -> new SeatReservation(null, flightId, seat, bookingId, now))
+                .collect(Collectors.toList());
+    }
+
+    public void release(Long bookingId) {
+        int released = seatReservationRepository.deleteByBookingId(bookingId);
+        if (released > 0) {
+            log.info("Released {} seat(s) held by booking {}", released, bookingId);
+        }
+    }
+
+    public void releaseAll(Collection<Long> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        int released = seatReservationRepository.deleteByBookingIdIn(bookingIds);
+        log.debug("Released {} seat(s) held by {} booking(s)", released, bookingIds.size());
+    }
+}
@@ -0,0 +1,129 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.SeatMapResponse;
+import com.prj.booking.entity.SeatReservation;
+import com.prj.booking.event.BookingChangedEvent;
+import com.prj.booking.event.BookingsExpiredEvent;
+import com.prj.booking.repository.SeatReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory occupancy bitmap per flight. A flight is loaded from {@code seat_reservations} the first
+ * time it is asked for, then kept current from committed {@link BookingChangedEvent}s. Entries are
+ * reloaded after {@code booking.seatmap.refresh-after} so writes made by other replicas, or events
+ * applied out of commit order, are corrected within that window.
+ */
+@Component
+@Slf4j
+public class SeatMapIndex {
+
+    private static final int LETTERS = 26;
+
+    private final SeatReservationRepository seatReservationRepository;
+    private final long refreshAfterNanos;
+    private final ConcurrentHashMap<Long, FlightSeatMap> flights = new ConcurrentHashMap<>();
+
+    public SeatMapIndex(SeatReservationRepository seatReservationRepository,
+                        @Value("${booking.seatmap.refresh-after:PT5M}") Duration refreshAfter) {
+        this.seatReservationRepository = seatReservationRepository;
+        this.refreshAfterNanos = refreshAfter.toNanos();
+    }
+
+    public SeatMapResponse getSeatMap(Long flightId) {
+        FlightSeatMap seatMap = flights.get(flightId);
+        if (seatMap == null || seatMap.isStale(refreshAfterNanos)) {
+            // Loaded outside the map so the query never holds a bin lock shared with other flights;
+            // concurrent loaders of the same flight keep whichever map is installed first
+            FlightSeatMap loaded = load(flightId);
+            seatMap = flights.compute(flightId, (id, current) ->
+                    current == null || current.isStale(refreshAfterNanos) ? loaded : current);
+        }
+        return seatMap.toResponse(flightId);
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        List<String> seats;
+        try {
+            seats = SeatNumbers.parse(event.booking().getSeatNumbers());
+        } catch (IllegalArgumentException e) {
+            evict(event.booking().getFlightId());
+            return;
+        }
+        if (seats.isEmpty()) {
+            return;
+        }
+        boolean occupied = event.holdsSeats();
+        // Flights nobody has asked for yet are not materialized; they load from the table on demand
+        flights.computeIfPresent(event.booking().getFlightId(), (id, seatMap) -> {
+            seatMap.set(seats, occupied);
+            return seatMap;
+        });
+    }
+
+    @TransactionalEventListener
+    public void onBookingsExpired(BookingsExpiredEvent event) {
+        event.changes().forEach(this::onBookingChanged);
+    }
+
+    public void evict(Long flightId) {
+        flights.remove(flightId);
+    }
+
+    private FlightSeatMap load(Long flightId) {
+        List<SeatReservation> reservations = seatReservationRepository.findByFlightId(flightId);
+        FlightSeatMap seatMap = new FlightSeatMap();
+        for (SeatReservation reservation : reservations) {
+            seatMap.set(bitOf(reservation.getSeatNumber()), true);
+        }
+        log.debug("Loaded seat map for flight {} ({} occupied)", flightId, reservations.size());
+        return seatMap;
+    }
+
+    static int bitOf(String canonicalSeat) {
+        int last = canonicalSeat.length() - 1;
+        int row = Integer.parseInt(canonicalSeat, 0, last, 10);
+        return (row - 1) * LETTERS + (canonicalSeat.charAt(last) - 'A');
+    }
+
+    static String seatOf(int bit) {
+        return (bit / LETTERS + 1) + String.valueOf((char) ('A' + bit % LETTERS));
+    }
+
+    private static final class FlightSeatMap {
+
+        private final BitSet occupied = new BitSet();
+        private final long loadedAt = System.nanoTime();
+
+        synchronized void set(int bit, boolean value) {
+            occupied.set(bit, value);
+        }
+
+        synchronized void set(List<String> seats, boolean value) {
+            for (String seat : seats) {
+                occupied.set(bitOf(seat), value);
+            }
+        }
+
+        boolean isStale(long refreshAfterNanos) {
+            return System.nanoTime() - loadedAt > refreshAfterNanos;
+        }
+
+        synchronized SeatMapResponse toResponse(Long flightId) {
+            List<String> seats = new ArrayList<>(occupied.cardinality());
+            for (int bit = occupied.nextSetBit(0); bit >= 0; bit = occupied.nextSetBit(bit + 1)) {
+                seats.add(seatOf(bit));
+            }
+            return new SeatMapResponse(flightId, seats.size(), seats);
+        }
+    }
+}
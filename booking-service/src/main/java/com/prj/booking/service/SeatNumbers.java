@@ -0,0 +1,66 @@
+package com.prj.booking.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses the free-form {@code seatNumbers} field of a booking request into canonical seat codes.
+ * Both "12A" and "A12" are accepted; the canonical form is row number followed by the seat letter.
+ */
+public final class SeatNumbers {
+
+    public static final int MAX_ROW = 999;
+
+    private static final Pattern ROW_FIRST = Pattern.compile("(\\d{1,3})([A-Z])");
+    private static final Pattern LETTER_FIRST = Pattern.compile("([A-Z])(\\d{1,3})");
+
+    private SeatNumbers() {
+    }
+
+    public static List<String> parse(String seatNumbers) {
+        if (seatNumbers == null || seatNumbers.isBlank()) {
+            return Collections.emptyList();
+        }
+        String[] tokens = seatNumbers.split("[,;\\s]+");
+        TreeSet<String> seats = new TreeSet<>();
+        int count = 0;
+        for (String token : tokens) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            count++;
+            seats.add(canonical(token));
+        }
+        if (seats.size() != count) {
+            throw new IllegalArgumentException("Duplicate seat in request: " + seatNumbers);
+        }
+        // TreeSet order doubles as the lock acquisition order, which keeps concurrent
+        // multi-seat reservations from deadlocking on the unique index
+        return new ArrayList<>(seats);
+    }
+
+    public static String canonical(String seat) {
+        String normalized = seat.trim().toUpperCase();
+        Matcher matcher = ROW_FIRST.matcher(normalized);
+        if (matcher.matches()) {
+            return format(matcher.group(1), matcher.group(2));
+        }
+        matcher = LETTER_FIRST.matcher(normalized);
+        if (matcher.matches()) {
+            return format(matcher.group(2), matcher.group(1));
+        }
+        throw new IllegalArgumentException("Invalid seat number: " + seat);
+    }
+
+    private static String format(String row, String letter) {
+        int rowNumber = Integer.parseInt(row);
+        if (rowNumber < 1 || rowNumber > MAX_ROW) {
+            throw new IllegalArgumentException("Invalid seat row: " + row);
+        }
+        return rowNumber + letter;
+    }
+}
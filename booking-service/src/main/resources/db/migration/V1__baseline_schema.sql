@@ -0,0 +1,53 @@
+-- Schéma de référence de booking-service.
+-- Écrit pour être rejoué sans risque sur une base créée auparavant par ddl-auto=update
+-- (spring.flyway.baseline-on-migrate=true, baseline-version=0).
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id                   BIGINT           NOT NULL PRIMARY KEY,
+    customer_id          BIGINT           NOT NULL,
+    flight_id            BIGINT           NOT NULL,
+    number_of_passengers INTEGER          NOT NULL,
+    status               VARCHAR(255)     NOT NULL,
+    total_price          DOUBLE PRECISION NOT NULL,
+    booking_date         TIMESTAMP(6)     NOT NULL,
+    departure_date       TIMESTAMP(6),
+    seat_numbers         VARCHAR(255),
+    payment_id           VARCHAR(255),
+    notes                VARCHAR(255),
+    created_at           TIMESTAMP(6)     NOT NULL,
+    updated_at           TIMESTAMP(6)
+);
+
+-- Les identifiants viennent désormais de bookings_seq (allocationSize = 50)
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+-- Contrainte CHECK générée par Hibernate sur l'enum : les valeurs sont validées côté application
+ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_status_check;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50;
+ALTER SEQUENCE bookings_seq INCREMENT BY 50;
+SELECT setval('bookings_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM bookings));
+
+CREATE TABLE IF NOT EXISTS seat_reservations (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    flight_id   BIGINT       NOT NULL,
+    seat_number VARCHAR(8)   NOT NULL,
+    booking_id  BIGINT       NOT NULL,
+    reserved_at TIMESTAMP(6) NOT NULL
+);
+
+ALTER TABLE seat_reservations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS seat_reservations_seq INCREMENT BY 50;
+ALTER SEQUENCE seat_reservations_seq INCREMENT BY 50;
+SELECT setval('seat_reservations_seq', (SELECT COALESCE(MAX(id), 0) + 1 FROM seat_reservations));
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_seat_reservations_flight_seat') THEN
+        ALTER TABLE seat_reservations
+            ADD CONSTRAINT uk_seat_reservations_flight_seat UNIQUE (flight_id, seat_number);
+    END IF;
+END
+$$;
+
+CREATE INDEX IF NOT EXISTS idx_seat_reservations_booking ON seat_reservations (booking_id);
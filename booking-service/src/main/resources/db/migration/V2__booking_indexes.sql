@@ -0,0 +1,18 @@
+-- Index des finders de BookingRepository
+
+-- findByCustomerId, findByCustomerIdAndStatus
+CREATE INDEX IF NOT EXISTS idx_bookings_customer_status ON bookings (customer_id, status);
+
+-- findByFlightId, existsByFlightIdAndSeatNumbers
+CREATE INDEX IF NOT EXISTS idx_bookings_flight ON bookings (flight_id);
+
+-- Réservations actives d'un vol (occupation / capacité restante)
+CREATE INDEX IF NOT EXISTS idx_bookings_flight_active ON bookings (flight_id)
+    INCLUDE (number_of_passengers)
+    WHERE status <> 'CANCELLED';
+
+-- findByStatus
+CREATE INDEX IF NOT EXISTS idx_bookings_status ON bookings (status);
+
+-- findByPaymentId : un paiement ne confirme qu'une seule réservation
+CREATE UNIQUE INDEX IF NOT EXISTS uk_bookings_payment_id ON bookings (payment_id);
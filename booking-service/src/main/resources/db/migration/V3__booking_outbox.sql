@@ -0,0 +1,11 @@
+-- Outbox transactionnel : écrit dans la même transaction que la réservation,
+-- relayé puis supprimé par OutboxRelay
+CREATE TABLE booking_outbox (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    booking_id BIGINT       NOT NULL,
+    event_type VARCHAR(32)  NOT NULL,
+    payload    TEXT         NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE SEQUENCE booking_outbox_seq INCREMENT BY 50;
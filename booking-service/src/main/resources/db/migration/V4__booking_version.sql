@@ -0,0 +1,2 @@
+-- Verrouillage optimiste : chaque modification d'une réservation incrémente sa version
+ALTER TABLE bookings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,25 @@
+-- Projection par client (GET /api/bookings/customer/{id}/summary), maintenue à chaque écriture
+-- par CustomerSummaryService ; total_spent exclut les réservations annulées
+CREATE TABLE customer_booking_summary (
+    customer_id     BIGINT           NOT NULL PRIMARY KEY,
+    pending_count   BIGINT           NOT NULL,
+    confirmed_count BIGINT           NOT NULL,
+    cancelled_count BIGINT           NOT NULL,
+    completed_count BIGINT           NOT NULL,
+    total_spent     DOUBLE PRECISION NOT NULL,
+    next_departure  TIMESTAMP(6),
+    updated_at      TIMESTAMP(6)     NOT NULL
+);
+
+INSERT INTO customer_booking_summary (customer_id, pending_count, confirmed_count, cancelled_count,
+                                      completed_count, total_spent, next_departure, updated_at)
+SELECT customer_id,
+       COUNT(CASE WHEN status = 'PENDING' THEN 1 END),
+       COUNT(CASE WHEN status = 'CONFIRMED' THEN 1 END),
+       COUNT(CASE WHEN status = 'CANCELLED' THEN 1 END),
+       COUNT(CASE WHEN status = 'COMPLETED' THEN 1 END),
+       COALESCE(SUM(CASE WHEN status <> 'CANCELLED' THEN total_price END), 0),
+       MIN(CASE WHEN status IN ('PENDING', 'CONFIRMED') AND departure_date > LOCALTIMESTAMP THEN departure_date END),
+       LOCALTIMESTAMP
+FROM bookings
+GROUP BY customer_id;
@@ -0,0 +1,5 @@
+-- Réservations en attente de paiement (BookingHoldExpiry) : relues par id au démarrage pour reconstruire
+-- les échéances, sans lire les lignes confirmées ou annulées
+CREATE INDEX IF NOT EXISTS idx_bookings_pending_holds ON bookings (id)
+    INCLUDE (created_at)
+    WHERE status = 'PENDING';
@@ -0,0 +1,3 @@
+-- Version de la réservation portée par chaque événement : clé d'ordre par réservation pour les consommateurs,
+-- l'id de l'outbox ne suivant pas l'ordre des commits
+ALTER TABLE booking_outbox ADD COLUMN booking_version BIGINT NOT NULL DEFAULT 0;
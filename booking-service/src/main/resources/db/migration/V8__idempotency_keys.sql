@@ -0,0 +1,15 @@
+-- Clés Idempotency-Key partagées par toutes les instances : une ligne par (scope, clé), réclamée par
+-- INSERT ... ON CONFLICT avant l'écriture puis complétée avec sa réponse ; purgée après expires_at
+CREATE TABLE idempotency_keys (
+    scope            VARCHAR(64)  NOT NULL,
+    idempotency_key  VARCHAR(255) NOT NULL,
+    request_digest   VARCHAR(64)  NOT NULL,
+    status_code      INTEGER,
+    response_headers TEXT,
+    response_body    TEXT,
+    claimed_at       TIMESTAMP(6) NOT NULL,
+    expires_at       TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (scope, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys (expires_at);
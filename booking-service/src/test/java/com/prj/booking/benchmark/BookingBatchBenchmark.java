@@ -0,0 +1,91 @@
+package com.prj.booking.benchmark;
+
+import com.prj.booking.dto.BatchBookingResponse;
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.service.BookingBatchService;
+import com.prj.booking.service.BookingService;
+import com.prj.booking.service.FlightCapacityCounters;
+import com.prj.booking.service.SeatInventoryService;
+import com.prj.booking.service.SeatMapIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares N single createBooking calls with one batch of N. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true"
+})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({BookingService.class, BookingBatchService.class, SeatInventoryService.class, SeatMapIndex.class, FlightCapacityCounters.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingBatchBenchmark {
+
+    private static final int BOOKINGS = 500;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingBatchService bookingBatchService;
+
+    @Test
+    void singleCallsVersusOneBatch() {
+        long flightId = 1_000;
+        long singleNanos = 0;
+        long batchNanos = 0;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            List<BookingRequest> singles = requests(flightId++);
+            long start = System.nanoTime();
+            for (BookingRequest request : singles) {
+                bookingService.createBooking(request);
+            }
+            singleNanos += System.nanoTime() - start;
+
+            List<BookingRequest> batch = requests(flightId++);
+            start = System.nanoTime();
+            BatchBookingResponse response = bookingBatchService.createBookings(batch);
+            batchNanos += System.nanoTime() - start;
+            assertEquals(BOOKINGS, response.getCreated());
+        }
+
+        System.out.printf("%d bookings: %d single calls %.1f ms, one batch %.1f ms (averaged over %d rounds)%n",
+                BOOKINGS, BOOKINGS,
+                TimeUnit.NANOSECONDS.toMicros(singleNanos / ROUNDS) / 1000.0,
+                TimeUnit.NANOSECONDS.toMicros(batchNanos / ROUNDS) / 1000.0,
+                ROUNDS);
+    }
+
+    private List<BookingRequest> requests(long flightId) {
+        List<BookingRequest> requests = new ArrayList<>(BOOKINGS);
+        for (int i = 0; i < BOOKINGS; i++) {
+            BookingRequest request = new BookingRequest();
+            request.setCustomerId((long) i);
+            request.setFlightId(flightId);
+            request.setNumberOfPassengers(1);
+            request.setTotalPrice(199.00);
+            request.setSeatNumbers((i / 6 + 1) + String.valueOf("ABCDEF".charAt(i % 6)));
+            requests.add(request);
+        }
+        return requests;
+    }
+}
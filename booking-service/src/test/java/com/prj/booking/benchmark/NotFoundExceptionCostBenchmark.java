@@ -0,0 +1,69 @@
+package com.prj.booking.benchmark;
+
+import com.prj.booking.exception.BookingNotFoundException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Cost of one "booking not found" miss: the previous {@code RuntimeException} with a concatenated
+ * message against {@link BookingNotFoundException}. Each throw happens {@value #STACK_DEPTH} frames
+ * deep, roughly the depth of a Spring MVC request thread. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+class NotFoundExceptionCostBenchmark {
+
+    private static final int STACK_DEPTH = 120;
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 1_000_000;
+
+    private long sink;
+
+    @Test
+    void costPerMiss() {
+        measure(this::legacyMiss, WARMUP);
+        measure(this::typedMiss, WARMUP);
+
+        double legacy = measure(this::legacyMiss, ITERATIONS);
+        double typed = measure(this::typedMiss, ITERATIONS);
+
+        System.out.printf("not-found miss: RuntimeException %.0f ns/op, BookingNotFoundException %.0f ns/op (%.1fx)%n",
+                legacy, typed, legacy / typed);
+        assertTrue(typed < legacy);
+        assertNotEquals(0, sink);
+    }
+
+    private double measure(Miss miss, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            try {
+                miss.at(STACK_DEPTH, i);
+            } catch (RuntimeException e) {
+                sink += e.hashCode();
+            }
+        }
+        return (double) (System.nanoTime() - start) / iterations;
+    }
+
+    private void legacyMiss(int depth, long id) {
+        if (depth > 0) {
+            legacyMiss(depth - 1, id);
+            return;
+        }
+        throw new RuntimeException("Booking not found with id: " + id);
+    }
+
+    private void typedMiss(int depth, long id) {
+        if (depth > 0) {
+            typedMiss(depth - 1, id);
+            return;
+        }
+        throw new BookingNotFoundException(id);
+    }
+
+    @FunctionalInterface
+    private interface Miss {
+        void at(int depth, long id);
+    }
+}
@@ -0,0 +1,110 @@
+package com.prj.booking.benchmark;
+
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.entity.SeatReservation;
+import com.prj.booking.exception.SeatUnavailableException;
+import com.prj.booking.repository.BookingRepository;
+import com.prj.booking.repository.SeatReservationRepository;
+import com.prj.booking.service.BookingService;
+import com.prj.booking.service.FlightCapacityCounters;
+import com.prj.booking.service.SeatInventoryService;
+import com.prj.booking.service.SeatMapIndex;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fires parallel createBooking calls at a single hot flight and checks that no seat is sold twice.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@DataJpaTest(showSql = false)
+@Import({BookingService.class, SeatInventoryService.class, SeatMapIndex.class, FlightCapacityCounters.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatInventoryContentionBenchmark {
+
+    private static final long FLIGHT_ID = 42L;
+    private static final int ROWS = 30;
+    private static final String LETTERS = "ABCDEF";
+    private static final int THREADS = 32;
+    private static final int CALLS_PER_THREAD = 50;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatReservationRepository seatReservationRepository;
+
+    @Test
+    void parallelCreateBookingOnHotFlight() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < CALLS_PER_THREAD; i++) {
+                    try {
+                        bookingService.createBooking(randomRequest());
+                        created.incrementAndGet();
+                    } catch (SeatUnavailableException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.MINUTES));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin);
+
+        int calls = THREADS * CALLS_PER_THREAD;
+        System.out.printf("createBooking x%d on one flight with %d threads: %d ms (%.0f calls/s), %d created, %d seat conflicts%n",
+                calls, THREADS, elapsedMillis, calls * 1000.0 / Math.max(1, elapsedMillis), created.get(), conflicts.get());
+
+        List<SeatReservation> reservations = seatReservationRepository.findByFlightId(FLIGHT_ID);
+        Set<String> distinctSeats = reservations.stream().map(SeatReservation::getSeatNumber).collect(Collectors.toSet());
+        assertEquals(reservations.size(), distinctSeats.size());
+        assertEquals(created.get(), bookingRepository.findByFlightId(FLIGHT_ID).size());
+        assertEquals(calls, created.get() + conflicts.get());
+    }
+
+    private BookingRequest randomRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int row = 1 + random.nextInt(ROWS);
+        int letter = random.nextInt(LETTERS.length() - 1);
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(random.nextLong(1, 1_000));
+        request.setFlightId(FLIGHT_ID);
+        request.setNumberOfPassengers(2);
+        request.setTotalPrice(400.00);
+        request.setSeatNumbers(row + "" + LETTERS.charAt(letter) + "," + row + LETTERS.charAt(letter + 1));
+        return request;
+    }
+}
@@ -0,0 +1,142 @@
+package com.prj.booking.client;
+
+import com.prj.booking.exception.DependencyUnavailableException;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkhead;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceClientTest {
+
+    private HttpServer server;
+    private ScheduledExecutorService scheduler;
+    private ServiceClient serviceClient;
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile long delayMillis;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/api/flights", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"id\":1,\"flightNumber\":\"AF1\",\"price\":250.0,\"status\":\"SCHEDULED\",\"totalSeats\":180}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        CloseableHttpClient httpClient = HttpClients.createDefault();
+        RestClient restClient = RestClient.builder()
+                .baseUrl("http://localhost:" + server.getAddress().getPort())
+                .requestFactory(new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("flight-service", CircuitBreakerConfig.custom()
+                .slidingWindowSize(2)
+                .minimumNumberOfCalls(2)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        TimeLimiter timeLimiter = TimeLimiter.of(TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(200))
+                .build());
+        ThreadPoolBulkhead bulkhead = ThreadPoolBulkhead.of("flight-service", ThreadPoolBulkheadConfig.custom()
+                .coreThreadPoolSize(1)
+                .maxThreadPoolSize(1)
+                .queueCapacity(1)
+                .build());
+        serviceClient = new ServiceClient("flight-service", true, restClient, circuitBreaker, timeLimiter, bulkhead,
+                scheduler, httpClient);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        serviceClient.close();
+        scheduler.shutdownNow();
+        server.stop(0);
+    }
+
+    @Test
+    void testCall_Success() {
+        // When
+        FlightInfo flight = serviceClient.call(client -> client.get().uri("/api/flights/1").retrieve()
+                .body(FlightInfo.class)).join();
+
+        // Then
+        assertEquals("AF1", flight.flightNumber());
+        assertEquals(250.0, flight.price());
+    }
+
+    @Test
+    void testCall_SlowServiceTimesOut() {
+        // Given
+        delayMillis = 1000;
+
+        // When
+        long start = System.nanoTime();
+        CompletionException ex = assertThrows(CompletionException.class, () -> serviceClient.call(client ->
+                client.get().uri("/api/flights/1").retrieve().body(FlightInfo.class)).join());
+
+        // Then
+        assertInstanceOf(DependencyUnavailableException.class, ex.getCause());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 900);
+    }
+
+    @Test
+    void testCall_FullBulkheadRejectsAtOnce() {
+        // Given: one call running and one queued fill the bulkhead
+        delayMillis = 150;
+        serviceClient.call(client -> client.get().uri("/api/flights/1").retrieve().toBodilessEntity());
+        serviceClient.call(client -> client.get().uri("/api/flights/1").retrieve().toBodilessEntity());
+
+        // When & Then
+        CompletionException ex = assertThrows(CompletionException.class, () -> serviceClient.call(client ->
+                client.get().uri("/api/flights/1").retrieve().toBodilessEntity()).getNow(null));
+        assertInstanceOf(DependencyUnavailableException.class, ex.getCause());
+    }
+
+    @Test
+    void testCall_OpenCircuitDoesNotCallService() {
+        // Given: two timeouts open the circuit
+        delayMillis = 300;
+        for (int i = 0; i < 2; i++) {
+            assertThrows(CompletionException.class, () -> serviceClient.call(client ->
+                    client.get().uri("/api/flights/1").retrieve().toBodilessEntity()).join());
+        }
+        int before = requests.get();
+
+        // When & Then
+        assertThrows(CompletionException.class, () -> serviceClient.call(client ->
+                client.get().uri("/api/flights/1").retrieve().toBodilessEntity()).getNow(null));
+        assertEquals(before, requests.get());
+    }
+}
@@ -0,0 +1,57 @@
+package com.prj.booking.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogSamplingFilterTest {
+
+    @Test
+    void testDoFilter_HeaderMarksRequestForDebugLogging() throws Exception {
+        // Given
+        LogSamplingFilter filter = new LogSamplingFilter(0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/bookings/1");
+        request.addHeader(LogSamplingFilter.HEADER, "true");
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(MDC.get(LogSamplingFilter.MDC_KEY)));
+
+        // Then
+        assertEquals("true", seen.get());
+        assertNull(MDC.get(LogSamplingFilter.MDC_KEY));
+    }
+
+    @Test
+    void testDoFilter_NotSampled() throws Exception {
+        // Given
+        LogSamplingFilter filter = new LogSamplingFilter(0);
+        AtomicReference<String> seen = new AtomicReference<>("unset");
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/bookings/1"), new MockHttpServletResponse(),
+                (req, res) -> seen.set(MDC.get(LogSamplingFilter.MDC_KEY)));
+
+        // Then
+        assertNull(seen.get());
+    }
+
+    @Test
+    void testDoFilter_FullSampleRateMarksEveryRequest() throws Exception {
+        // Given
+        LogSamplingFilter filter = new LogSamplingFilter(1.0);
+        AtomicReference<String> seen = new AtomicReference<>();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/bookings"), new MockHttpServletResponse(),
+                (req, res) -> seen.set(MDC.get(LogSamplingFilter.MDC_KEY)));
+
+        // Then
+        assertEquals("true", seen.get());
+    }
+}
@@ -1,31 +1,66 @@
 package com.prj.booking.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prj.booking.dto.BatchBookingItemResult;
+import com.prj.booking.dto.BatchBookingResponse;
+import com.prj.booking.dto.BookingPageResponse;
 import com.prj.booking.dto.BookingRequest;
 import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.dto.CustomerBookingSummaryResponse;
+import com.prj.booking.dto.FlightCapacityResponse;
+import com.prj.booking.dto.SeatMapResponse;
 import com.prj.booking.entity.Booking;
+import com.prj.booking.exception.BookingNotFoundException;
+import com.prj.booking.exception.DependencyUnavailableException;
+import com.prj.booking.exception.FlightFullException;
+import com.prj.booking.exception.InvalidStatusTransitionException;
+import com.prj.booking.exception.SeatUnavailableException;
+import com.prj.booking.service.BookingBatchService;
 import com.prj.booking.service.BookingService;
+import com.prj.booking.service.BookingValidator;
+import com.prj.booking.service.CustomerSummaryService;
+import com.prj.booking.service.ETagged;
+import com.prj.booking.service.FlightCapacityCounters;
+import com.prj.booking.service.IdempotencyStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+@ActiveProfiles("test")
 @WebMvcTest(BookingController.class)
+@AutoConfigureDataJpa
+@AutoConfigureTestDatabase
+@Import(IdempotencyStore.class)
 class BookingControllerTest {
 
     @Autowired
@@ -34,6 +69,18 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingValidator bookingValidator;
+
+    @MockBean
+    private BookingBatchService bookingBatchService;
+
+    @MockBean
+    private CustomerSummaryService customerSummaryService;
+
+    @MockBean
+    private FlightCapacityCounters flightCapacityCounters;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -80,6 +127,77 @@ class BookingControllerTest {
         verify(bookingService, times(1)).createBooking(any(BookingRequest.class));
     }
 
+    @Test
+    void testCreateBooking_RetryWithIdempotencyKeyIsReplayed() throws Exception {
+        // Given
+        when(bookingService.createBooking(any(BookingRequest.class))).thenReturn(bookingResponse);
+        String body = objectMapper.writeValueAsString(bookingRequest);
+        mockMvc.perform(post("/api/bookings")
+                        .header(IdempotencyStore.KEY_HEADER, "create-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER));
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings")
+                        .header(IdempotencyStore.KEY_HEADER, "create-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(bookingId));
+
+        verify(bookingValidator, times(1)).validate(any(BookingRequest.class));
+        verify(bookingService, times(1)).createBooking(any(BookingRequest.class));
+    }
+
+    @Test
+    void testCreateBooking_IdempotencyKeyReusedForAnotherBody() throws Exception {
+        // Given
+        when(bookingService.createBooking(any(BookingRequest.class))).thenReturn(bookingResponse);
+        mockMvc.perform(post("/api/bookings")
+                        .header(IdempotencyStore.KEY_HEADER, "create-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isCreated());
+        bookingRequest.setNumberOfPassengers(3);
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings")
+                        .header(IdempotencyStore.KEY_HEADER, "create-2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.title").value("Idempotency key reused"));
+
+        verify(bookingService, times(1)).createBooking(any(BookingRequest.class));
+    }
+
+    @Test
+    void testCreateBooking_FailedRequestCanBeRetriedWithSameKey() throws Exception {
+        // Given
+        when(bookingService.createBooking(any(BookingRequest.class)))
+                .thenThrow(new FlightFullException(100L, 1, 2))
+                .thenReturn(bookingResponse);
+        String body = objectMapper.writeValueAsString(bookingRequest);
+        mockMvc.perform(post("/api/bookings")
+                        .header(IdempotencyStore.KEY_HEADER, "create-3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isConflict());
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings")
+                        .header(IdempotencyStore.KEY_HEADER, "create-3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER));
+
+        verify(bookingService, times(2)).createBooking(any(BookingRequest.class));
+    }
+
     @Test
     void testCreateBooking_ValidationError() throws Exception {
         // Given
@@ -90,11 +208,46 @@ class BookingControllerTest {
         mockMvc.perform(post("/api/bookings")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(invalidRequest)))
-                .andExpect(status().isBadRequest());
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.customerId").value("Customer ID is required"));
 
         verify(bookingService, never()).createBooking(any(BookingRequest.class));
     }
 
+    @Test
+    void testCreateBookings_AllCreated() throws Exception {
+        // Given
+        BatchBookingResponse batch = new BatchBookingResponse(1, 0,
+                List.of(BatchBookingItemResult.created(0, bookingResponse)));
+        when(bookingBatchService.createBookings(anyList())).thenReturn(batch);
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(bookingRequest))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[0].booking.id").value(bookingId));
+    }
+
+    @Test
+    void testCreateBookings_PartialFailure() throws Exception {
+        // Given
+        BatchBookingResponse batch = new BatchBookingResponse(1, 1, List.of(
+                BatchBookingItemResult.created(0, bookingResponse),
+                BatchBookingItemResult.failed(1, "Seat taken")));
+        when(bookingBatchService.createBookings(anyList())).thenReturn(batch);
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(bookingRequest, bookingRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.results[1].error").value("Seat taken"));
+    }
+
     @Test
     void testGetBookingById_Success() throws Exception {
         // Given
@@ -110,18 +263,289 @@ class BookingControllerTest {
     }
 
     @Test
-    void testGetAllBookings_Success() throws Exception {
+    void testGetBookingById_ReturnsVersionETag() throws Exception {
         // Given
-        List<BookingResponse> responses = Arrays.asList(bookingResponse);
-        when(bookingService.getAllBookings()).thenReturn(responses);
+        bookingResponse.setVersion(3L);
+        when(bookingService.getBookingById(bookingId)).thenReturn(bookingResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings/{id}", bookingId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""));
+
+        verify(bookingService, never()).getBookingETag(any());
+    }
+
+    @Test
+    void testGetBookingById_NotModified() throws Exception {
+        // Given
+        when(bookingService.getBookingETag(bookingId)).thenReturn("\"3\"");
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings/{id}", bookingId).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(bookingService, never()).getBookingById(any());
+    }
+
+    @Test
+    void testGetBookingById_ETagChanged() throws Exception {
+        // Given
+        bookingResponse.setVersion(4L);
+        when(bookingService.getBookingETag(bookingId)).thenReturn("\"4\"");
+        when(bookingService.getBookingById(bookingId)).thenReturn(bookingResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings/{id}", bookingId).header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void testGetBookingById_StaleCachedCopyIsReloaded() throws Exception {
+        // Given: the cache still holds version 4 while the database is at version 5
+        BookingResponse stale = new BookingResponse();
+        stale.setId(bookingId);
+        stale.setVersion(4L);
+        bookingResponse.setVersion(5L);
+        when(bookingService.getBookingETag(bookingId)).thenReturn("\"5\"");
+        when(bookingService.getBookingById(bookingId)).thenReturn(stale, bookingResponse);
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings/{id}", bookingId).header("If-None-Match", "\"4\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"5\""))
+                .andExpect(jsonPath("$.version").value(5));
+
+        verify(bookingService).evictCachedBooking(bookingId);
+    }
+
+    @Test
+    void testGetBookingsByFlightId_NotModified() throws Exception {
+        // Given
+        when(bookingService.getBookingsETagByFlightId(100L, Set.of())).thenReturn("\"abc\"");
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings/flight/{flightId}", 100L).header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified());
+
+        verify(bookingService, never()).getBookingsByFlightId(any());
+    }
+
+    @Test
+    void testGetBookingById_NotFound() throws Exception {
+        // Given
+        when(bookingService.getBookingById(bookingId)).thenThrow(new BookingNotFoundException(bookingId));
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings/{id}", bookingId))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.title").value("Booking not found"))
+                .andExpect(jsonPath("$.detail").value("Booking not found with id: 1"));
+    }
+
+    @Test
+    void testGetBookingById_UnexpectedErrorIsServerError() throws Exception {
+        // Given
+        when(bookingService.getBookingById(bookingId)).thenThrow(new IllegalStateException("connection reset"));
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings/{id}", bookingId))
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.title").value("Internal server error"))
+                .andExpect(jsonPath("$.detail").value("The request could not be processed"));
+    }
+
+    @Test
+    void testCreateBooking_MalformedBody() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"customerId\": "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Malformed request"));
+
+        verify(bookingService, never()).createBooking(any(BookingRequest.class));
+    }
+
+    @Test
+    void testCancelBooking_AlreadyCancelled() throws Exception {
+        // Given
+        when(bookingService.cancelBooking(bookingId)).thenThrow(new InvalidStatusTransitionException(
+                bookingId, Booking.BookingStatus.CANCELLED, Booking.BookingStatus.CANCELLED));
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings/{id}/cancel", bookingId))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title").value("Invalid status transition"));
+    }
+
+    @Test
+    void testCreateBooking_SeatUnavailable() throws Exception {
+        // Given
+        when(bookingService.createBooking(any(BookingRequest.class)))
+                .thenThrow(new SeatUnavailableException(100L, List.of("1A", "2A")));
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title").value("Seat unavailable"));
+    }
+
+    @Test
+    void testCreateBooking_FlightFull() throws Exception {
+        // Given
+        when(bookingService.createBooking(any(BookingRequest.class)))
+                .thenThrow(new FlightFullException(100L, 1, 2));
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title").value("Flight full"));
+    }
+
+    @Test
+    void testCreateBooking_FlightServiceUnavailable() throws Exception {
+        // Given
+        doThrow(new DependencyUnavailableException("flight-service"))
+                .when(bookingValidator).validate(any(BookingRequest.class));
 
         // When & Then
+        mockMvc.perform(post("/api/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bookingRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.detail").value("flight-service is unavailable, retry later"));
+        verify(bookingService, never()).createBooking(any());
+    }
+
+    @Test
+    void testGetBookingById_ConnectionPoolExhausted() throws Exception {
+        // Given
+        when(bookingService.getBookingById(bookingId))
+                .thenThrow(new CannotCreateTransactionException("Connection is not available"));
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings/{id}", bookingId))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.title").value("Service unavailable"));
+    }
+
+    @Test
+    void testGetCustomerSummary_Success() throws Exception {
+        // Given
+        Map<Booking.BookingStatus, Long> counts = new EnumMap<>(Booking.BookingStatus.class);
+        counts.put(Booking.BookingStatus.PENDING, 1L);
+        counts.put(Booking.BookingStatus.CONFIRMED, 2L);
+        LocalDateTime nextDeparture = LocalDateTime.now().plusDays(3);
+        when(customerSummaryService.getSummary(1L))
+                .thenReturn(new CustomerBookingSummaryResponse(1L, 3L, counts, 750.0, nextDeparture));
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings/customer/{customerId}/summary", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalBookings").value(3))
+                .andExpect(jsonPath("$.countsByStatus.CONFIRMED").value(2))
+                .andExpect(jsonPath("$.totalSpent").value(750.0));
+        verify(bookingService, never()).getBookingsByCustomerId(any());
+    }
+
+    @Test
+    void testGetAllBookings_Success() throws Exception {
+        // Given
+        BookingPageResponse<BookingResponse> page = new BookingPageResponse<>(Arrays.asList(bookingResponse), 1, bookingId);
+        when(bookingService.getBookingsPageWithETag(null, null, Set.of())).thenReturn(new ETagged<>(page, "\"abc\""));
+
+        // When & Then: the ETag comes with the rows, no version-only query
         mockMvc.perform(get("/api/bookings"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].id").value(bookingId));
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content[0].id").value(bookingId))
+                .andExpect(jsonPath("$.nextCursor").value(bookingId));
+
+        verify(bookingService, never()).getBookingsPageETag(any(), any(), any());
+    }
+
+    @Test
+    void testGetAllBookings_WithCursor() throws Exception {
+        // Given
+        BookingPageResponse<BookingResponse> page = new BookingPageResponse<>(List.of(), 0, null);
+        when(bookingService.getBookingsPageWithETag(10L, 20, Set.of())).thenReturn(new ETagged<>(page, "\"abc\""));
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings").param("after", "10").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(0))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
 
-        verify(bookingService, times(1)).getAllBookings();
+        verify(bookingService, times(1)).getBookingsPageWithETag(10L, 20, Set.of());
+    }
+
+    @Test
+    void testGetAllBookings_SelectedFields() throws Exception {
+        // Given
+        Set<String> fields = new LinkedHashSet<>(List.of("status", "flightId"));
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", bookingId);
+        row.put("status", Booking.BookingStatus.PENDING);
+        row.put("flightId", 100L);
+        when(bookingService.getBookingsPageWithETag(null, null, fields))
+                .thenReturn(new ETagged<>(new BookingPageResponse<>(List.of(row), 1, null), "\"abc\""));
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings").param("fields", "status,flightId"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].id").value(bookingId))
+                .andExpect(jsonPath("$.content[0].status").value("PENDING"))
+                .andExpect(jsonPath("$.content[0].customerId").doesNotExist());
+
+        verify(bookingService, never()).getBookingsPageWithETag(null, null, Set.of());
+    }
+
+    @Test
+    void testGetBookingsByCustomerId_UnknownField() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/bookings/customer/{customerId}", 1L).param("fields", "id,password"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamAllBookings_WritesNdjson() throws Exception {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<BookingResponse> consumer = invocation.getArgument(0);
+            consumer.accept(bookingResponse);
+            consumer.accept(bookingResponse);
+            return null;
+        }).when(bookingService).streamAllBookings(any(Consumer.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/bookings/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(containsString("\"id\":1")));
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        org.junit.jupiter.api.Assertions.assertEquals(2, lines.length);
     }
 
     @Test
@@ -129,15 +553,17 @@ class BookingControllerTest {
         // Given
         Long customerId = 1L;
         List<BookingResponse> responses = Arrays.asList(bookingResponse);
-        when(bookingService.getBookingsByCustomerId(customerId)).thenReturn(responses);
+        when(bookingService.getBookingsByCustomerIdWithETag(customerId, Set.of()))
+                .thenReturn(new ETagged<>(responses, "\"abc\""));
 
         // When & Then
         mockMvc.perform(get("/api/bookings/customer/{customerId}", customerId))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].customerId").value(customerId));
 
-        verify(bookingService, times(1)).getBookingsByCustomerId(customerId);
+        verify(bookingService, never()).getBookingsETagByCustomerId(any(), any());
     }
 
     @Test
@@ -145,7 +571,8 @@ class BookingControllerTest {
         // Given
         Long flightId = 100L;
         List<BookingResponse> responses = Arrays.asList(bookingResponse);
-        when(bookingService.getBookingsByFlightId(flightId)).thenReturn(responses);
+        when(bookingService.getBookingsByFlightIdWithETag(flightId, Set.of()))
+                .thenReturn(new ETagged<>(responses, "\"abc\""));
 
         // When & Then
         mockMvc.perform(get("/api/bookings/flight/{flightId}", flightId))
@@ -153,7 +580,37 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$").isArray())
                 .andExpect(jsonPath("$[0].flightId").value(flightId));
 
-        verify(bookingService, times(1)).getBookingsByFlightId(flightId);
+        verify(bookingService, never()).getBookingsETagByFlightId(any(), any());
+    }
+
+    @Test
+    void testGetSeatMap_Success() throws Exception {
+        // Given
+        Long flightId = 100L;
+        when(bookingService.getSeatMap(flightId))
+                .thenReturn(new SeatMapResponse(flightId, 2, List.of("1A", "1B")));
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings/flight/{flightId}/seatmap", flightId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.occupiedCount").value(2))
+                .andExpect(jsonPath("$.occupiedSeats[1]").value("1B"));
+
+        verify(bookingService, times(1)).getSeatMap(flightId);
+    }
+
+    @Test
+    void testGetFlightCapacity_Success() throws Exception {
+        // Given
+        Long flightId = 100L;
+        when(flightCapacityCounters.getCapacity(flightId))
+                .thenReturn(new FlightCapacityResponse(flightId, 180, 176));
+
+        // When & Then
+        mockMvc.perform(get("/api/bookings/flight/{flightId}/capacity", flightId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalSeats").value(180))
+                .andExpect(jsonPath("$.remainingSeats").value(176));
     }
 
     @Test
@@ -175,6 +632,32 @@ class BookingControllerTest {
         verify(bookingService, times(1)).updateBookingStatus(eq(bookingId), any(Booking.BookingStatus.class));
     }
 
+    @Test
+    void testUpdateBookingStatus_MissingStatus() throws Exception {
+        // When & Then
+        mockMvc.perform(patch("/api/bookings/{id}/status", bookingId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("status is required"));
+
+        verify(bookingService, never()).updateBookingStatus(any(), any());
+    }
+
+    @Test
+    void testConfirmBooking_PaymentIdAlreadyUsed() throws Exception {
+        // Given
+        when(bookingService.confirmBooking(bookingId, "PAY-12345")).thenThrow(new DataIntegrityViolationException(
+                "duplicate key value violates unique constraint \"uk_bookings_payment_id\""));
+
+        // When & Then
+        mockMvc.perform(post("/api/bookings/{id}/confirm", bookingId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("paymentId", "PAY-12345"))))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.detail").value("The request conflicts with an existing booking"));
+    }
+
     @Test
     void testConfirmBooking_Success() throws Exception {
         // Given
@@ -195,6 +678,27 @@ class BookingControllerTest {
         verify(bookingService, times(1)).confirmBooking(bookingId, "PAY-12345");
     }
 
+    @Test
+    void testConfirmBooking_RetryWithIdempotencyKeyIsReplayed() throws Exception {
+        // Given
+        bookingResponse.setStatus(Booking.BookingStatus.CONFIRMED);
+        bookingResponse.setPaymentId("PAY-12345");
+        when(bookingService.confirmBooking(bookingId, "PAY-12345")).thenReturn(bookingResponse);
+        String body = objectMapper.writeValueAsString(Map.of("paymentId", "PAY-12345"));
+
+        // When & Then
+        for (int attempt = 0; attempt < 3; attempt++) {
+            mockMvc.perform(post("/api/bookings/{id}/confirm", bookingId)
+                            .header(IdempotencyStore.KEY_HEADER, "confirm-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("CONFIRMED"));
+        }
+
+        verify(bookingService, times(1)).confirmBooking(bookingId, "PAY-12345");
+    }
+
     @Test
     void testCancelBooking_Success() throws Exception {
         // Given
@@ -0,0 +1,213 @@
+package com.prj.booking.controller;
+
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.entity.Booking;
+import com.prj.booking.exception.BookingNotFoundException;
+import com.prj.booking.exception.InvalidStatusTransitionException;
+import com.prj.booking.service.IdempotencyStore;
+import com.prj.booking.service.ReactiveBookingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.AutoConfigureDataJpa;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@WebFluxTest(ReactiveBookingController.class)
+@AutoConfigureDataJpa
+@AutoConfigureTestDatabase
+@Import(IdempotencyStore.class)
+class ReactiveBookingControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveBookingService bookingService;
+
+    private BookingRequest bookingRequest;
+    private BookingResponse bookingResponse;
+    private Long bookingId;
+
+    @BeforeEach
+    void setUp() {
+        bookingId = 1L;
+
+        bookingRequest = new BookingRequest();
+        bookingRequest.setCustomerId(1L);
+        bookingRequest.setFlightId(100L);
+        bookingRequest.setNumberOfPassengers(1);
+        bookingRequest.setTotalPrice(250.00);
+
+        bookingResponse = new BookingResponse();
+        bookingResponse.setId(bookingId);
+        bookingResponse.setCustomerId(1L);
+        bookingResponse.setFlightId(100L);
+        bookingResponse.setNumberOfPassengers(1);
+        bookingResponse.setTotalPrice(250.00);
+        bookingResponse.setStatus(Booking.BookingStatus.PENDING);
+        bookingResponse.setBookingDate(LocalDateTime.now());
+    }
+
+    @Test
+    void testCreateBooking_Success() {
+        // Given
+        when(bookingService.createBooking(any(BookingRequest.class))).thenReturn(Mono.just(bookingResponse));
+
+        // When & Then
+        webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(bookingRequest)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(bookingId);
+    }
+
+    @Test
+    void testCreateBooking_RetryWithIdempotencyKeyIsReplayed() {
+        // Given
+        when(bookingService.createBooking(any(BookingRequest.class))).thenReturn(Mono.just(bookingResponse));
+
+        // When & Then
+        for (int attempt = 0; attempt < 2; attempt++) {
+            webTestClient.post().uri("/api/bookings")
+                    .header(IdempotencyStore.KEY_HEADER, "create-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(bookingRequest)
+                    .exchange()
+                    .expectStatus().isCreated()
+                    .expectBody()
+                    .jsonPath("$.id").isEqualTo(bookingId);
+        }
+        verify(bookingService, times(1)).createBooking(any(BookingRequest.class));
+    }
+
+    @Test
+    void testCreateBooking_ValidationError() {
+        // When & Then
+        webTestClient.post().uri("/api/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new BookingRequest())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors.customerId").isEqualTo("Customer ID is required");
+
+        verify(bookingService, never()).createBooking(any());
+    }
+
+    @Test
+    void testGetBookingById_NotModified() {
+        // Given
+        when(bookingService.getBookingETag(bookingId)).thenReturn(Mono.just("\"2\""));
+
+        // When & Then
+        webTestClient.get().uri("/api/bookings/{id}", bookingId)
+                .header("If-None-Match", "\"2\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", "\"2\"");
+
+        verify(bookingService, never()).getBookingById(any());
+    }
+
+    @Test
+    void testGetBookingById_NotFound() {
+        // Given
+        when(bookingService.getBookingById(bookingId)).thenReturn(Mono.error(new BookingNotFoundException(bookingId)));
+
+        // When & Then
+        webTestClient.get().uri("/api/bookings/{id}", bookingId)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("Booking not found");
+    }
+
+    @Test
+    void testGetBookingsByCustomerId_StreamsJsonArray() {
+        // Given
+        BookingResponse second = new BookingResponse();
+        second.setId(2L);
+        second.setCustomerId(1L);
+        when(bookingService.getBookingsByCustomerId(1L)).thenReturn(Flux.just(bookingResponse, second));
+
+        // When & Then
+        webTestClient.get().uri("/api/bookings/customer/{customerId}", 1L)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BookingResponse.class)
+                .hasSize(2);
+    }
+
+    @Test
+    void testStreamAllBookings_Ndjson() {
+        // Given
+        when(bookingService.streamAllBookings()).thenReturn(Flux.just(bookingResponse));
+
+        // When & Then
+        webTestClient.get().uri("/api/bookings/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(BookingResponse.class)
+                .hasSize(1);
+    }
+
+    @Test
+    void testCancelBooking_AlreadyCancelled() {
+        // Given
+        when(bookingService.cancelBooking(bookingId)).thenReturn(Mono.error(new InvalidStatusTransitionException(
+                bookingId, Booking.BookingStatus.CANCELLED, Booking.BookingStatus.CANCELLED)));
+
+        // When & Then
+        webTestClient.post().uri("/api/bookings/{id}/cancel", bookingId)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void testConfirmBooking_Success() {
+        // Given
+        bookingResponse.setStatus(Booking.BookingStatus.CONFIRMED);
+        when(bookingService.confirmBooking(bookingId, "PAY-1")).thenReturn(Mono.just(bookingResponse));
+
+        // When & Then
+        webTestClient.post().uri("/api/bookings/{id}/confirm", bookingId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("paymentId", "PAY-1"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo("CONFIRMED");
+    }
+
+    @Test
+    void testDeleteBooking_Success() {
+        // Given
+        when(bookingService.deleteBooking(bookingId)).thenReturn(Mono.empty());
+
+        // When & Then
+        webTestClient.delete().uri("/api/bookings/{id}", bookingId)
+                .exchange()
+                .expectStatus().isNoContent();
+        verify(bookingService).deleteBooking(bookingId);
+    }
+}
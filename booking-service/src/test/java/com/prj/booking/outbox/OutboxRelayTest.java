@@ -0,0 +1,109 @@
+package com.prj.booking.outbox;
+
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.repository.OutboxEventRepository;
+import com.prj.booking.service.BookingService;
+import com.prj.booking.service.FlightCapacityCounters;
+import com.prj.booking.service.SeatInventoryService;
+import com.prj.booking.service.SeatMapIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = "booking.outbox.relay-enabled=false")
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OutboxConfig.class, OutboxWriter.class, OutboxRelay.class,
+        BookingService.class, SeatInventoryService.class, SeatMapIndex.class, FlightCapacityCounters.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private InMemoryBookingEventBroker broker;
+
+    private final List<BookingEventMessage> received = new CopyOnWriteArrayList<>();
+    private final Consumer<BookingEventMessage> subscriber = received::add;
+
+    @AfterEach
+    void tearDown() {
+        broker.unsubscribe(subscriber);
+        outboxEventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testRelayBatch_PublishesInOrderAndDrainsOutbox() {
+        // Given
+        broker.subscribe(subscriber);
+        Long id = bookingService.createBooking(request()).getId();
+        bookingService.confirmBooking(id, "PAY-1");
+        assertEquals(2, outboxEventRepository.count());
+
+        // When
+        int relayed = outboxRelay.relayBatch();
+
+        // Then
+        assertEquals(2, relayed);
+        assertEquals(0, outboxEventRepository.count());
+        assertEquals(List.of("BOOKING_CREATED", "BOOKING_CONFIRMED"),
+                received.stream().map(BookingEventMessage::eventType).toList());
+        assertTrue(received.get(0).id() < received.get(1).id());
+        assertEquals(id, received.get(1).bookingId());
+        assertTrue(received.get(1).payload().contains("\"previousStatus\":\"PENDING\""));
+    }
+
+    @Test
+    void testRelayBatch_KeepsEventsWhenPublishFails() {
+        // Given
+        Consumer<BookingEventMessage> failing = event -> {
+            throw new IllegalStateException("broker down");
+        };
+        broker.subscribe(failing);
+        bookingService.createBooking(request());
+
+        // When
+        assertThrows(IllegalStateException.class, () -> outboxRelay.relayBatch());
+
+        // Then
+        assertEquals(1, outboxEventRepository.count());
+
+        // When: the broker recovers
+        broker.unsubscribe(failing);
+        broker.subscribe(subscriber);
+
+        // Then
+        assertEquals(1, outboxRelay.relayBatch());
+        assertEquals(1, received.size());
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    private BookingRequest request() {
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(1L);
+        request.setFlightId(100L);
+        request.setNumberOfPassengers(1);
+        request.setTotalPrice(250.00);
+        return request;
+    }
+}
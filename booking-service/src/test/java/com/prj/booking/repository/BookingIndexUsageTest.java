@@ -0,0 +1,69 @@
+package com.prj.booking.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL and checks with EXPLAIN that every
+ * BookingRepository finder is answered from an index. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class BookingIndexUsageTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("""
+                INSERT INTO bookings (id, customer_id, flight_id, number_of_passengers, status, total_price,
+                                      booking_date, seat_numbers, payment_id, created_at, updated_at)
+                SELECT n, n % 5000, n % 800, 1 + n % 4,
+                       (ARRAY['PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED'])[1 + n % 4],
+                       100 + n % 900, now(), (1 + n % 30) || 'A', 'PAY-' || n, now(), now()
+                FROM generate_series(1, 50000) AS n
+                """);
+        jdbcTemplate.execute("ANALYZE bookings");
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', value = {
+            "findByCustomerId          | SELECT * FROM bookings WHERE customer_id = 42                                      | idx_bookings_customer_status",
+            "findByCustomerIdAndStatus | SELECT * FROM bookings WHERE customer_id = 42 AND status = 'PENDING'               | idx_bookings_customer_status",
+            "findByFlightId            | SELECT * FROM bookings WHERE flight_id = 42                                        | idx_bookings_flight",
+            "existsByFlightIdAndSeat   | SELECT 1 FROM bookings WHERE flight_id = 42 AND seat_numbers = '3A' LIMIT 1        | idx_bookings_flight",
+            "activeSeatsPerFlight      | SELECT SUM(number_of_passengers) FROM bookings WHERE flight_id = 42 AND status <> 'CANCELLED' | idx_bookings_flight_active",
+            "findByStatus              | SELECT * FROM bookings WHERE status = 'PENDING'                                    | idx_bookings_status",
+            "findByPaymentId           | SELECT * FROM bookings WHERE payment_id = 'PAY-42'                                 | uk_bookings_payment_id"
+    })
+    void finderUsesIndex(String finder, String sql, String expectedIndex) {
+        // Seq scans are only disabled to make the choice deterministic on a small, warm table;
+        // if the index could not serve the predicate the planner would still fall back to one
+        jdbcTemplate.execute("SET enable_seqscan = off");
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        String planText = String.join("\n", plan);
+
+        assertFalse(planText.contains("Seq Scan"), finder + " plan:\n" + planText);
+        assertTrue(planText.contains(expectedIndex), finder + " plan:\n" + planText);
+    }
+}
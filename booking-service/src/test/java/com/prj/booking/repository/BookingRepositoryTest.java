@@ -1,18 +1,28 @@
 package com.prj.booking.repository;
 
+import com.prj.booking.dto.BookingResponse;
 import com.prj.booking.entity.Booking;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+@ActiveProfiles("test")
 @DataJpaTest
 class BookingRepositoryTest {
 
@@ -168,6 +178,108 @@ class BookingRepositoryTest {
         assertFalse(notExists);
     }
 
+    @Test
+    void testFindResponsesByCustomerId_SelectsIntoDto() {
+        // Given
+        booking2.setCustomerId(2L);
+        Booking saved = entityManager.persistAndFlush(booking1);
+        entityManager.persistAndFlush(booking2);
+        entityManager.clear();
+
+        // When
+        List<BookingResponse> responses = bookingRepository.findResponsesByCustomerId(1L);
+
+        // Then
+        assertEquals(1, responses.size());
+        assertEquals(saved.getId(), responses.get(0).getId());
+        assertEquals(Booking.BookingStatus.PENDING, responses.get(0).getStatus());
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testFindResponsesAfter_KeysetPage() {
+        // Given
+        Booking first = entityManager.persistAndFlush(booking1);
+        Booking second = entityManager.persistAndFlush(booking2);
+        entityManager.clear();
+
+        // When
+        List<BookingResponse> firstPage = bookingRepository.findResponsesAfter(0L, Limit.of(1));
+        List<BookingResponse> secondPage = bookingRepository.findResponsesAfter(first.getId(), Limit.of(5));
+        List<BookingResponse> lastPage = bookingRepository.findResponsesAfter(second.getId(), Limit.of(5));
+
+        // Then
+        assertEquals(List.of(first.getId()), firstPage.stream().map(BookingResponse::getId).toList());
+        assertEquals(List.of(second.getId()), secondPage.stream().map(BookingResponse::getId).toList());
+        assertTrue(lastPage.isEmpty());
+    }
+
+    @Test
+    void testStreamResponses_OrderedById() {
+        // Given
+        Booking first = entityManager.persistAndFlush(booking1);
+        Booking second = entityManager.persistAndFlush(booking2);
+        entityManager.clear();
+
+        // When
+        List<Long> ids;
+        try (Stream<BookingResponse> bookings = bookingRepository.streamResponses()) {
+            ids = bookings.map(BookingResponse::getId).collect(Collectors.toList());
+        }
+
+        // Then
+        assertEquals(List.of(first.getId(), second.getId()), ids);
+        assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void testFindFieldsByFlightId_SelectsOnlyRequestedFields() {
+        // Given
+        Booking saved = entityManager.persistAndFlush(booking1);
+        entityManager.clear();
+
+        // When
+        List<Map<String, Object>> rows = bookingRepository.findFieldsByFlightId(100L,
+                new LinkedHashSet<>(List.of("status", "totalPrice")));
+
+        // Then
+        assertEquals(1, rows.size());
+        assertEquals(List.of("id", "status", "totalPrice"), List.copyOf(rows.get(0).keySet()));
+        assertEquals(saved.getId(), rows.get(0).get("id"));
+        assertEquals(Booking.BookingStatus.PENDING, rows.get(0).get("status"));
+    }
+
+    @Test
+    void testFindFieldsAfter_KeysetPage() {
+        // Given
+        Booking first = entityManager.persistAndFlush(booking1);
+        Booking second = entityManager.persistAndFlush(booking2);
+
+        // When
+        List<Map<String, Object>> rows = bookingRepository.findFieldsAfter(first.getId(), Set.of("flightId"), Limit.of(5));
+
+        // Then
+        assertEquals(1, rows.size());
+        assertEquals(second.getId(), rows.get(0).get("id"));
+        assertEquals(second.getFlightId(), rows.get(0).get("flightId"));
+    }
+
+    @Test
+    void testFindVersions_TrackWrites() {
+        // Given
+        Booking saved = entityManager.persistAndFlush(booking1);
+        Long id = saved.getId();
+
+        // When
+        saved.setNotes("Aisle please");
+        entityManager.persistAndFlush(saved);
+
+        // Then
+        assertEquals(Optional.of(1L), bookingRepository.findVersionById(id));
+        assertEquals(List.of(new BookingVersion(id, 1L)), bookingRepository.findVersionsByFlightId(100L));
+        assertTrue(bookingRepository.findVersionById(-1L).isEmpty());
+    }
+
     @Test
     void testDeleteBooking() {
         // Given
@@ -181,7 +293,49 @@ class BookingRepositoryTest {
         Optional<Booking> found = bookingRepository.findById(id);
         assertFalse(found.isPresent());
     }
-}
 
+    @Test
+    void testTransitionStatus_UpdatesStatusAndVersion() {
+        // Given
+        Booking saved = entityManager.persistAndFlush(booking1);
+        Long version = saved.getVersion();
+
+        // When
+        Optional<StatusTransition> transition =
+                bookingRepository.transitionStatus(saved.getId(), Booking.BookingStatus.CONFIRMED, "PAY-7");
+
+        // Then
+        assertTrue(transition.isPresent());
+        assertEquals(Booking.BookingStatus.PENDING, transition.get().previousStatus());
+        assertEquals(Booking.BookingStatus.CONFIRMED, transition.get().booking().getStatus());
+        assertEquals("PAY-7", transition.get().booking().getPaymentId());
+        assertEquals(version + 1, transition.get().booking().getVersion());
+    }
+
+    @Test
+    void testTransitionStatus_RejectsIllegalSource() {
+        // Given
+        Booking saved = entityManager.persistAndFlush(booking2);
 
+        // When
+        Optional<StatusTransition> transition =
+                bookingRepository.transitionStatus(saved.getId(), Booking.BookingStatus.CONFIRMED, null);
 
+        // Then
+        assertFalse(transition.isPresent());
+        assertEquals(Optional.of(Booking.BookingStatus.CONFIRMED), bookingRepository.findStatusById(saved.getId()));
+        assertFalse(bookingRepository.transitionStatus(-1L, Booking.BookingStatus.CANCELLED, null).isPresent());
+    }
+
+    @Test
+    void testBookingStatus_StateMachine() {
+        assertTrue(Booking.BookingStatus.PENDING.canTransitionTo(Booking.BookingStatus.CONFIRMED));
+        assertTrue(Booking.BookingStatus.PENDING.canTransitionTo(Booking.BookingStatus.CANCELLED));
+        assertTrue(Booking.BookingStatus.CONFIRMED.canTransitionTo(Booking.BookingStatus.COMPLETED));
+        assertTrue(Booking.BookingStatus.CONFIRMED.canTransitionTo(Booking.BookingStatus.CANCELLED));
+        assertFalse(Booking.BookingStatus.PENDING.canTransitionTo(Booking.BookingStatus.COMPLETED));
+        assertFalse(Booking.BookingStatus.CANCELLED.canTransitionTo(Booking.BookingStatus.CONFIRMED));
+        assertFalse(Booking.BookingStatus.COMPLETED.canTransitionTo(Booking.BookingStatus.CANCELLED));
+        assertFalse(Booking.BookingStatus.CONFIRMED.canTransitionTo(Booking.BookingStatus.CONFIRMED));
+    }
+}
@@ -0,0 +1,92 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.Booking;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises the single-statement UPDATE ... RETURNING transition on PostgreSQL.
+ * Skipped when Docker is not available.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class BookingStatusTransitionsPostgresTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testTransitionStatus_ReturnsUpdatedRowAndPreviousStatus() {
+        // Given
+        Long id = insertBooking("PENDING");
+
+        // When
+        Optional<StatusTransition> transition =
+                bookingRepository.transitionStatus(id, Booking.BookingStatus.CONFIRMED, "PAY-PG-1");
+
+        // Then
+        assertTrue(transition.isPresent());
+        assertEquals(Booking.BookingStatus.PENDING, transition.get().previousStatus());
+        assertEquals(Booking.BookingStatus.CONFIRMED, transition.get().booking().getStatus());
+        assertEquals("PAY-PG-1", transition.get().booking().getPaymentId());
+        assertEquals(1L, transition.get().booking().getVersion());
+    }
+
+    @Test
+    void testTransitionStatus_KeepsPaymentIdWhenNull() {
+        // Given
+        Long id = insertBooking("CONFIRMED");
+
+        // When
+        Optional<StatusTransition> transition =
+                bookingRepository.transitionStatus(id, Booking.BookingStatus.CANCELLED, null);
+
+        // Then
+        assertTrue(transition.isPresent());
+        assertEquals(Booking.BookingStatus.CONFIRMED, transition.get().previousStatus());
+        assertEquals("PAY-" + id, transition.get().booking().getPaymentId());
+    }
+
+    @Test
+    void testTransitionStatus_StaleSourceMatchesNoRow() {
+        // Given
+        Long id = insertBooking("CANCELLED");
+
+        // When
+        Optional<StatusTransition> transition =
+                bookingRepository.transitionStatus(id, Booking.BookingStatus.CONFIRMED, null);
+
+        // Then
+        assertFalse(transition.isPresent());
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM bookings WHERE id = ?", Long.class, id));
+    }
+
+    private Long insertBooking(String status) {
+        Long id = jdbcTemplate.queryForObject("SELECT nextval('bookings_seq')", Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO bookings (id, customer_id, flight_id, number_of_passengers, status, total_price,
+                                      booking_date, payment_id, created_at, updated_at)
+                VALUES (?, 1, 100, 1, ?, 250, now(), ?, now(), now())
+                """, id, status, "PAY-" + id);
+        return id;
+    }
+}
@@ -0,0 +1,63 @@
+package com.prj.booking.repository;
+
+import com.prj.booking.entity.SeatReservation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest
+class SeatReservationRepositoryTest {
+
+    @Autowired
+    private SeatReservationRepository seatReservationRepository;
+
+    @Test
+    void testSameSeatCannotBeReservedTwice() {
+        // Given
+        seatReservationRepository.saveAndFlush(reservation(100L, "1A", 1L));
+
+        // When & Then
+        assertThrows(DataIntegrityViolationException.class,
+                () -> seatReservationRepository.saveAndFlush(reservation(100L, "1A", 2L)));
+    }
+
+    @Test
+    void testSameSeatOnAnotherFlight() {
+        // Given
+        seatReservationRepository.saveAndFlush(reservation(100L, "1A", 1L));
+
+        // When
+        seatReservationRepository.saveAndFlush(reservation(200L, "1A", 2L));
+
+        // Then
+        assertEquals(1, seatReservationRepository.findByFlightId(200L).size());
+    }
+
+    @Test
+    void testDeleteByBookingId() {
+        // Given
+        seatReservationRepository.saveAllAndFlush(List.of(
+                reservation(100L, "1A", 1L),
+                reservation(100L, "1B", 1L),
+                reservation(100L, "2A", 2L)));
+
+        // When
+        int released = seatReservationRepository.deleteByBookingId(1L);
+
+        // Then
+        assertEquals(2, released);
+        assertEquals(1, seatReservationRepository.findByFlightId(100L).size());
+    }
+
+    private SeatReservation reservation(Long flightId, String seat, Long bookingId) {
+        return new SeatReservation(null, flightId, seat, bookingId, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,155 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.BatchBookingItemResult;
+import com.prj.booking.dto.BatchBookingResponse;
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.exception.SeatUnavailableException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingBatchServiceTest {
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private BookingValidator bookingValidator;
+
+    private BookingBatchService bookingBatchService;
+
+    @BeforeEach
+    void setUp() {
+        bookingBatchService = new BookingBatchService(bookingService, bookingValidator,
+                Validation.buildDefaultValidatorFactory().getValidator());
+        lenient().when(bookingValidator.validateAll(anyList()))
+                .thenAnswer(invocation -> Arrays.asList(new String[invocation.<List<?>>getArgument(0).size()]));
+    }
+
+    @Test
+    void testCreateBookings_AllInOneTransaction() {
+        // Given
+        BookingRequest first = request("1A");
+        BookingRequest second = request("1B");
+        when(bookingService.createBookings(List.of(first, second)))
+                .thenReturn(List.of(response(1L), response(2L)));
+
+        // When
+        BatchBookingResponse response = bookingBatchService.createBookings(List.of(first, second));
+
+        // Then
+        assertEquals(2, response.getCreated());
+        assertEquals(0, response.getFailed());
+        assertEquals(2L, response.getResults().get(1).getBooking().getId());
+        verify(bookingService, never()).createBooking(any(BookingRequest.class));
+    }
+
+    @Test
+    void testCreateBookings_InvalidItemReportedWithoutAbortingBatch() {
+        // Given
+        BookingRequest valid = request("1A");
+        BookingRequest invalid = new BookingRequest();
+        when(bookingService.createBookings(List.of(valid))).thenReturn(List.of(response(1L)));
+
+        // When
+        BatchBookingResponse response = bookingBatchService.createBookings(List.of(invalid, valid));
+
+        // Then
+        assertEquals(1, response.getCreated());
+        assertEquals(BatchBookingItemResult.ItemStatus.FAILED, response.getResults().get(0).getStatus());
+        assertTrue(response.getResults().get(0).getError().contains("Customer ID is required"));
+        assertEquals(BatchBookingItemResult.ItemStatus.CREATED, response.getResults().get(1).getStatus());
+    }
+
+    @Test
+    void testCreateBookings_ItemRejectedByFlightServiceNotWritten() {
+        // Given
+        BookingRequest valid = request("1A");
+        BookingRequest mispriced = request("1B");
+        mispriced.setTotalPrice(1.0);
+        when(bookingValidator.validateAll(List.of(valid, mispriced)))
+                .thenReturn(Arrays.asList(null, "Total price 1.0 does not match 1 passenger(s) at 250.0"));
+        when(bookingService.createBookings(List.of(valid))).thenReturn(List.of(response(1L)));
+
+        // When
+        BatchBookingResponse response = bookingBatchService.createBookings(List.of(valid, mispriced));
+
+        // Then
+        assertEquals(1, response.getCreated());
+        assertEquals(BatchBookingItemResult.ItemStatus.FAILED, response.getResults().get(1).getStatus());
+        assertTrue(response.getResults().get(1).getError().startsWith("Total price"));
+    }
+
+    @Test
+    void testCreateBookings_FallsBackToSingleCallsOnSeatConflict() {
+        // Given
+        BookingRequest first = request("1A");
+        BookingRequest second = request("1B");
+        when(bookingService.createBookings(anyList()))
+                .thenThrow(new SeatUnavailableException("One or more seats in the batch are no longer available"));
+        when(bookingService.createBooking(first)).thenReturn(response(1L));
+        when(bookingService.createBooking(second)).thenThrow(new SeatUnavailableException(100L, List.of("1B")));
+
+        // When
+        BatchBookingResponse response = bookingBatchService.createBookings(List.of(first, second));
+
+        // Then
+        assertEquals(1, response.getCreated());
+        assertEquals(1, response.getFailed());
+        assertEquals(BatchBookingItemResult.ItemStatus.FAILED, response.getResults().get(1).getStatus());
+        assertTrue(response.getResults().get(1).getError().contains("1B"));
+    }
+
+    @Test
+    void testCreateBookings_UnexpectedFailureIsNotExposed() {
+        // Given
+        BookingRequest request = request("1A");
+        when(bookingService.createBookings(anyList())).thenThrow(new IllegalStateException("database down"));
+        when(bookingService.createBooking(request)).thenThrow(new IllegalStateException("relation bookings on host db-1"));
+
+        // When
+        BatchBookingResponse response = bookingBatchService.createBookings(List.of(request));
+
+        // Then
+        assertEquals(1, response.getFailed());
+        assertEquals("Booking could not be created", response.getResults().get(0).getError());
+    }
+
+    @Test
+    void testCreateBookings_RejectsOversizedBatch() {
+        List<BookingRequest> requests = Collections.nCopies(BookingBatchService.MAX_BATCH_SIZE + 1, request("1A"));
+
+        assertThrows(IllegalArgumentException.class, () -> bookingBatchService.createBookings(requests));
+        verifyNoInteractions(bookingService);
+    }
+
+    private BookingRequest request(String seat) {
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(1L);
+        request.setFlightId(100L);
+        request.setNumberOfPassengers(1);
+        request.setTotalPrice(250.00);
+        request.setSeatNumbers(seat);
+        return request;
+    }
+
+    private BookingResponse response(Long id) {
+        BookingResponse response = new BookingResponse();
+        response.setId(id);
+        return response;
+    }
+}
@@ -0,0 +1,156 @@
+package com.prj.booking.service;
+
+import com.prj.booking.config.CacheConfig;
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.entity.Booking;
+import com.prj.booking.repository.BookingRepository;
+import com.prj.booking.repository.SeatReservationRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = "spring.cache.cache-names=bookings")
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({CacheConfig.class, BookingService.class, SeatInventoryService.class, SeatMapIndex.class,
+        FlightCapacityCounters.class, BookingHoldExpiry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingHoldExpiryTest {
+
+    private static final Long FLIGHT_ID = 100L;
+    private static final Duration HOLD = Duration.ofMinutes(30);
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingHoldExpiry bookingHoldExpiry;
+
+    @Autowired
+    private FlightCapacityCounters flightCapacityCounters;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private SeatReservationRepository seatReservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM seat_reservations");
+        jdbcTemplate.update("DELETE FROM bookings");
+    }
+
+    @Test
+    void testExpireHolds_CancelsUnpaidBookingsAndReleasesSeats() {
+        // Given
+        flightCapacityCounters.track(FLIGHT_ID, 3, LocalDateTime.now().plusDays(7));
+        Long unpaid = bookingService.createBooking(request("12A")).getId();
+        Long paid = bookingService.createBooking(request("12B")).getId();
+        Long otherUnpaid = bookingService.createBooking(request(null)).getId();
+        bookingService.confirmBooking(paid, "PAY-1");
+
+        // When
+        int expired = bookingHoldExpiry.expireHoldsDueBy(afterHold());
+
+        // Then
+        assertEquals(2, expired);
+        assertEquals(Booking.BookingStatus.CANCELLED, bookingRepository.findStatusById(unpaid).orElseThrow());
+        assertEquals(Booking.BookingStatus.CANCELLED, bookingRepository.findStatusById(otherUnpaid).orElseThrow());
+        assertEquals(Booking.BookingStatus.CONFIRMED, bookingRepository.findStatusById(paid).orElseThrow());
+        assertTrue(seatReservationRepository.findByBookingId(unpaid).isEmpty());
+        assertEquals(1, seatReservationRepository.findByBookingId(paid).size());
+        assertEquals(2, flightCapacityCounters.getCapacity(FLIGHT_ID).getRemainingSeats());
+        assertEquals(0, bookingHoldExpiry.trackedHolds());
+    }
+
+    @Test
+    void testExpireHolds_NothingBeforeDeadline() {
+        // Given
+        Long id = bookingService.createBooking(request(null)).getId();
+
+        // When
+        long beforeDeadline = System.currentTimeMillis() + HOLD.minusMinutes(1).toMillis();
+        int expired = bookingHoldExpiry.expireHoldsDueBy(beforeDeadline);
+
+        // Then
+        assertEquals(0, expired);
+        assertEquals(Booking.BookingStatus.PENDING, bookingRepository.findStatusById(id).orElseThrow());
+        assertEquals(1, bookingHoldExpiry.trackedHolds());
+    }
+
+    @Test
+    void testRebuild_TracksPendingBookingsFromDatabase() {
+        // Given: a booking written behind the service, e.g. by another replica
+        Long id = bookingRepository.save(pendingBooking()).getId();
+        assertEquals(0, bookingHoldExpiry.trackedHolds());
+
+        // When
+        bookingHoldExpiry.rebuild();
+        int expired = bookingHoldExpiry.expireHoldsDueBy(afterHold());
+
+        // Then
+        assertEquals(1, expired);
+        assertEquals(Booking.BookingStatus.CANCELLED, bookingRepository.findStatusById(id).orElseThrow());
+    }
+
+    @Test
+    void testSweep_ExpiresUntrackedHoldsPastTheirDeadline() {
+        // Given: an expired hold left by a stopped replica and a fresh one, neither tracked here
+        Long orphan = bookingRepository.save(pendingBooking()).getId();
+        Long fresh = bookingRepository.save(pendingBooking()).getId();
+        jdbcTemplate.update("UPDATE bookings SET created_at = ? WHERE id = ?",
+                LocalDateTime.now().minus(HOLD).minusMinutes(1), orphan);
+
+        // When
+        int expired = bookingHoldExpiry.sweepHoldsCreatedBefore(LocalDateTime.now().minus(HOLD));
+
+        // Then
+        assertEquals(1, expired);
+        assertEquals(Booking.BookingStatus.CANCELLED, bookingRepository.findStatusById(orphan).orElseThrow());
+        assertEquals(Booking.BookingStatus.PENDING, bookingRepository.findStatusById(fresh).orElseThrow());
+    }
+
+    private static Booking pendingBooking() {
+        Booking booking = new Booking();
+        booking.setCustomerId(1L);
+        booking.setFlightId(FLIGHT_ID);
+        booking.setNumberOfPassengers(1);
+        booking.setTotalPrice(100.0);
+        booking.setBookingDate(LocalDateTime.now());
+        booking.setStatus(Booking.BookingStatus.PENDING);
+        return booking;
+    }
+
+    private static long afterHold() {
+        return System.currentTimeMillis() + HOLD.plusSeconds(5).toMillis();
+    }
+
+    private BookingRequest request(String seats) {
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(1L);
+        request.setFlightId(FLIGHT_ID);
+        request.setNumberOfPassengers(1);
+        request.setTotalPrice(100.0);
+        request.setSeatNumbers(seats);
+        return request;
+    }
+}
@@ -0,0 +1,50 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.entity.Booking;
+import com.prj.booking.event.BookingChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BookingMetrics bookingMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bookingMetrics = new BookingMetrics(meterRegistry);
+    }
+
+    @Test
+    void testLegalTransitionsRegisteredAtZero() {
+        // Then
+        assertEquals(0.0, transitions("PENDING", "CONFIRMED"));
+        assertEquals(0.0, transitions("CONFIRMED", "CANCELLED"));
+        assertNull(meterRegistry.find("booking.status.transitions").tags("from", "CANCELLED").counter());
+    }
+
+    @Test
+    void testStatusChangeCounted() {
+        // Given
+        BookingResponse booking = new BookingResponse();
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+
+        // When
+        bookingMetrics.onBookingChanged(BookingChangedEvent.statusChanged(booking, Booking.BookingStatus.PENDING));
+        bookingMetrics.onBookingChanged(BookingChangedEvent.created(booking));
+
+        // Then
+        assertEquals(1.0, transitions("PENDING", "CONFIRMED"));
+        assertEquals(1.0, meterRegistry.get("booking.changes").tag("type", "STATUS_CHANGED").counter().count());
+        assertEquals(1.0, meterRegistry.get("booking.changes").tag("type", "CREATED").counter().count());
+    }
+
+    private double transitions(String from, String to) {
+        return meterRegistry.get("booking.status.transitions").tag("from", from).tag("to", to).counter().count();
+    }
+}
@@ -0,0 +1,106 @@
+package com.prj.booking.service;
+
+import com.prj.booking.config.CacheConfig;
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.entity.Booking;
+import com.prj.booking.repository.BookingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.CacheType;
+import org.springframework.boot.test.autoconfigure.core.AutoConfigureCache;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest(properties = {
+        "spring.cache.cache-names=bookings",
+        "spring.cache.caffeine.spec=maximumSize=100,recordStats"
+})
+@AutoConfigureCache(cacheProvider = CacheType.CAFFEINE)
+@Import({CacheConfig.class, BookingService.class, SeatInventoryService.class, SeatMapIndex.class, FlightCapacityCounters.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingServiceCacheTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    void testGetBookingById_ServedFromCacheUntilWrite() {
+        // Given
+        BookingResponse created = bookingService.createBooking(request());
+        Long id = created.getId();
+        bookingService.getBookingById(id);
+
+        // When: a change that bypasses the service is not visible through the cache
+        Booking booking = bookingRepository.findById(id).orElseThrow();
+        booking.setNotes("changed behind the cache");
+        bookingRepository.save(booking);
+
+        // Then
+        assertNull(bookingService.getBookingById(id).getNotes());
+
+        // When: a write through the service evicts the entry
+        bookingService.confirmBooking(id, "PAY-1");
+
+        // Then
+        BookingResponse refreshed = bookingService.getBookingById(id);
+        assertEquals(Booking.BookingStatus.CONFIRMED, refreshed.getStatus());
+        assertEquals("changed behind the cache", refreshed.getNotes());
+    }
+
+    @Test
+    void testDeleteBooking_EvictsEntry() {
+        // Given
+        Long id = bookingService.createBooking(request()).getId();
+        bookingService.getBookingById(id);
+        assertNotNull(cacheManager.getCache(CacheConfig.BOOKINGS_CACHE).get(id));
+
+        // When
+        bookingService.deleteBooking(id);
+
+        // Then
+        assertNull(cacheManager.getCache(CacheConfig.BOOKINGS_CACHE).get(id));
+        assertThrows(RuntimeException.class, () -> bookingService.getBookingById(id));
+    }
+
+    @Test
+    void testEvictCachedBooking_NextReadSeesDatabaseVersion() {
+        // Given: a write made by another replica, which does not evict this cache
+        Long id = bookingService.createBooking(request()).getId();
+        bookingService.getBookingById(id);
+        Booking booking = bookingRepository.findById(id).orElseThrow();
+        booking.setStatus(Booking.BookingStatus.CONFIRMED);
+        bookingRepository.save(booking);
+        assertNotEquals(bookingService.getBookingETag(id), BookingETags.of(bookingService.getBookingById(id)));
+
+        // When
+        bookingService.evictCachedBooking(id);
+
+        // Then
+        BookingResponse refreshed = bookingService.getBookingById(id);
+        assertEquals(Booking.BookingStatus.CONFIRMED, refreshed.getStatus());
+        assertEquals(bookingService.getBookingETag(id), BookingETags.of(refreshed));
+    }
+
+    private BookingRequest request() {
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(1L);
+        request.setFlightId(100L);
+        request.setNumberOfPassengers(1);
+        request.setTotalPrice(250.00);
+        return request;
+    }
+}
@@ -1,23 +1,41 @@
 package com.prj.booking.service;
 
+import com.prj.booking.dto.BookingPageResponse;
 import com.prj.booking.dto.BookingRequest;
 import com.prj.booking.dto.BookingResponse;
 import com.prj.booking.entity.Booking;
+import com.prj.booking.entity.SeatReservation;
+import com.prj.booking.event.BookingChangedEvent;
+import com.prj.booking.exception.BookingNotFoundException;
+import com.prj.booking.exception.FlightFullException;
+import com.prj.booking.exception.InvalidStatusTransitionException;
+import com.prj.booking.exception.SeatUnavailableException;
 import com.prj.booking.repository.BookingRepository;
+import com.prj.booking.repository.BookingVersion;
+import com.prj.booking.repository.StatusTransition;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +44,18 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private SeatInventoryService seatInventoryService;
+
+    @Mock
+    private SeatMapIndex seatMapIndex;
+
+    @Mock
+    private FlightCapacityCounters flightCapacityCounters;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -77,12 +107,74 @@ class BookingServiceTest {
         assertEquals(bookingRequest.getNumberOfPassengers(), response.getNumberOfPassengers());
         assertEquals(Booking.BookingStatus.PENDING, response.getStatus());
         verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(seatInventoryService, times(1)).reserve(100L, bookingId, List.of("1A", "2A"));
+        verify(eventPublisher, times(1)).publishEvent(any(BookingChangedEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateBookings_Success() {
+        // Given
+        Booking second = new Booking();
+        second.setId(2L);
+        second.setFlightId(100L);
+        second.setStatus(Booking.BookingStatus.PENDING);
+        BookingRequest secondRequest = new BookingRequest();
+        secondRequest.setCustomerId(2L);
+        secondRequest.setFlightId(100L);
+        secondRequest.setNumberOfPassengers(1);
+        secondRequest.setTotalPrice(250.00);
+        secondRequest.setSeatNumbers("3C");
+        when(bookingRepository.saveAll(anyList())).thenReturn(List.of(booking, second));
+
+        // When
+        List<BookingResponse> responses = bookingService.createBookings(List.of(bookingRequest, secondRequest));
+
+        // Then
+        assertEquals(2, responses.size());
+        ArgumentCaptor<List<SeatReservation>> reservations = ArgumentCaptor.forClass(List.class);
+        verify(seatInventoryService, times(1)).reserveAll(reservations.capture());
+        assertEquals(3, reservations.getValue().size());
+        verify(bookingRepository, times(1)).flush();
+        verify(eventPublisher, times(2)).publishEvent(any(BookingChangedEvent.class));
+    }
+
+    @Test
+    void testCreateBooking_SeatsTaken() {
+        // Given
+        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        doThrow(new SeatUnavailableException(100L, List.of("1A", "2A")))
+                .when(seatInventoryService).reserve(100L, bookingId, List.of("1A", "2A"));
+
+        // When & Then
+        assertThrows(SeatUnavailableException.class, () -> bookingService.createBooking(bookingRequest));
+    }
+
+    @Test
+    void testCreateBooking_FlightFull() {
+        // Given
+        doThrow(new FlightFullException(100L, 1, 2)).when(flightCapacityCounters).acquire(100L, 2);
+
+        // When & Then
+        assertThrows(FlightFullException.class, () -> bookingService.createBooking(bookingRequest));
+        verify(bookingRepository, never()).save(any(Booking.class));
+    }
+
+    @Test
+    void testCreateBooking_SeatCountMismatch() {
+        // Given
+        bookingRequest.setSeatNumbers("A1");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> bookingService.createBooking(bookingRequest));
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verifyNoInteractions(seatInventoryService);
     }
 
     @Test
     void testGetBookingById_Success() {
         // Given
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.findResponseById(bookingId)).thenReturn(Optional.of(BookingService.mapToResponse(booking)));
 
         // When
         BookingResponse response = bookingService.getBookingById(bookingId);
@@ -90,44 +182,183 @@ class BookingServiceTest {
         // Then
         assertNotNull(response);
         assertEquals(bookingId, response.getId());
-        verify(bookingRepository, times(1)).findById(bookingId);
+        verify(bookingRepository, times(1)).findResponseById(bookingId);
+        verify(bookingRepository, never()).findById(any());
     }
 
     @Test
     void testGetBookingById_NotFound() {
         // Given
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
+        when(bookingRepository.findResponseById(bookingId)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThrows(RuntimeException.class, () -> bookingService.getBookingById(bookingId));
-        verify(bookingRepository, times(1)).findById(bookingId);
+        assertThrows(BookingNotFoundException.class, () -> bookingService.getBookingById(bookingId));
+        verify(bookingRepository, times(1)).findResponseById(bookingId);
     }
 
     @Test
-    void testGetAllBookings_Success() {
+    void testGetBookingETag_UsesVersionOnly() {
         // Given
-        Booking booking2 = new Booking();
-        booking2.setId(2L);
-        booking2.setCustomerId(2L);
-        booking2.setFlightId(200L);
-        booking2.setStatus(Booking.BookingStatus.CONFIRMED);
-        
-        when(bookingRepository.findAll()).thenReturn(Arrays.asList(booking, booking2));
+        when(bookingRepository.findVersionById(bookingId)).thenReturn(Optional.of(5L));
 
         // When
-        List<BookingResponse> responses = bookingService.getAllBookings();
+        String etag = bookingService.getBookingETag(bookingId);
 
         // Then
-        assertNotNull(responses);
-        assertEquals(2, responses.size());
-        verify(bookingRepository, times(1)).findAll();
+        assertEquals("\"5\"", etag);
+        verify(bookingRepository, never()).findById(any());
+        verify(bookingRepository, never()).findResponseById(any());
+    }
+
+    @Test
+    void testGetBookingETag_NotFound() {
+        // Given
+        when(bookingRepository.findVersionById(bookingId)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(BookingNotFoundException.class, () -> bookingService.getBookingETag(bookingId));
+    }
+
+    @Test
+    void testGetBookingsETagByCustomerId_ChangesWithVersion() {
+        // Given
+        when(bookingRepository.findVersionsByCustomerId(1L))
+                .thenReturn(List.of(new BookingVersion(1L, 0L)))
+                .thenReturn(List.of(new BookingVersion(1L, 1L)));
+
+        // When
+        String before = bookingService.getBookingsETagByCustomerId(1L, Set.of());
+        String after = bookingService.getBookingsETagByCustomerId(1L, Set.of());
+
+        // Then
+        assertNotEquals(before, after);
+        assertNotEquals(before, BookingETags.ofVersions(List.of(new BookingVersion(1L, 0L)), List.of("status")));
+    }
+
+    @Test
+    void testGetBookingsByCustomerIdWithETag_MatchesVersionOnlyETag() {
+        // Given
+        BookingResponse response = BookingService.mapToResponse(booking);
+        when(bookingRepository.findResponsesByCustomerId(1L)).thenReturn(List.of(response));
+        when(bookingRepository.findVersionsByCustomerId(1L))
+                .thenReturn(List.of(new BookingVersion(response.getId(), response.getVersion())));
+
+        // When
+        ETagged<List<?>> tagged = bookingService.getBookingsByCustomerIdWithETag(1L, Set.of());
+
+        // Then
+        assertEquals(List.of(response), tagged.body());
+        assertEquals(bookingService.getBookingsETagByCustomerId(1L, Set.of()), tagged.etag());
+    }
+
+    @Test
+    void testGetBookingsPageWithETag_SelectedFieldsDropTheVersion() {
+        // Given
+        Set<String> fields = Set.of("status");
+        Map<String, Object> first = new HashMap<>(Map.of("id", 1L, "status", Booking.BookingStatus.PENDING,
+                "version", 3L));
+        Map<String, Object> second = new HashMap<>(Map.of("id", 2L, "status", Booking.BookingStatus.CONFIRMED,
+                "version", 0L));
+        when(bookingRepository.findFieldsAfter(0L, Set.of("status", "version"), Limit.of(2)))
+                .thenReturn(List.of(first, second));
+
+        // When
+        ETagged<BookingPageResponse<?>> tagged = bookingService.getBookingsPageWithETag(null, 1, fields);
+
+        // Then
+        assertEquals(BookingETags.ofVersions(List.of(new BookingVersion(1L, 3L), new BookingVersion(2L, 0L)),
+                fields), tagged.etag());
+        assertEquals(List.of(Map.of("id", 1L, "status", Booking.BookingStatus.PENDING)), tagged.body().getContent());
+        assertEquals(1L, tagged.body().getNextCursor());
+    }
+
+    @Test
+    void testGetBookingsPage_HasNextPage() {
+        // Given
+        BookingResponse response2 = new BookingResponse();
+        response2.setId(2L);
+        response2.setCustomerId(2L);
+        response2.setFlightId(200L);
+        response2.setStatus(Booking.BookingStatus.CONFIRMED);
+
+        when(bookingRepository.findResponsesAfter(0L, Limit.of(2)))
+                .thenReturn(Arrays.asList(BookingService.mapToResponse(booking), response2));
+
+        // When
+        BookingPageResponse<BookingResponse> page = bookingService.getBookingsPage(null, 1);
+
+        // Then
+        assertEquals(1, page.getSize());
+        assertEquals(bookingId, page.getContent().get(0).getId());
+        assertEquals(bookingId, page.getNextCursor());
+    }
+
+    @Test
+    void testGetBookingsPage_LastPage() {
+        // Given
+        when(bookingRepository.findResponsesAfter(0L, Limit.of(BookingService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(Arrays.asList(BookingService.mapToResponse(booking)));
+
+        // When
+        BookingPageResponse<BookingResponse> page = bookingService.getBookingsPage(null, null);
+
+        // Then
+        assertEquals(1, page.getSize());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetBookingsPage_SizeIsCapped() {
+        // Given
+        when(bookingRepository.findResponsesAfter(10L, Limit.of(BookingService.MAX_PAGE_SIZE + 1)))
+                .thenReturn(List.of());
+
+        // When
+        BookingPageResponse<BookingResponse> page = bookingService.getBookingsPage(10L, 100_000);
+
+        // Then
+        assertEquals(0, page.getSize());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetBookingsPage_SelectedFields() {
+        // Given
+        Set<String> fields = Set.of("status");
+        when(bookingRepository.findFieldsAfter(0L, fields, Limit.of(2))).thenReturn(List.of(
+                Map.of("id", 1L, "status", Booking.BookingStatus.PENDING),
+                Map.of("id", 2L, "status", Booking.BookingStatus.CONFIRMED)));
+
+        // When
+        BookingPageResponse<Map<String, Object>> page = bookingService.getBookingsPage(null, 1, fields);
+
+        // Then
+        assertEquals(1, page.getSize());
+        assertEquals(Booking.BookingStatus.PENDING, page.getContent().get(0).get("status"));
+        assertEquals(1L, page.getNextCursor());
+        verify(bookingRepository, never()).findResponsesAfter(any(), any());
+    }
+
+    @Test
+    void testStreamAllBookings_ReadsProjections() {
+        // Given
+        when(bookingRepository.streamResponses()).thenReturn(Stream.of(BookingService.mapToResponse(booking)));
+        List<BookingResponse> streamed = new ArrayList<>();
+
+        // When
+        bookingService.streamAllBookings(streamed::add);
+
+        // Then
+        assertEquals(1, streamed.size());
+        assertEquals(bookingId, streamed.get(0).getId());
     }
 
     @Test
     void testGetBookingsByCustomerId_Success() {
         // Given
         Long customerId = 1L;
-        when(bookingRepository.findByCustomerId(customerId)).thenReturn(Arrays.asList(booking));
+        when(bookingRepository.findResponsesByCustomerId(customerId))
+                .thenReturn(Arrays.asList(BookingService.mapToResponse(booking)));
 
         // When
         List<BookingResponse> responses = bookingService.getBookingsByCustomerId(customerId);
@@ -136,14 +367,15 @@ class BookingServiceTest {
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals(customerId, responses.get(0).getCustomerId());
-        verify(bookingRepository, times(1)).findByCustomerId(customerId);
+        verify(bookingRepository, times(1)).findResponsesByCustomerId(customerId);
     }
 
     @Test
     void testGetBookingsByFlightId_Success() {
         // Given
         Long flightId = 100L;
-        when(bookingRepository.findByFlightId(flightId)).thenReturn(Arrays.asList(booking));
+        when(bookingRepository.findResponsesByFlightId(flightId))
+                .thenReturn(Arrays.asList(BookingService.mapToResponse(booking)));
 
         // When
         List<BookingResponse> responses = bookingService.getBookingsByFlightId(flightId);
@@ -152,108 +384,144 @@ class BookingServiceTest {
         assertNotNull(responses);
         assertEquals(1, responses.size());
         assertEquals(flightId, responses.get(0).getFlightId());
-        verify(bookingRepository, times(1)).findByFlightId(flightId);
+        verify(bookingRepository, times(1)).findResponsesByFlightId(flightId);
     }
 
     @Test
     void testUpdateBookingStatus_Success() {
         // Given
         Booking.BookingStatus newStatus = Booking.BookingStatus.CONFIRMED;
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        Booking confirmed = copyWithStatus(booking, newStatus);
+        when(bookingRepository.transitionStatus(bookingId, newStatus, null))
+                .thenReturn(Optional.of(new StatusTransition(confirmed, Booking.BookingStatus.PENDING)));
 
         // When
         BookingResponse response = bookingService.updateBookingStatus(bookingId, newStatus);
 
         // Then
-        assertNotNull(response);
-        verify(bookingRepository, times(1)).findById(bookingId);
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        assertEquals(newStatus, response.getStatus());
+        verify(bookingRepository, never()).findById(bookingId);
+        verify(bookingRepository, never()).save(any(Booking.class));
     }
 
     @Test
     void testUpdateBookingStatus_NotFound() {
         // Given
         Booking.BookingStatus newStatus = Booking.BookingStatus.CONFIRMED;
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
+        when(bookingRepository.transitionStatus(bookingId, newStatus, null)).thenReturn(Optional.empty());
+        when(bookingRepository.findStatusById(bookingId)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThrows(RuntimeException.class, () -> 
+        assertThrows(BookingNotFoundException.class, () ->
             bookingService.updateBookingStatus(bookingId, newStatus));
-        verify(bookingRepository, times(1)).findById(bookingId);
-        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateBookingStatus_IllegalTransition() {
+        // Given
+        when(bookingRepository.transitionStatus(bookingId, Booking.BookingStatus.PENDING, null)).thenReturn(Optional.empty());
+        when(bookingRepository.findStatusById(bookingId)).thenReturn(Optional.of(Booking.BookingStatus.CONFIRMED));
+
+        // When & Then
+        InvalidStatusTransitionException ex = assertThrows(InvalidStatusTransitionException.class, () ->
+            bookingService.updateBookingStatus(bookingId, Booking.BookingStatus.PENDING));
+        assertEquals(Booking.BookingStatus.CONFIRMED, ex.getFrom());
+        assertEquals(Booking.BookingStatus.PENDING, ex.getTo());
     }
 
     @Test
     void testConfirmBooking_Success() {
         // Given
         String paymentId = "PAY-12345";
-        booking.setStatus(Booking.BookingStatus.PENDING);
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        Booking confirmed = copyWithStatus(booking, Booking.BookingStatus.CONFIRMED);
+        confirmed.setPaymentId(paymentId);
+        when(bookingRepository.transitionStatus(bookingId, Booking.BookingStatus.CONFIRMED, paymentId))
+                .thenReturn(Optional.of(new StatusTransition(confirmed, Booking.BookingStatus.PENDING)));
 
         // When
         BookingResponse response = bookingService.confirmBooking(bookingId, paymentId);
 
         // Then
-        assertNotNull(response);
-        verify(bookingRepository, times(1)).findById(bookingId);
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        assertEquals(Booking.BookingStatus.CONFIRMED, response.getStatus());
+        assertEquals(paymentId, response.getPaymentId());
+        verify(eventPublisher, times(1)).publishEvent(any(BookingChangedEvent.class));
+        verify(seatInventoryService, never()).release(any());
+    }
+
+    @Test
+    void testConfirmBooking_AlreadyConfirmed() {
+        // Given
+        when(bookingRepository.transitionStatus(bookingId, Booking.BookingStatus.CONFIRMED, "PAY-2")).thenReturn(Optional.empty());
+        when(bookingRepository.findStatusById(bookingId)).thenReturn(Optional.of(Booking.BookingStatus.CONFIRMED));
+
+        // When & Then
+        assertThrows(InvalidStatusTransitionException.class, () -> bookingService.confirmBooking(bookingId, "PAY-2"));
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     void testCancelBooking_Success() {
         // Given
-        booking.setStatus(Booking.BookingStatus.PENDING);
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(bookingRepository.save(any(Booking.class))).thenReturn(booking);
+        Booking cancelled = copyWithStatus(booking, Booking.BookingStatus.CANCELLED);
+        when(bookingRepository.transitionStatus(bookingId, Booking.BookingStatus.CANCELLED, null))
+                .thenReturn(Optional.of(new StatusTransition(cancelled, Booking.BookingStatus.PENDING)));
 
         // When
         BookingResponse response = bookingService.cancelBooking(bookingId);
 
         // Then
-        assertNotNull(response);
-        verify(bookingRepository, times(1)).findById(bookingId);
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        assertEquals(Booking.BookingStatus.CANCELLED, response.getStatus());
+        verify(seatInventoryService, times(1)).release(bookingId);
     }
 
     @Test
     void testCancelBooking_AlreadyCancelled() {
         // Given
-        booking.setStatus(Booking.BookingStatus.CANCELLED);
-        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(bookingRepository.transitionStatus(bookingId, Booking.BookingStatus.CANCELLED, null)).thenReturn(Optional.empty());
+        when(bookingRepository.findStatusById(bookingId)).thenReturn(Optional.of(Booking.BookingStatus.CANCELLED));
 
         // When & Then
-        assertThrows(RuntimeException.class, () -> bookingService.cancelBooking(bookingId));
-        verify(bookingRepository, times(1)).findById(bookingId);
-        verify(bookingRepository, never()).save(any(Booking.class));
+        assertThrows(InvalidStatusTransitionException.class, () -> bookingService.cancelBooking(bookingId));
+        verify(seatInventoryService, never()).release(any());
     }
 
     @Test
     void testDeleteBooking_Success() {
         // Given
-        when(bookingRepository.existsById(bookingId)).thenReturn(true);
-        doNothing().when(bookingRepository).deleteById(bookingId);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         // When
         bookingService.deleteBooking(bookingId);
 
         // Then
-        verify(bookingRepository, times(1)).existsById(bookingId);
-        verify(bookingRepository, times(1)).deleteById(bookingId);
+        verify(bookingRepository, times(1)).findById(bookingId);
+        verify(bookingRepository, times(1)).delete(booking);
+        verify(seatInventoryService, times(1)).release(bookingId);
+        verify(eventPublisher, times(1)).publishEvent(any(BookingChangedEvent.class));
     }
 
     @Test
     void testDeleteBooking_NotFound() {
         // Given
-        when(bookingRepository.existsById(bookingId)).thenReturn(false);
+        when(bookingRepository.findById(bookingId)).thenReturn(Optional.empty());
 
         // When & Then
-        assertThrows(RuntimeException.class, () -> bookingService.deleteBooking(bookingId));
-        verify(bookingRepository, times(1)).existsById(bookingId);
-        verify(bookingRepository, never()).deleteById(bookingId);
+        assertThrows(BookingNotFoundException.class, () -> bookingService.deleteBooking(bookingId));
+        verify(bookingRepository, times(1)).findById(bookingId);
+        verify(bookingRepository, never()).delete(any(Booking.class));
+        verifyNoInteractions(eventPublisher);
     }
-}
-
-
 
+    private Booking copyWithStatus(Booking source, Booking.BookingStatus status) {
+        Booking copy = new Booking();
+        copy.setId(source.getId());
+        copy.setCustomerId(source.getCustomerId());
+        copy.setFlightId(source.getFlightId());
+        copy.setNumberOfPassengers(source.getNumberOfPassengers());
+        copy.setTotalPrice(source.getTotalPrice());
+        copy.setBookingDate(source.getBookingDate());
+        copy.setStatus(status);
+        return copy;
+    }
+}
@@ -0,0 +1,84 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.dto.BookingResponse;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Traces are exported to an in-memory exporter: one createBooking call must produce a service span
+ * with the JDBC spans of its statements in the same trace.
+ */
+@SpringBootTest(properties = {
+        "spring.cloud.config.enabled=false",
+        "eureka.client.enabled=false",
+        "booking.outbox.relay-enabled=false",
+        "management.tracing.sampling.probability=1.0"
+})
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase
+@AutoConfigureObservability(metrics = false)
+class BookingTracingTest {
+
+    @TestConfiguration
+    static class InMemoryExporterConfig {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Test
+    void testCreateBooking_ServiceAndJdbcSpansInOneTrace() {
+        // Given
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(1L);
+        request.setFlightId(100L);
+        request.setNumberOfPassengers(1);
+        request.setTotalPrice(250.00);
+        request.setDepartureDate(LocalDateTime.now().plusDays(7));
+        request.setSeatNumbers("12A");
+
+        // When
+        BookingResponse response = bookingService.createBooking(request);
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        // Then
+        assertNotNull(response.getId());
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        SpanData serviceSpan = spans.stream()
+                .filter(span -> span.getName().equals("booking-service#create-booking"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No service span in " + spans));
+        List<SpanData> jdbcSpans = spans.stream()
+                .filter(span -> span.getTraceId().equals(serviceSpan.getTraceId()))
+                .filter(span -> span.getName().equals("query"))
+                .toList();
+        assertFalse(jdbcSpans.isEmpty(), "No JDBC spans in " + spans);
+    }
+}
@@ -0,0 +1,148 @@
+package com.prj.booking.service;
+
+import com.prj.booking.client.CustomerClient;
+import com.prj.booking.client.FlightClient;
+import com.prj.booking.client.FlightInfo;
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.exception.DependencyUnavailableException;
+import com.prj.booking.exception.InvalidBookingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingValidatorTest {
+
+    private static final LocalDateTime DEPARTURE = LocalDateTime.now().plusDays(7);
+
+    @Mock
+    private FlightClient flightClient;
+
+    @Mock
+    private CustomerClient customerClient;
+
+    @Mock
+    private FlightCapacityCounters flightCapacityCounters;
+
+    private BookingValidator bookingValidator;
+
+    @BeforeEach
+    void setUp() {
+        bookingValidator = new BookingValidator(flightClient, customerClient, flightCapacityCounters);
+        when(flightClient.isEnabled()).thenReturn(true);
+        lenient().when(customerClient.isEnabled()).thenReturn(false);
+    }
+
+    @Test
+    void testValidate_Success() {
+        // Given
+        when(flightClient.getFlight(100L)).thenReturn(flight("SCHEDULED", 250.0));
+
+        // When
+        assertDoesNotThrow(() -> bookingValidator.validate(request(100L, 2, 500.0)));
+
+        // Then
+        verify(flightCapacityCounters).track(100L, 180, DEPARTURE);
+    }
+
+    @Test
+    void testValidate_FlightNotFound() {
+        // Given
+        when(flightClient.getFlight(100L)).thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+
+        // When & Then
+        InvalidBookingException ex = assertThrows(InvalidBookingException.class,
+                () -> bookingValidator.validate(request(100L, 1, 250.0)));
+        assertEquals("Flight 100 not found", ex.getMessage());
+    }
+
+    @Test
+    void testValidate_CancelledFlight() {
+        // Given
+        when(flightClient.getFlight(100L)).thenReturn(flight("CANCELLED", 250.0));
+
+        // When & Then
+        InvalidBookingException ex = assertThrows(InvalidBookingException.class,
+                () -> bookingValidator.validate(request(100L, 1, 250.0)));
+        assertEquals("Flight AF100 is cancelled", ex.getMessage());
+        verifyNoInteractions(flightCapacityCounters);
+    }
+
+    @Test
+    void testValidate_FlightServiceUnavailable() {
+        // Given
+        when(flightClient.getFlight(100L))
+                .thenReturn(CompletableFuture.failedFuture(new DependencyUnavailableException("flight-service")));
+
+        // When & Then
+        assertThrows(DependencyUnavailableException.class,
+                () -> bookingValidator.validate(request(100L, 1, 250.0)));
+    }
+
+    @Test
+    void testValidateAll_OneCallPerFlightAndCustomer() {
+        // Given
+        when(customerClient.isEnabled()).thenReturn(true);
+        when(customerClient.exists(1L)).thenReturn(CompletableFuture.completedFuture(true));
+        when(customerClient.exists(2L)).thenReturn(CompletableFuture.completedFuture(false));
+        when(flightClient.getFlight(100L)).thenReturn(flight("SCHEDULED", 250.0));
+        when(flightClient.getFlight(200L)).thenReturn(flight("SCHEDULED", 100.0));
+        BookingRequest unknownCustomer = request(100L, 1, 250.0);
+        unknownCustomer.setCustomerId(2L);
+
+        // When
+        List<String> errors = bookingValidator.validateAll(List.of(
+                request(100L, 1, 250.0), request(100L, 1, 200.0), request(200L, 2, 200.0), unknownCustomer));
+
+        // Then
+        assertEquals(Arrays.asList(null, "Total price 200.0 does not match 1 passenger(s) at 250.0", null,
+                "Customer 2 not found"), errors);
+        verify(flightClient, times(2)).getFlight(anyLong());
+        verify(customerClient, times(2)).exists(anyLong());
+    }
+
+    @Test
+    @Timeout(5)
+    void testValidateAll_CallsAreSentInParallel() {
+        // Given: flight 200 answers only after flight 100 was requested
+        CompletableFuture<Optional<FlightInfo>> first = new CompletableFuture<>();
+        when(flightClient.getFlight(100L)).thenReturn(first);
+        when(flightClient.getFlight(200L)).thenAnswer(invocation -> {
+            first.complete(Optional.of(new FlightInfo(100L, "AF100", LocalDateTime.now(), 250.0, 180, "SCHEDULED")));
+            return flight("SCHEDULED", 100.0);
+        });
+
+        // When
+        List<String> errors = bookingValidator.validateAll(List.of(request(100L, 1, 250.0), request(200L, 1, 100.0)));
+
+        // Then
+        assertEquals(Arrays.asList(null, null), errors);
+    }
+
+    private CompletableFuture<Optional<FlightInfo>> flight(String status, double price) {
+        return CompletableFuture.completedFuture(
+                Optional.of(new FlightInfo(100L, "AF100", DEPARTURE, price, 180, status)));
+    }
+
+    private BookingRequest request(Long flightId, int passengers, double totalPrice) {
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(1L);
+        request.setFlightId(flightId);
+        request.setNumberOfPassengers(passengers);
+        request.setTotalPrice(totalPrice);
+        return request;
+    }
+}
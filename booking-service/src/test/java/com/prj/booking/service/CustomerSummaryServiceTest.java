@@ -0,0 +1,153 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.dto.CustomerBookingSummaryResponse;
+import com.prj.booking.entity.Booking;
+import com.prj.booking.entity.CustomerBookingSummary;
+import com.prj.booking.repository.CustomerBookingSummaryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Import({BookingService.class, SeatInventoryService.class, SeatMapIndex.class, FlightCapacityCounters.class, CustomerSummaryService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerSummaryServiceTest {
+
+    private static final Long CUSTOMER_ID = 42L;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private CustomerSummaryService customerSummaryService;
+
+    @Autowired
+    private CustomerBookingSummaryRepository summaryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime soon = LocalDateTime.now().plusDays(2).truncatedTo(ChronoUnit.SECONDS);
+    private final LocalDateTime later = LocalDateTime.now().plusDays(20).truncatedTo(ChronoUnit.SECONDS);
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM seat_reservations");
+        jdbcTemplate.update("DELETE FROM bookings");
+        summaryRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testGetSummary_UnknownCustomerIsEmpty() {
+        // When
+        CustomerBookingSummaryResponse summary = customerSummaryService.getSummary(CUSTOMER_ID);
+
+        // Then
+        assertEquals(0L, summary.getTotalBookings());
+        assertEquals(0.0, summary.getTotalSpent());
+        assertNull(summary.getNextDeparture());
+    }
+
+    @Test
+    void testOnBookingChanged_KeepsSummaryInSyncWithWrites() {
+        // Given
+        Long first = bookingService.createBooking(request(100.0, soon)).getId();
+        Long second = bookingService.createBooking(request(200.0, later)).getId();
+        Long third = bookingService.createBooking(request(300.0, null)).getId();
+
+        // When
+        bookingService.confirmBooking(second, "PAY-2");
+        bookingService.cancelBooking(first);
+        bookingService.updateBookingStatus(second, Booking.BookingStatus.COMPLETED);
+        bookingService.deleteBooking(third);
+        bookingService.createBooking(request(50.0, later.plusDays(1)));
+
+        // Then
+        CustomerBookingSummaryResponse summary = customerSummaryService.getSummary(CUSTOMER_ID);
+        assertEquals(3L, summary.getTotalBookings());
+        assertEquals(1L, summary.getCountsByStatus().get(Booking.BookingStatus.PENDING));
+        assertEquals(0L, summary.getCountsByStatus().get(Booking.BookingStatus.CONFIRMED));
+        assertEquals(1L, summary.getCountsByStatus().get(Booking.BookingStatus.CANCELLED));
+        assertEquals(1L, summary.getCountsByStatus().get(Booking.BookingStatus.COMPLETED));
+        assertEquals(250.0, summary.getTotalSpent(), 0.001);
+        assertEquals(later.plusDays(1), summary.getNextDeparture());
+    }
+
+    @Test
+    void testOnBookingsExpired_AppliesBatchPerCustomer() {
+        // Given
+        Long first = bookingService.createBooking(request(100.0, soon)).getId();
+        Long second = bookingService.createBooking(request(200.0, later)).getId();
+        Long paid = bookingService.createBooking(request(50.0, later.plusDays(1))).getId();
+        bookingService.confirmBooking(paid, "PAY-1");
+
+        // When
+        bookingService.expireHolds(List.of(first, second, paid), LocalDateTime.now().plusMinutes(1));
+
+        // Then
+        CustomerBookingSummaryResponse summary = customerSummaryService.getSummary(CUSTOMER_ID);
+        assertEquals(3L, summary.getTotalBookings());
+        assertEquals(0L, summary.getCountsByStatus().get(Booking.BookingStatus.PENDING));
+        assertEquals(1L, summary.getCountsByStatus().get(Booking.BookingStatus.CONFIRMED));
+        assertEquals(2L, summary.getCountsByStatus().get(Booking.BookingStatus.CANCELLED));
+        assertEquals(50.0, summary.getTotalSpent(), 0.001);
+        assertEquals(later.plusDays(1), summary.getNextDeparture());
+    }
+
+    @Test
+    void testRebuild_MatchesIncrementalSummary() {
+        // Given
+        Long first = bookingService.createBooking(request(100.0, soon)).getId();
+        bookingService.createBooking(request(200.0, later));
+        bookingService.cancelBooking(first);
+        CustomerBookingSummaryResponse incremental = customerSummaryService.getSummary(CUSTOMER_ID);
+
+        // When: the projection is lost and regenerated from the bookings table
+        summaryRepository.deleteAllInBatch();
+        int customers = customerSummaryService.rebuild();
+
+        // Then
+        assertEquals(1, customers);
+        assertEquals(incremental, customerSummaryService.getSummary(CUSTOMER_ID));
+        assertEquals(later, incremental.getNextDeparture());
+    }
+
+    @Test
+    void testRebuild_RemovesSummariesOfCustomersWithoutBookings() {
+        // Given: a summary left behind by bookings deleted outside the service
+        bookingService.createBooking(request(100.0, soon));
+        summaryRepository.save(CustomerBookingSummary.empty(CUSTOMER_ID + 1));
+
+        // When
+        int customers = customerSummaryService.rebuild();
+
+        // Then
+        assertEquals(1, customers);
+        assertTrue(summaryRepository.findById(CUSTOMER_ID).isPresent());
+        assertTrue(summaryRepository.findById(CUSTOMER_ID + 1).isEmpty());
+    }
+
+    private BookingRequest request(double price, LocalDateTime departure) {
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(CUSTOMER_ID);
+        request.setFlightId(100L);
+        request.setNumberOfPassengers(1);
+        request.setTotalPrice(price);
+        request.setDepartureDate(departure);
+        return request;
+    }
+}
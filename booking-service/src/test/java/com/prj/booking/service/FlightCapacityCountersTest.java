@@ -0,0 +1,174 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.dto.FlightCapacityResponse;
+import com.prj.booking.exception.FlightFullException;
+import com.prj.booking.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@Import({BookingService.class, SeatInventoryService.class, SeatMapIndex.class, FlightCapacityCounters.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class FlightCapacityCountersTest {
+
+    private static final Long FLIGHT_ID = 100L;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private FlightCapacityCounters flightCapacityCounters;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM seat_reservations");
+        jdbcTemplate.update("DELETE FROM bookings");
+    }
+
+    @Test
+    void testCreateBooking_UnlimitedWhenNotTracked() {
+        // When
+        bookingService.createBooking(request(FLIGHT_ID + 1, 50));
+
+        // Then
+        FlightCapacityResponse capacity = flightCapacityCounters.getCapacity(FLIGHT_ID + 1);
+        assertNull(capacity.getTotalSeats());
+        assertNull(capacity.getRemainingSeats());
+    }
+
+    @Test
+    void testCreateBooking_RejectedWhenFlightFull() {
+        // Given
+        flightCapacityCounters.track(FLIGHT_ID, 3, departure());
+        bookingService.createBooking(request(FLIGHT_ID, 2));
+
+        // When & Then
+        FlightFullException ex = assertThrows(FlightFullException.class,
+                () -> bookingService.createBooking(request(FLIGHT_ID, 2)));
+        assertEquals("Flight 100 has 1 seat(s) left, 2 requested", ex.getMessage());
+        assertEquals(1, bookingRepository.count());
+        assertEquals(1, flightCapacityCounters.getCapacity(FLIGHT_ID).getRemainingSeats());
+    }
+
+    @Test
+    void testCreateBookings_RollbackGivesSeatsBack() {
+        // Given
+        flightCapacityCounters.track(FLIGHT_ID, 3, departure());
+        BookingRequest invalid = request(FLIGHT_ID, 1);
+        invalid.setSeatNumbers("1A,1B");
+
+        // When
+        assertThrows(IllegalArgumentException.class,
+                () -> bookingService.createBookings(List.of(request(FLIGHT_ID, 2), invalid)));
+
+        // Then
+        assertEquals(0, bookingRepository.count());
+        assertEquals(3, flightCapacityCounters.getCapacity(FLIGHT_ID).getRemainingSeats());
+    }
+
+    @Test
+    void testCancelAndDelete_GiveSeatsBack() {
+        // Given
+        flightCapacityCounters.track(FLIGHT_ID, 4, departure());
+        Long first = bookingService.createBooking(request(FLIGHT_ID, 2)).getId();
+        Long second = bookingService.createBooking(request(FLIGHT_ID, 2)).getId();
+        assertEquals(0, flightCapacityCounters.getCapacity(FLIGHT_ID).getRemainingSeats());
+
+        // When
+        bookingService.cancelBooking(first);
+        bookingService.deleteBooking(second);
+
+        // Then
+        assertEquals(4, flightCapacityCounters.getCapacity(FLIGHT_ID).getRemainingSeats());
+    }
+
+    @Test
+    void testTrack_LoadsSeatsAlreadyHeld() {
+        // Given: bookings made before this instance tracked the flight
+        bookingService.createBooking(request(FLIGHT_ID, 2));
+
+        // When
+        flightCapacityCounters.track(FLIGHT_ID, 10, departure());
+
+        // Then
+        assertEquals(8, flightCapacityCounters.getCapacity(FLIGHT_ID).getRemainingSeats());
+    }
+
+    @Test
+    void testTrack_AppliesCapacityChange() {
+        // Given
+        flightCapacityCounters.track(FLIGHT_ID, 10, departure());
+        bookingService.createBooking(request(FLIGHT_ID, 2));
+
+        // When: flight-service now reports a smaller aircraft
+        flightCapacityCounters.track(FLIGHT_ID, 8, departure());
+
+        // Then
+        FlightCapacityResponse capacity = flightCapacityCounters.getCapacity(FLIGHT_ID);
+        assertEquals(8, capacity.getTotalSeats());
+        assertEquals(6, capacity.getRemainingSeats());
+    }
+
+    @Test
+    void testReconcileAll_PicksUpBookingsMadeElsewhere() {
+        // Given
+        flightCapacityCounters.track(FLIGHT_ID, 10, departure());
+        bookingService.createBooking(request(FLIGHT_ID, 2));
+
+        // When: another instance changed the bookings
+        jdbcTemplate.update("UPDATE bookings SET number_of_passengers = 5 WHERE flight_id = ?", FLIGHT_ID);
+        flightCapacityCounters.reconcileAll();
+
+        // Then
+        assertEquals(5, flightCapacityCounters.getCapacity(FLIGHT_ID).getRemainingSeats());
+    }
+
+    @Test
+    void testReconcileAll_DropsDepartedFlights() {
+        // Given
+        flightCapacityCounters.track(FLIGHT_ID, 10, departure());
+        flightCapacityCounters.track(FLIGHT_ID + 1, 10, LocalDateTime.now().minusHours(1));
+
+        // When
+        flightCapacityCounters.reconcileAll();
+
+        // Then
+        assertEquals(10, flightCapacityCounters.getCapacity(FLIGHT_ID).getTotalSeats());
+        assertNull(flightCapacityCounters.getCapacity(FLIGHT_ID + 1).getTotalSeats());
+    }
+
+    private static LocalDateTime departure() {
+        return LocalDateTime.now().plusDays(7);
+    }
+
+    private BookingRequest request(Long flightId, int passengers) {
+        BookingRequest request = new BookingRequest();
+        request.setCustomerId(1L);
+        request.setFlightId(flightId);
+        request.setNumberOfPassengers(passengers);
+        request.setTotalPrice(100.0 * passengers);
+        return request;
+    }
+}
@@ -0,0 +1,71 @@
+package com.prj.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoldTimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void testAdvance_ReturnsOnlyDueIds() {
+        // Given
+        HoldTimingWheel wheel = new HoldTimingWheel(TICK, 8, 0);
+        wheel.schedule(1, 2_000);
+        wheel.schedule(2, 2_500);
+        wheel.schedule(3, 5_000);
+
+        // When & Then: 2.5s is rounded up to the 3s tick
+        assertArrayEquals(new long[0], wheel.advance(1_999));
+        assertArrayEquals(new long[]{1}, wheel.advance(2_000));
+        assertArrayEquals(new long[]{2}, wheel.advance(3_000));
+        assertEquals(1, wheel.size());
+    }
+
+    @Test
+    void testAdvance_DeadlinesBeyondOneRevolutionWaitForTheirRound() {
+        // Given: ticks 3 and 11 share slot 3 of an 8-slot wheel
+        HoldTimingWheel wheel = new HoldTimingWheel(TICK, 8, 0);
+        wheel.schedule(1, 3_000);
+        wheel.schedule(2, 11_000);
+
+        // When & Then
+        assertArrayEquals(new long[]{1}, wheel.advance(3_000));
+        assertArrayEquals(new long[0], wheel.advance(10_000));
+        assertArrayEquals(new long[]{2}, wheel.advance(11_000));
+    }
+
+    @Test
+    void testAdvance_LongPauseCatchesUpEveryDueId() {
+        // Given
+        HoldTimingWheel wheel = new HoldTimingWheel(TICK, 8, 0);
+        for (long id = 1; id <= 100; id++) {
+            wheel.schedule(id, id * 500);
+        }
+
+        // When: 50 revolutions later
+        long[] due = wheel.advance(400_000);
+
+        // Then
+        Arrays.sort(due);
+        assertEquals(100, due.length);
+        assertEquals(1, due[0]);
+        assertEquals(100, due[99]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testSchedule_PastDeadlineIsDueAtNextAdvance() {
+        // Given
+        HoldTimingWheel wheel = new HoldTimingWheel(TICK, 8, 10_000);
+
+        // When
+        wheel.schedule(1, 1_000);
+
+        // Then
+        assertArrayEquals(new long[]{1}, wheel.advance(11_000));
+    }
+}
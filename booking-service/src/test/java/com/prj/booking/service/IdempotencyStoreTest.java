@@ -0,0 +1,246 @@
+package com.prj.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.prj.booking.entity.IdempotencyRecord;
+import com.prj.booking.exception.IdempotencyKeyInUseException;
+import com.prj.booking.exception.IdempotencyKeyReusedException;
+import com.prj.booking.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest
+@AutoConfigureJson
+@Import(IdempotencyStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class IdempotencyStoreTest {
+
+    private static final String SCOPE = "customer 1";
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtomicInteger writes = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testExecute_WithoutKeyAlwaysRuns() {
+        // When
+        execute(null, SCOPE, "body");
+        execute(null, SCOPE, "body");
+
+        // Then
+        assertEquals(2, writes.get());
+    }
+
+    @Test
+    void testExecute_ReplaysStoredResponse() {
+        // Given
+        ResponseEntity<Integer> first = execute("key", SCOPE, "body");
+
+        // When
+        ResponseEntity<Integer> retry = execute("key", SCOPE, "body");
+
+        // Then
+        assertEquals(1, writes.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(first.getBody(), retry.getBody());
+        assertEquals("first", retry.getHeaders().getFirst("X-Write"));
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testExecute_ReplayOnSameInstanceSkipsTable() {
+        // Given
+        ResponseEntity<Integer> first = execute("key", SCOPE, "body");
+        idempotencyRecordRepository.deleteAllInBatch();
+
+        // When
+        ResponseEntity<Integer> retry = execute("key", SCOPE, "body");
+
+        // Then
+        assertEquals(1, writes.get());
+        assertEquals(first.getBody(), retry.getBody());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(0, idempotencyRecordRepository.count());
+    }
+
+    @Test
+    void testExecute_ReplayOnAnotherInstanceReadsTable() {
+        // Given
+        ResponseEntity<Integer> first = execute("key", SCOPE, "body");
+        IdempotencyStore otherInstance = new IdempotencyStore(idempotencyRecordRepository, transactionManager,
+                objectMapper, Duration.ofHours(24), Duration.ofMinutes(1), 100);
+
+        // When
+        ResponseEntity<Integer> retry = otherInstance.execute("key", SCOPE, "body", Integer.class, this::write);
+
+        // Then
+        assertEquals(1, writes.get());
+        assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+        assertEquals(first.getBody(), retry.getBody());
+        assertEquals("first", retry.getHeaders().getFirst("X-Write"));
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testExecute_KeyUsedForAnotherRequestIsRejected() {
+        // Given
+        execute("key", SCOPE, "body");
+
+        // When & Then
+        assertThrows(IdempotencyKeyReusedException.class, () -> execute("key", SCOPE, "other body"));
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void testExecute_SameKeyInAnotherScopeRuns() {
+        // Given
+        execute("key", SCOPE, "body");
+
+        // When
+        ResponseEntity<Integer> other = execute("key", "customer 2", "body");
+
+        // Then
+        assertEquals(2, writes.get());
+        assertNull(other.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testExecute_DuplicateWhileInProgressIsRejected() {
+        // When & Then: the duplicate arrives while the first write is still running
+        idempotencyStore.execute("key", SCOPE, "body", Integer.class, () -> {
+            assertThrows(IdempotencyKeyInUseException.class, () -> execute("key", SCOPE, "body"));
+            return write();
+        });
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void testExecute_FailureReleasesKey() {
+        // Given
+        assertThrows(IllegalStateException.class, () -> idempotencyStore.execute("key", SCOPE, "body", Integer.class,
+                () -> {
+                    throw new IllegalStateException("database down");
+                }));
+
+        // When
+        ResponseEntity<Integer> retry = execute("key", SCOPE, "body");
+
+        // Then
+        assertNull(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+        assertEquals(1, writes.get());
+    }
+
+    @Test
+    void testExecute_LapsedClaimIsTakenOver() {
+        // Given: a claim left by an instance that stopped during its write
+        LocalDateTime claimedAt = LocalDateTime.now().minusMinutes(2);
+        idempotencyRecordRepository.save(new IdempotencyRecord(SCOPE, "key", "digest", null, null, null,
+                claimedAt, claimedAt.plusMinutes(1)));
+
+        // When
+        ResponseEntity<Integer> retry = execute("key", SCOPE, "body");
+
+        // Then
+        assertEquals(1, writes.get());
+        assertNull(retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testExecute_OversizedKeyIsRejected() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> execute("k".repeat(256), SCOPE, "body"));
+        assertEquals(0, writes.get());
+    }
+
+    @Test
+    void testPurgeExpired_RemovesOnlyExpiredRecords() {
+        // Given
+        execute("kept", SCOPE, "body");
+        LocalDateTime claimedAt = LocalDateTime.now().minusDays(2);
+        idempotencyRecordRepository.save(new IdempotencyRecord(SCOPE, "expired", "digest", 201, "{}", "1",
+                claimedAt, claimedAt.plusDays(1)));
+
+        // When
+        idempotencyStore.purgeExpired();
+
+        // Then
+        assertEquals(1, idempotencyRecordRepository.count());
+        assertTrue(idempotencyRecordRepository.existsById(new IdempotencyRecord.Key(SCOPE, "kept")));
+    }
+
+    @Test
+    void testExecuteAsync_CancelledRequestReleasesKey() throws InterruptedException {
+        // Given: a write that never completes, then the client goes away
+        Sinks.One<ResponseEntity<Integer>> never = Sinks.one();
+        Disposable request = idempotencyStore.executeAsync("key", SCOPE, "body", Integer.class, never::asMono)
+                .subscribe();
+        awaitRecords(1);
+        request.dispose();
+        awaitRecords(0);
+
+        // When
+        ResponseEntity<Integer> retry = idempotencyStore.executeAsync("key", SCOPE, "body", Integer.class,
+                () -> Mono.fromSupplier(this::write)).block();
+
+        // Then
+        assertNotNull(retry);
+        assertEquals(1, writes.get());
+    }
+
+    /**
+     * Claims are taken and released off the calling thread.
+     */
+    private void awaitRecords(long count) throws InterruptedException {
+        for (int i = 0; i < 50 && idempotencyRecordRepository.count() != count; i++) {
+            Thread.sleep(100);
+        }
+        assertEquals(count, idempotencyRecordRepository.count());
+    }
+
+    private ResponseEntity<Integer> execute(String key, String scope, String body) {
+        return idempotencyStore.execute(key, scope, body, Integer.class, this::write);
+    }
+
+    private ResponseEntity<Integer> write() {
+        int write = writes.incrementAndGet();
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("X-Write", write == 1 ? "first" : "later")
+                .body(write);
+    }
+}
@@ -0,0 +1,155 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.BookingRequest;
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.entity.Booking;
+import com.prj.booking.entity.BookingRow;
+import com.prj.booking.exception.BookingNotFoundException;
+import com.prj.booking.exception.InvalidBookingException;
+import com.prj.booking.repository.ReactiveBookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveBookingServiceTest {
+
+    @Mock
+    private ReactiveBookingRepository reactiveBookingRepository;
+
+    @Mock
+    private BookingService bookingService;
+
+    @Mock
+    private BookingValidator bookingValidator;
+
+    @Mock
+    private BookingBatchService bookingBatchService;
+
+    @Mock
+    private CustomerSummaryService customerSummaryService;
+
+    @Mock
+    private FlightCapacityCounters flightCapacityCounters;
+
+    private ReactiveBookingService reactiveBookingService;
+
+    @BeforeEach
+    void setUp() {
+        reactiveBookingService = new ReactiveBookingService(reactiveBookingRepository, bookingService,
+                bookingValidator, bookingBatchService, customerSummaryService, flightCapacityCounters, Schedulers.newBoundedElastic(2, 100, "test-jdbc"));
+    }
+
+    @Test
+    void testGetBookingById_Success() {
+        // Given
+        when(reactiveBookingRepository.findById(1L)).thenReturn(Mono.just(row(1L)));
+
+        // When & Then
+        StepVerifier.create(reactiveBookingService.getBookingById(1L))
+                .assertNext(response -> {
+                    assertEquals(1L, response.getId());
+                    assertEquals(Booking.BookingStatus.PENDING, response.getStatus());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetBookingById_NotFound() {
+        // Given
+        when(reactiveBookingRepository.findById(1L)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(reactiveBookingService.getBookingById(1L))
+                .expectError(BookingNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void testGetBookingsPage_ReturnsCursorWhenMoreRows() {
+        // Given
+        when(reactiveBookingRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(Flux.fromStream(LongStream.rangeClosed(1, 3).mapToObj(this::row)));
+
+        // When & Then
+        StepVerifier.create(reactiveBookingService.getBookingsPage(null, 2))
+                .assertNext(page -> {
+                    assertEquals(2, page.getSize());
+                    assertEquals(2L, page.getNextCursor());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testStreamAllBookings_HonoursBackpressure() {
+        // Given
+        when(reactiveBookingRepository.findAllByOrderByIdAsc())
+                .thenReturn(Flux.fromStream(LongStream.rangeClosed(1, 1000).mapToObj(this::row)));
+
+        // When & Then: the subscriber only ever receives what it requested
+        StepVerifier.create(reactiveBookingService.streamAllBookings(), 2)
+                .expectNextCount(2)
+                .thenRequest(3)
+                .expectNextCount(3)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void testCreateBooking_RunsOnJdbcScheduler() {
+        // Given
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(bookingValidator.validateAsync(any(BookingRequest.class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(bookingService.createBooking(any(BookingRequest.class))).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return new BookingResponse();
+        });
+
+        // When & Then
+        StepVerifier.create(reactiveBookingService.createBooking(new BookingRequest()))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertTrue(thread.get().startsWith("test-jdbc"), thread.get());
+    }
+
+    @Test
+    void testCreateBooking_InvalidBookingIsNotWritten() {
+        // Given
+        when(bookingValidator.validateAsync(any(BookingRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new InvalidBookingException("Flight 100 not found")));
+
+        // When & Then
+        StepVerifier.create(reactiveBookingService.createBooking(new BookingRequest()))
+                .expectError(InvalidBookingException.class)
+                .verify();
+        verifyNoInteractions(bookingService);
+    }
+
+    private BookingRow row(long id) {
+        BookingRow row = new BookingRow();
+        row.setId(id);
+        row.setCustomerId(1L);
+        row.setFlightId(100L);
+        row.setNumberOfPassengers(1);
+        row.setStatus(Booking.BookingStatus.PENDING);
+        row.setTotalPrice(250.00);
+        row.setBookingDate(LocalDateTime.now());
+        return row;
+    }
+}
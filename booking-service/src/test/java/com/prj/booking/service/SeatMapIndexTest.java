@@ -0,0 +1,97 @@
+package com.prj.booking.service;
+
+import com.prj.booking.dto.BookingResponse;
+import com.prj.booking.dto.SeatMapResponse;
+import com.prj.booking.entity.Booking;
+import com.prj.booking.entity.SeatReservation;
+import com.prj.booking.event.BookingChangedEvent;
+import com.prj.booking.repository.SeatReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatMapIndexTest {
+
+    @Mock
+    private SeatReservationRepository seatReservationRepository;
+
+    private SeatMapIndex seatMapIndex;
+
+    @BeforeEach
+    void setUp() {
+        seatMapIndex = new SeatMapIndex(seatReservationRepository, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void testGetSeatMap_LoadsOnceFromReservations() {
+        // Given
+        when(seatReservationRepository.findByFlightId(100L)).thenReturn(List.of(
+                new SeatReservation(1L, 100L, "12C", 1L, LocalDateTime.now()),
+                new SeatReservation(2L, 100L, "1A", 2L, LocalDateTime.now())));
+
+        // When
+        seatMapIndex.getSeatMap(100L);
+        SeatMapResponse seatMap = seatMapIndex.getSeatMap(100L);
+
+        // Then
+        assertEquals(2, seatMap.getOccupiedCount());
+        assertEquals(List.of("1A", "12C"), seatMap.getOccupiedSeats());
+        verify(seatReservationRepository, times(1)).findByFlightId(100L);
+    }
+
+    @Test
+    void testOnBookingChanged_AppliesCreateAndCancel() {
+        // Given
+        when(seatReservationRepository.findByFlightId(100L)).thenReturn(List.of());
+        seatMapIndex.getSeatMap(100L);
+        BookingResponse booking = booking("1A,1B", Booking.BookingStatus.PENDING);
+
+        // When
+        seatMapIndex.onBookingChanged(BookingChangedEvent.created(booking));
+
+        // Then
+        assertEquals(List.of("1A", "1B"), seatMapIndex.getSeatMap(100L).getOccupiedSeats());
+
+        // When
+        booking.setStatus(Booking.BookingStatus.CANCELLED);
+        seatMapIndex.onBookingChanged(BookingChangedEvent.statusChanged(booking, Booking.BookingStatus.PENDING));
+
+        // Then
+        assertEquals(0, seatMapIndex.getSeatMap(100L).getOccupiedCount());
+    }
+
+    @Test
+    void testOnBookingChanged_IgnoresFlightsNotLoaded() {
+        // When
+        seatMapIndex.onBookingChanged(BookingChangedEvent.created(booking("1A", Booking.BookingStatus.PENDING)));
+
+        // Then
+        verifyNoInteractions(seatReservationRepository);
+    }
+
+    @Test
+    void testBitMapping_RoundTrips() {
+        assertEquals("1A", SeatMapIndex.seatOf(SeatMapIndex.bitOf("1A")));
+        assertEquals("999Z", SeatMapIndex.seatOf(SeatMapIndex.bitOf("999Z")));
+        assertEquals(26, SeatMapIndex.bitOf("2A"));
+    }
+
+    private BookingResponse booking(String seats, Booking.BookingStatus status) {
+        BookingResponse booking = new BookingResponse();
+        booking.setId(1L);
+        booking.setFlightId(100L);
+        booking.setSeatNumbers(seats);
+        booking.setStatus(status);
+        return booking;
+    }
+}
@@ -0,0 +1,38 @@
+package com.prj.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatNumbersTest {
+
+    @Test
+    void testParse_AcceptsBothNotations() {
+        assertEquals(List.of("12A", "3C"), SeatNumbers.parse("a12, 3c"));
+    }
+
+    @Test
+    void testParse_SortsSeats() {
+        assertEquals(List.of("10B", "2A", "2B"), SeatNumbers.parse("2B,10B,2A"));
+    }
+
+    @Test
+    void testParse_Empty() {
+        assertTrue(SeatNumbers.parse(null).isEmpty());
+        assertTrue(SeatNumbers.parse("  ").isEmpty());
+    }
+
+    @Test
+    void testParse_RejectsDuplicates() {
+        assertThrows(IllegalArgumentException.class, () -> SeatNumbers.parse("12A,A12"));
+    }
+
+    @Test
+    void testParse_RejectsInvalidSeat() {
+        assertThrows(IllegalArgumentException.class, () -> SeatNumbers.parse("12"));
+        assertThrows(IllegalArgumentException.class, () -> SeatNumbers.parse("0A"));
+        assertThrows(IllegalArgumentException.class, () -> SeatNumbers.parse("AISLE"));
+    }
+}
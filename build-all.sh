@@ -22,6 +22,12 @@ cd booking-service
 mvn clean package -DskipTests
 cd ..
 
+# Flight Service
+echo "📦 Construction de flight-service..."
+cd flight-service
+mvn clean package -DskipTests
+cd ..
+
 # Gateway Service
 echo "📦 Construction de gateway-service..."
 cd gateway-service
@@ -0,0 +1,126 @@
+package com.prj.flight.service;
+
+import com.prj.flight.dto.FlightResponse;
+import com.prj.flight.entity.Flight;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FlightSearchIndex over an airline-network-sized schedule: {@code routes} routes between 200 airports,
+ * {@code flightsPerDay} departures per route and day over {@code days} days (360 000 flights by default),
+ * one flight in five full. SampleTime reports latency percentiles (p99 in the JSON result); add
+ * threads ({@code -t 4}) to measure reads contending with the {@code reschedule} writer.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class FlightSearchBenchmark {
+
+    private static final int AIRPORTS = 200;
+
+    @Param("1000")
+    private int routes;
+
+    @Param("4")
+    private int flightsPerDay;
+
+    @Param("90")
+    private int days;
+
+    private FlightSearchIndex index;
+    private String[] origins;
+    private String[] destinations;
+    private FlightResponse[] flights;
+    private LocalDate firstDay;
+
+    @Setup
+    public void setUp() {
+        // Repository and transaction manager are only used to load from the database
+        index = new FlightSearchIndex(null, null, Duration.ofSeconds(5));
+        SplittableRandom random = new SplittableRandom(42);
+        firstDay = LocalDate.now().plusDays(1);
+
+        origins = new String[routes];
+        destinations = new String[routes];
+        Set<String> pairs = new HashSet<>();
+        for (int route = 0; route < routes; ) {
+            String origin = airport(random.nextInt(AIRPORTS));
+            String destination = airport(random.nextInt(AIRPORTS));
+            if (!origin.equals(destination) && pairs.add(origin + destination)) {
+                origins[route] = origin;
+                destinations[route] = destination;
+                route++;
+            }
+        }
+
+        flights = new FlightResponse[routes * flightsPerDay * days];
+        long id = 0;
+        for (int route = 0; route < routes; route++) {
+            for (int day = 0; day < days; day++) {
+                for (int n = 0; n < flightsPerDay; n++) {
+                    LocalDateTime departure = firstDay.plusDays(day).atTime(6 + random.nextInt(16), random.nextInt(12) * 5);
+                    int availableSeats = random.nextInt(5) == 0 ? 0 : 1 + random.nextInt(180);
+                    FlightResponse flight = new FlightResponse(++id, "AF" + id, origins[route], destinations[route],
+                            departure, departure.plusHours(2), 180, availableSeats, 100.0 + random.nextInt(900),
+                            Flight.FlightStatus.SCHEDULED, 0L);
+                    flights[(int) id - 1] = flight;
+                    index.apply(flight);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public List<FlightResponse> searchOneDay() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int route = random.nextInt(routes);
+        LocalDate day = firstDay.plusDays(random.nextInt(days));
+        return index.search(origins[route], destinations[route], day, day);
+    }
+
+    @Benchmark
+    public List<FlightResponse> searchWeek() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int route = random.nextInt(routes);
+        LocalDate from = firstDay.plusDays(random.nextInt(days - 6));
+        return index.search(origins[route], destinations[route], from, from.plusDays(6));
+    }
+
+    @Benchmark
+    public List<FlightResponse> searchUnknownRoute() {
+        LocalDate day = firstDay.plusDays(ThreadLocalRandom.current().nextInt(days));
+        return index.search("ZZZ", "ZZY", day, day);
+    }
+
+    /**
+     * A seat count change as applied from a committed FlightChangedEvent or the incremental refresh.
+     */
+    @Benchmark
+    public FlightResponse reschedule() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(flights.length);
+        FlightResponse current = flights[i];
+        FlightResponse updated = new FlightResponse(current.id(), current.flightNumber(), current.origin(),
+                current.destination(), current.departureTime(), current.arrivalTime(), current.totalSeats(),
+                random.nextInt(181), current.price(), current.status(), current.version() + 1);
+        index.apply(updated);
+        flights[i] = updated;
+        return updated;
+    }
+
+    private static String airport(int n) {
+        return new String(new char[]{(char) ('A' + n / 676), (char) ('A' + n / 26 % 26), (char) ('A' + n % 26)});
+    }
+}
@@ -0,0 +1,56 @@
+package com.prj.flight.controller;
+
+import com.prj.flight.dto.FlightRequest;
+import com.prj.flight.dto.FlightResponse;
+import com.prj.flight.service.FlightService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/flights")
+@RequiredArgsConstructor
+public class FlightController {
+
+    private final FlightService flightService;
+
+    @PostMapping
+    public ResponseEntity<FlightResponse> createFlight(@Valid @RequestBody FlightRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(flightService.createFlight(request));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<FlightResponse> getFlightById(@PathVariable Long id) {
+        return ResponseEntity.ok(flightService.getFlightById(id));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<FlightResponse> updateFlight(@PathVariable Long id, @Valid @RequestBody FlightRequest request) {
+        return ResponseEntity.ok(flightService.updateFlight(id, request));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<FlightResponse> cancelFlight(@PathVariable Long id) {
+        return ResponseEntity.ok(flightService.cancelFlight(id));
+    }
+
+    /**
+     * Scheduled flights of a route departing between {@code from} and {@code to} (inclusive, defaults
+     * to {@code from}), in departure order. Seats left are not filtered on: bookings are counted by
+     * booking-service ({@code GET /api/bookings/flight/{id}/capacity}), not here.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<FlightResponse>> searchFlights(
+            @RequestParam String origin,
+            @RequestParam String destination,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(flightService.search(origin, destination, from, to));
+    }
+}
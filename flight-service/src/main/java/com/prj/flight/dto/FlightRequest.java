@@ -0,0 +1,38 @@
+package com.prj.flight.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class FlightRequest {
+
+    @NotBlank(message = "Flight number is required")
+    private String flightNumber;
+
+    @NotNull(message = "Origin is required")
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Origin must be a 3-letter IATA code")
+    private String origin;
+
+    @NotNull(message = "Destination is required")
+    @Pattern(regexp = "[A-Za-z]{3}", message = "Destination must be a 3-letter IATA code")
+    private String destination;
+
+    @NotNull(message = "Departure time is required")
+    private LocalDateTime departureTime;
+
+    @NotNull(message = "Arrival time is required")
+    private LocalDateTime arrivalTime;
+
+    @NotNull(message = "Total seats is required")
+    @Min(value = 1, message = "Total seats must be at least 1")
+    private Integer totalSeats;
+
+    @NotNull(message = "Price is required")
+    @Min(value = 0, message = "Price must be positive")
+    private Double price;
+}
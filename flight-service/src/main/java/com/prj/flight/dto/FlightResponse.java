@@ -0,0 +1,28 @@
+package com.prj.flight.dto;
+
+import com.prj.flight.entity.Flight;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable, so the search index can hand the same instances to every request.
+ */
+public record FlightResponse(Long id,
+                             String flightNumber,
+                             String origin,
+                             String destination,
+                             LocalDateTime departureTime,
+                             LocalDateTime arrivalTime,
+                             Integer totalSeats,
+                             Integer availableSeats,
+                             Double price,
+                             Flight.FlightStatus status,
+                             Long version) {
+
+    public static FlightResponse of(Flight flight) {
+        return new FlightResponse(flight.getId(), flight.getFlightNumber(), flight.getOrigin(),
+                flight.getDestination(), flight.getDepartureTime(), flight.getArrivalTime(),
+                flight.getTotalSeats(), flight.getAvailableSeats(), flight.getPrice(), flight.getStatus(),
+                flight.getVersion());
+    }
+}
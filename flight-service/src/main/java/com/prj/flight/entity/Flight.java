@@ -0,0 +1,82 @@
+package com.prj.flight.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "flights",
+        indexes = {
+                @Index(name = "idx_flights_route_departure", columnList = "origin, destination, departureTime"),
+                @Index(name = "idx_flights_updated_at", columnList = "updatedAt")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Flight {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flight_seq")
+    @SequenceGenerator(name = "flight_seq", sequenceName = "flights_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, length = 8)
+    private String flightNumber;
+
+    @Column(nullable = false, length = 3)
+    private String origin;
+
+    @Column(nullable = false, length = 3)
+    private String destination;
+
+    @Column(nullable = false)
+    private LocalDateTime departureTime;
+
+    @Column(nullable = false)
+    private LocalDateTime arrivalTime;
+
+    @Column(nullable = false)
+    private Integer totalSeats;
+
+    @Column(nullable = false)
+    private Integer availableSeats;
+
+    @Column(nullable = false)
+    private Double price;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private FlightStatus status;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    /**
+     * A cancelled flight is kept, so that the change reaches the search index of every instance.
+     */
+    public enum FlightStatus {
+        SCHEDULED,
+        CANCELLED
+    }
+}
@@ -0,0 +1,9 @@
+package com.prj.flight.event;
+
+import com.prj.flight.dto.FlightResponse;
+
+/**
+ * Published by {@code FlightService} inside the transaction of every write, with the flight as committed.
+ */
+public record FlightChangedEvent(FlightResponse flight) {
+}
@@ -0,0 +1,22 @@
+package com.prj.flight.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base class for expected, client-facing flight failures. These are control flow rather than bugs,
+ * so no stack trace is captured.
+ */
+public abstract class FlightException extends RuntimeException {
+
+    protected FlightException() {
+        super(null, null, false, false);
+    }
+
+    protected FlightException(String message) {
+        super(message, null, false, false);
+    }
+
+    public abstract HttpStatus getStatus();
+
+    public abstract String getTitle();
+}
@@ -0,0 +1,31 @@
+package com.prj.flight.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class FlightNotFoundException extends FlightException {
+
+    private final Long flightId;
+
+    public FlightNotFoundException(Long flightId) {
+        this.flightId = flightId;
+    }
+
+    public Long getFlightId() {
+        return flightId;
+    }
+
+    @Override
+    public String getMessage() {
+        return "Flight not found with id: " + flightId;
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.NOT_FOUND;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Flight not found";
+    }
+}
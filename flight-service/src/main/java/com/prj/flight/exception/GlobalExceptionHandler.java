@@ -0,0 +1,52 @@
+package com.prj.flight.exception;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Every error is rendered as an RFC 7807 problem detail ({@code application/problem+json}).
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(FlightException.class)
+    public ResponseEntity<ProblemDetail> handleFlightException(FlightException ex) {
+        ProblemDetail problem = problem(ex.getStatus(), ex.getTitle(), ex.getMessage());
+        return ResponseEntity.status(ex.getStatus()).body(problem);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ProblemDetail> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ProblemDetail problem = problem(HttpStatus.CONFLICT, "Concurrent modification",
+                "The flight was modified by another request, reload it and retry");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(problem);
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<ProblemDetail> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        Map<String, String> fieldErrors = new HashMap<>();
+        ex.getBindingResult().getAllErrors().forEach(error ->
+                fieldErrors.put(((FieldError) error).getField(), error.getDefaultMessage()));
+
+        ProblemDetail problem = problem(HttpStatus.BAD_REQUEST, "Validation failed", "Validation failed");
+        problem.setProperty("errors", fieldErrors);
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(problem);
+    }
+
+    private ProblemDetail problem(HttpStatus status, String title, String detail) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setTitle(title);
+        problem.setProperty("timestamp", LocalDateTime.now());
+        return problem;
+    }
+}
@@ -0,0 +1,24 @@
+package com.prj.flight.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A flight or a search whose fields are individually valid but inconsistent together
+ * (arrival before departure, reversed date window...).
+ */
+public class InvalidFlightException extends FlightException {
+
+    public InvalidFlightException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus getStatus() {
+        return HttpStatus.BAD_REQUEST;
+    }
+
+    @Override
+    public String getTitle() {
+        return "Invalid flight request";
+    }
+}
@@ -0,0 +1,40 @@
+package com.prj.flight.repository;
+
+import com.prj.flight.dto.FlightResponse;
+import com.prj.flight.entity.Flight;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface FlightRepository extends JpaRepository<Flight, Long> {
+
+    /**
+     * Constructor expression of the index loading queries: rows are selected straight into the immutable
+     * {@link FlightResponse} held by the index, so no managed entity accumulates during a full load.
+     */
+    String SELECT_RESPONSE = "select new com.prj.flight.dto.FlightResponse(f.id, f.flightNumber, f.origin, "
+            + "f.destination, f.departureTime, f.arrivalTime, f.totalSeats, f.availableSeats, f.price, f.status, "
+            + "f.version) from Flight f ";
+
+    /**
+     * Every flight departing at or after the given time, cancelled ones included, read through a server-side cursor.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_RESPONSE + "where f.departureTime >= :from")
+    Stream<FlightResponse> streamResponsesDepartingFrom(@Param("from") LocalDateTime from);
+
+    /**
+     * Every flight changed after the given time, cancelled ones included.
+     */
+    @Query(SELECT_RESPONSE + "where f.updatedAt > :since")
+    List<FlightResponse> findResponsesUpdatedSince(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,203 @@
+package com.prj.flight.service;
+
+import com.prj.flight.dto.FlightResponse;
+import com.prj.flight.entity.Flight;
+import com.prj.flight.event.FlightChangedEvent;
+import com.prj.flight.repository.FlightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory search index of scheduled flights, keyed by route and departure day. Each key holds the
+ * flights of that day sorted by departure time in an array that is replaced on change and never
+ * modified, so searches read it without locking; writers are serialized.
+ * <p>
+ * The index is loaded in full before the web server starts. Local writes are applied from committed
+ * {@link FlightChangedEvent}s; writes of other instances are picked up by an incremental refresh on
+ * {@code flights.updated_at} every {@code flight.index.refresh-interval}. Each refresh re-reads the last
+ * {@code flight.index.refresh-overlap} so that transactions committing out of timestamp order are not
+ * missed, and a periodic reconciliation ({@code flight.index.reconcile-interval}) re-reads everything to
+ * repair what a longer transaction could still slip past. Versions make every update idempotent.
+ */
+@Component
+@Slf4j
+public class FlightSearchIndex implements SmartInitializingSingleton {
+
+    private static final Comparator<FlightResponse> BY_DEPARTURE =
+            Comparator.comparing(FlightResponse::departureTime).thenComparing(FlightResponse::id);
+
+    private final FlightRepository flightRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration refreshOverlap;
+
+    private final ConcurrentHashMap<RouteDay, FlightResponse[]> departures = new ConcurrentHashMap<>();
+    // Latest indexed state of each flight, cancelled ones included, so that stale updates are discarded
+    private final ConcurrentHashMap<Long, FlightResponse> flights = new ConcurrentHashMap<>();
+
+    private LocalDate horizon = LocalDate.MIN;
+    private volatile LocalDateTime lastRefresh;
+
+    public FlightSearchIndex(FlightRepository flightRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${flight.index.refresh-overlap:PT5S}") Duration refreshOverlap) {
+        this.flightRepository = flightRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.refreshOverlap = refreshOverlap;
+    }
+
+    /**
+     * Scheduled flights of the route departing between {@code from} and {@code to} (inclusive), in
+     * departure order. Airport codes are expected in upper case.
+     */
+    public List<FlightResponse> search(String origin, String destination, LocalDate from, LocalDate to) {
+        List<FlightResponse> results = new ArrayList<>();
+        for (long day = from.toEpochDay(), last = to.toEpochDay(); day <= last; day++) {
+            FlightResponse[] sameDay = departures.get(new RouteDay(origin, destination, day));
+            if (sameDay == null) {
+                continue;
+            }
+            results.addAll(Arrays.asList(sameDay));
+        }
+        return results;
+    }
+
+    /**
+     * Number of scheduled flights in the index.
+     */
+    public int size() {
+        int size = 0;
+        for (FlightResponse[] sameDay : departures.values()) {
+            size += sameDay.length;
+        }
+        return size;
+    }
+
+    @TransactionalEventListener
+    public void onFlightChanged(FlightChangedEvent event) {
+        apply(event.flight());
+    }
+
+    /**
+     * Indexes the given state of a flight unless the same or a newer version is already indexed.
+     * Cancelled flights leave the search results.
+     */
+    public synchronized void apply(FlightResponse flight) {
+        if (flight.departureTime().toLocalDate().isBefore(horizon)) {
+            return;
+        }
+        FlightResponse current = flights.get(flight.id());
+        if (current != null) {
+            if (current.version() >= flight.version()) {
+                return;
+            }
+            remove(current);
+        }
+        flights.put(flight.id(), flight);
+        if (flight.status() == Flight.FlightStatus.SCHEDULED) {
+            add(flight);
+        }
+    }
+
+    /**
+     * Drops the flights departing before the given day; searches never look back.
+     */
+    public synchronized void evictBefore(LocalDate day) {
+        horizon = day;
+        long firstDay = day.toEpochDay();
+        departures.keySet().removeIf(key -> key.epochDay() < firstDay);
+        flights.values().removeIf(flight -> flight.departureTime().toLocalDate().isBefore(day));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    @Scheduled(initialDelayString = "${flight.index.refresh-interval:PT1S}",
+            fixedDelayString = "${flight.index.refresh-interval:PT1S}")
+    public void refresh() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<FlightResponse> changed = flightRepository.findResponsesUpdatedSince(lastRefresh.minus(refreshOverlap));
+        changed.forEach(this::apply);
+        lastRefresh = startedAt;
+    }
+
+    /**
+     * Re-reads every flight departing from today on and drops departed ones.
+     */
+    @Scheduled(initialDelayString = "${flight.index.reconcile-interval:PT1H}",
+            fixedDelayString = "${flight.index.reconcile-interval:PT1H}")
+    public void reconcile() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDate today = startedAt.toLocalDate();
+        evictBefore(today);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<FlightResponse> rows = flightRepository.streamResponsesDepartingFrom(today.atStartOfDay())) {
+                rows.forEach(this::apply);
+            }
+        });
+        if (lastRefresh == null) {
+            lastRefresh = startedAt;
+        }
+        log.info("Flight search index reconciled: {} scheduled flights", size());
+    }
+
+    private void add(FlightResponse flight) {
+        departures.compute(RouteDay.of(flight), (key, sameDay) -> {
+            if (sameDay == null) {
+                return new FlightResponse[]{flight};
+            }
+            FlightResponse[] updated = Arrays.copyOf(sameDay, sameDay.length + 1);
+            int i = sameDay.length;
+            while (i > 0 && BY_DEPARTURE.compare(updated[i - 1], flight) > 0) {
+                updated[i] = updated[i - 1];
+                i--;
+            }
+            updated[i] = flight;
+            return updated;
+        });
+    }
+
+    private void remove(FlightResponse flight) {
+        departures.computeIfPresent(RouteDay.of(flight), (key, sameDay) -> {
+            int i = 0;
+            while (i < sameDay.length && !sameDay[i].id().equals(flight.id())) {
+                i++;
+            }
+            if (i == sameDay.length) {
+                return sameDay;
+            }
+            if (sameDay.length == 1) {
+                return null;
+            }
+            FlightResponse[] updated = new FlightResponse[sameDay.length - 1];
+            System.arraycopy(sameDay, 0, updated, 0, i);
+            System.arraycopy(sameDay, i + 1, updated, i, sameDay.length - i - 1);
+            return updated;
+        });
+    }
+
+    private record RouteDay(String origin, String destination, long epochDay) {
+
+        static RouteDay of(FlightResponse flight) {
+            return new RouteDay(flight.origin(), flight.destination(), flight.departureTime().toLocalDate().toEpochDay());
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.prj.flight.service;
+
+import com.prj.flight.dto.FlightRequest;
+import com.prj.flight.dto.FlightResponse;
+import com.prj.flight.entity.Flight;
+import com.prj.flight.event.FlightChangedEvent;
+import com.prj.flight.exception.FlightNotFoundException;
+import com.prj.flight.exception.InvalidFlightException;
+import com.prj.flight.repository.FlightRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@Slf4j
+@Transactional
+public class FlightService {
+
+    private final FlightRepository flightRepository;
+    private final FlightSearchIndex flightSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxSearchDays;
+
+    public FlightService(FlightRepository flightRepository,
+                         FlightSearchIndex flightSearchIndex,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${flight.search.max-window-days:31}") int maxSearchDays) {
+        this.flightRepository = flightRepository;
+        this.flightSearchIndex = flightSearchIndex;
+        this.eventPublisher = eventPublisher;
+        this.maxSearchDays = maxSearchDays;
+    }
+
+    public FlightResponse createFlight(FlightRequest request) {
+        Flight flight = new Flight();
+        copy(request, flight);
+        flight.setAvailableSeats(request.getTotalSeats());
+        flight.setStatus(Flight.FlightStatus.SCHEDULED);
+        Flight saved = flightRepository.saveAndFlush(flight);
+        log.info("Flight {} created with ID: {}", saved.getFlightNumber(), saved.getId());
+        return published(saved);
+    }
+
+    @Transactional(readOnly = true)
+    public FlightResponse getFlightById(Long id) {
+        return flightRepository.findById(id)
+                .map(FlightResponse::of)
+                .orElseThrow(() -> new FlightNotFoundException(id));
+    }
+
+    /**
+     * Reschedules a flight. Seats already sold stay sold: a capacity change moves the available
+     * seats by the same amount, never below zero.
+     */
+    public FlightResponse updateFlight(Long id, FlightRequest request) {
+        Flight flight = flightRepository.findById(id)
+                .orElseThrow(() -> new FlightNotFoundException(id));
+        int sold = flight.getTotalSeats() - flight.getAvailableSeats();
+        copy(request, flight);
+        flight.setAvailableSeats(Math.max(0, request.getTotalSeats() - sold));
+        Flight saved = flightRepository.saveAndFlush(flight);
+        log.info("Flight {} updated", id);
+        return published(saved);
+    }
+
+    public FlightResponse cancelFlight(Long id) {
+        Flight flight = flightRepository.findById(id)
+                .orElseThrow(() -> new FlightNotFoundException(id));
+        flight.setStatus(Flight.FlightStatus.CANCELLED);
+        Flight saved = flightRepository.saveAndFlush(flight);
+        log.info("Flight {} cancelled", id);
+        return published(saved);
+    }
+
+    /**
+     * Served from {@link FlightSearchIndex} without touching the database. {@code to} defaults to
+     * {@code from} (single day) and the window is capped at {@code flight.search.max-window-days}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<FlightResponse> search(String origin, String destination, LocalDate from, LocalDate to) {
+        LocalDate last = to == null ? from : to;
+        if (last.isBefore(from)) {
+            throw new InvalidFlightException("Search window ends before it starts");
+        }
+        if (last.toEpochDay() - from.toEpochDay() >= maxSearchDays) {
+            throw new InvalidFlightException("Search window is limited to " + maxSearchDays + " days");
+        }
+        return flightSearchIndex.search(airport(origin), airport(destination), from, last);
+    }
+
+    private FlightResponse published(Flight flight) {
+        FlightResponse response = FlightResponse.of(flight);
+        eventPublisher.publishEvent(new FlightChangedEvent(response));
+        return response;
+    }
+
+    private static void copy(FlightRequest request, Flight flight) {
+        if (!request.getArrivalTime().isAfter(request.getDepartureTime())) {
+            throw new InvalidFlightException("Arrival time must be after departure time");
+        }
+        if (request.getOrigin().equalsIgnoreCase(request.getDestination())) {
+            throw new InvalidFlightException("Origin and destination must differ");
+        }
+        flight.setFlightNumber(request.getFlightNumber());
+        flight.setOrigin(airport(request.getOrigin()));
+        flight.setDestination(airport(request.getDestination()));
+        flight.setDepartureTime(request.getDepartureTime());
+        flight.setArrivalTime(request.getArrivalTime());
+        flight.setTotalSeats(request.getTotalSeats());
+        flight.setPrice(request.getPrice());
+    }
+
+    private static String airport(String code) {
+        return code.toUpperCase(Locale.ROOT);
+    }
+}
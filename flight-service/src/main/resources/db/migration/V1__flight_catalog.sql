@@ -0,0 +1,24 @@
+-- Catalogue des vols de flight-service
+
+CREATE TABLE IF NOT EXISTS flights (
+    id              BIGINT           NOT NULL PRIMARY KEY,
+    flight_number   VARCHAR(8)       NOT NULL,
+    origin          VARCHAR(3)       NOT NULL,
+    destination     VARCHAR(3)       NOT NULL,
+    departure_time  TIMESTAMP(6)     NOT NULL,
+    arrival_time    TIMESTAMP(6)     NOT NULL,
+    total_seats     INTEGER          NOT NULL,
+    available_seats INTEGER          NOT NULL,
+    price           DOUBLE PRECISION NOT NULL,
+    status          VARCHAR(255)     NOT NULL,
+    created_at      TIMESTAMP(6)     NOT NULL,
+    updated_at      TIMESTAMP(6)     NOT NULL,
+    version         BIGINT           NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS flights_seq INCREMENT BY 50;
+
+-- Recherche par route et créneau de départ (chargement de l'index et requêtes directes)
+CREATE INDEX IF NOT EXISTS idx_flights_route_departure ON flights (origin, destination, departure_time);
+-- Rafraîchissement incrémental de l'index de recherche
+CREATE INDEX IF NOT EXISTS idx_flights_updated_at ON flights (updated_at);
@@ -0,0 +1,111 @@
+package com.prj.flight.controller;
+
+import com.prj.flight.dto.FlightResponse;
+import com.prj.flight.entity.Flight;
+import com.prj.flight.exception.FlightNotFoundException;
+import com.prj.flight.exception.InvalidFlightException;
+import com.prj.flight.service.FlightService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(FlightController.class)
+class FlightControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private FlightService flightService;
+
+    private final FlightResponse flight = new FlightResponse(1L, "AF6", "CDG", "JFK",
+            LocalDateTime.of(2030, 6, 1, 9, 0), LocalDateTime.of(2030, 6, 1, 17, 0), 180, 180, 520.0,
+            Flight.FlightStatus.SCHEDULED, 0L);
+
+    @Test
+    void testCreateFlight_Success() throws Exception {
+        // Given
+        when(flightService.createFlight(any())).thenReturn(flight);
+
+        // When & Then
+        mockMvc.perform(post("/api/flights")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"flightNumber": "AF6", "origin": "CDG", "destination": "JFK",
+                                 "departureTime": "2030-06-01T09:00:00", "arrivalTime": "2030-06-01T17:00:00",
+                                 "totalSeats": 180, "price": 520.0}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.availableSeats").value(180));
+    }
+
+    @Test
+    void testCreateFlight_ValidationError() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/flights")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"flightNumber\": \"AF6\", \"origin\": \"PARIS\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.origin").value("Origin must be a 3-letter IATA code"));
+
+        verify(flightService, never()).createFlight(any());
+    }
+
+    @Test
+    void testGetFlightById_NotFound() throws Exception {
+        // Given
+        when(flightService.getFlightById(1L)).thenThrow(new FlightNotFoundException(1L));
+
+        // When & Then
+        mockMvc.perform(get("/api/flights/{id}", 1L))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.title").value("Flight not found"));
+    }
+
+    @Test
+    void testSearchFlights_Success() throws Exception {
+        // Given
+        LocalDate day = LocalDate.of(2030, 6, 1);
+        when(flightService.search("CDG", "JFK", day, day.plusDays(2))).thenReturn(List.of(flight));
+
+        // When & Then
+        mockMvc.perform(get("/api/flights/search")
+                        .param("origin", "CDG")
+                        .param("destination", "JFK")
+                        .param("from", "2030-06-01")
+                        .param("to", "2030-06-03"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].flightNumber").value("AF6"));
+    }
+
+    @Test
+    void testSearchFlights_InvalidWindow() throws Exception {
+        // Given
+        when(flightService.search(any(), any(), any(), any()))
+                .thenThrow(new InvalidFlightException("Search window ends before it starts"));
+
+        // When & Then
+        mockMvc.perform(get("/api/flights/search")
+                        .param("origin", "CDG")
+                        .param("destination", "JFK")
+                        .param("from", "2030-06-03")
+                        .param("to", "2030-06-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Invalid flight request"));
+    }
+}
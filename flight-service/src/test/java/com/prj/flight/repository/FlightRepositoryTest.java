@@ -0,0 +1,78 @@
+package com.prj.flight.repository;
+
+import com.prj.flight.dto.FlightResponse;
+import com.prj.flight.entity.Flight;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DataJpaTest
+class FlightRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Test
+    void testStreamResponsesDepartingFrom_IncludesCancelledFlights() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        entityManager.persist(flight("AF1", now.minusDays(1), Flight.FlightStatus.SCHEDULED));
+        Flight upcoming = entityManager.persist(flight("AF2", now.plusDays(1), Flight.FlightStatus.SCHEDULED));
+        Flight cancelled = entityManager.persist(flight("AF3", now.plusDays(2), Flight.FlightStatus.CANCELLED));
+        entityManager.flush();
+
+        // When
+        List<Long> ids;
+        try (Stream<FlightResponse> rows = flightRepository.streamResponsesDepartingFrom(now)) {
+            ids = rows.map(FlightResponse::id).sorted().toList();
+        }
+
+        // Then
+        assertEquals(List.of(upcoming.getId(), cancelled.getId()), ids);
+    }
+
+    @Test
+    void testFindResponsesUpdatedSince() {
+        // Given
+        Long id = entityManager.persistAndFlush(flight("AF1", LocalDateTime.now().plusDays(1),
+                Flight.FlightStatus.SCHEDULED)).getId();
+        // Read back: the column keeps microseconds, so the stored time may be rounded up
+        entityManager.clear();
+        Flight flight = entityManager.find(Flight.class, id);
+
+        // When
+        List<FlightResponse> before = flightRepository.findResponsesUpdatedSince(flight.getUpdatedAt().minusSeconds(1));
+        List<FlightResponse> after = flightRepository.findResponsesUpdatedSince(flight.getUpdatedAt());
+
+        // Then
+        assertEquals(1, before.size());
+        assertEquals(flight.getVersion(), before.get(0).version());
+        assertTrue(after.isEmpty());
+    }
+
+    private static Flight flight(String number, LocalDateTime departure, Flight.FlightStatus status) {
+        Flight flight = new Flight();
+        flight.setFlightNumber(number);
+        flight.setOrigin("CDG");
+        flight.setDestination("JFK");
+        flight.setDepartureTime(departure);
+        flight.setArrivalTime(departure.plusHours(8));
+        flight.setTotalSeats(180);
+        flight.setAvailableSeats(180);
+        flight.setPrice(520.0);
+        flight.setStatus(status);
+        return flight;
+    }
+}
@@ -0,0 +1,108 @@
+package com.prj.flight.service;
+
+import com.prj.flight.dto.FlightResponse;
+import com.prj.flight.entity.Flight;
+import com.prj.flight.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class FlightSearchIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 6, 1);
+
+    private FlightSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FlightSearchIndex(mock(FlightRepository.class), mock(PlatformTransactionManager.class),
+                Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testSearch_RouteAndWindowInDepartureOrder() {
+        // Given
+        index.apply(flight(1L, "CDG", "JFK", DAY.atTime(18, 0), 100, 1L));
+        index.apply(flight(2L, "CDG", "JFK", DAY.atTime(9, 0), 100, 1L));
+        index.apply(flight(3L, "CDG", "JFK", DAY.plusDays(1).atTime(9, 0), 100, 1L));
+        index.apply(flight(4L, "CDG", "JFK", DAY.plusDays(2).atTime(9, 0), 100, 1L));
+        index.apply(flight(5L, "CDG", "LHR", DAY.atTime(9, 0), 100, 1L));
+
+        // When
+        List<FlightResponse> results = index.search("CDG", "JFK", DAY, DAY.plusDays(1));
+
+        // Then
+        assertEquals(List.of(2L, 1L, 3L), results.stream().map(FlightResponse::id).toList());
+    }
+
+    @Test
+    void testApply_RescheduleMovesFlightToItsNewDay() {
+        // Given
+        index.apply(flight(1L, "CDG", "JFK", DAY.atTime(9, 0), 100, 1L));
+
+        // When
+        index.apply(flight(1L, "CDG", "JFK", DAY.plusDays(3).atTime(9, 0), 100, 2L));
+
+        // Then
+        assertTrue(index.search("CDG", "JFK", DAY, DAY).isEmpty());
+        assertEquals(1, index.search("CDG", "JFK", DAY.plusDays(3), DAY.plusDays(3)).size());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testApply_StaleVersionIgnored() {
+        // Given
+        index.apply(flight(1L, "CDG", "JFK", DAY.atTime(9, 0), 50, 3L));
+
+        // When
+        index.apply(flight(1L, "CDG", "JFK", DAY.atTime(9, 0), 100, 2L));
+
+        // Then
+        assertEquals(50, index.search("CDG", "JFK", DAY, DAY).get(0).availableSeats());
+    }
+
+    @Test
+    void testApply_CancelledFlightLeavesResultsAndStaysCancelled() {
+        // Given
+        index.apply(flight(1L, "CDG", "JFK", DAY.atTime(9, 0), 100, 1L));
+        FlightResponse cancelled = new FlightResponse(1L, "AF1", "CDG", "JFK", DAY.atTime(9, 0),
+                DAY.atTime(17, 0), 100, 100, 500.0, Flight.FlightStatus.CANCELLED, 2L);
+
+        // When
+        index.apply(cancelled);
+        index.apply(flight(1L, "CDG", "JFK", DAY.atTime(9, 0), 100, 1L));
+
+        // Then
+        assertTrue(index.search("CDG", "JFK", DAY, DAY).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testEvictBefore_DropsDepartedFlights() {
+        // Given
+        index.apply(flight(1L, "CDG", "JFK", DAY.atTime(9, 0), 100, 1L));
+        index.apply(flight(2L, "CDG", "JFK", DAY.plusDays(1).atTime(9, 0), 100, 1L));
+
+        // When
+        index.evictBefore(DAY.plusDays(1));
+        index.apply(flight(3L, "CDG", "JFK", DAY.atTime(10, 0), 100, 1L));
+
+        // Then
+        assertTrue(index.search("CDG", "JFK", DAY, DAY).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    static FlightResponse flight(Long id, String origin, String destination, LocalDateTime departure,
+                                 int availableSeats, Long version) {
+        return new FlightResponse(id, "AF" + id, origin, destination, departure, departure.plusHours(8),
+                availableSeats, availableSeats, 500.0, Flight.FlightStatus.SCHEDULED, version);
+    }
+}
@@ -0,0 +1,139 @@
+package com.prj.flight.service;
+
+import com.prj.flight.dto.FlightRequest;
+import com.prj.flight.dto.FlightResponse;
+import com.prj.flight.entity.Flight;
+import com.prj.flight.event.FlightChangedEvent;
+import com.prj.flight.exception.FlightNotFoundException;
+import com.prj.flight.exception.InvalidFlightException;
+import com.prj.flight.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightServiceTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private FlightService flightService;
+    private FlightRequest request;
+
+    @BeforeEach
+    void setUp() {
+        flightService = new FlightService(flightRepository, flightSearchIndex, eventPublisher, 31);
+
+        request = new FlightRequest();
+        request.setFlightNumber("AF6");
+        request.setOrigin("cdg");
+        request.setDestination("jfk");
+        request.setDepartureTime(LocalDateTime.of(2030, 6, 1, 9, 0));
+        request.setArrivalTime(LocalDateTime.of(2030, 6, 1, 17, 0));
+        request.setTotalSeats(180);
+        request.setPrice(520.0);
+    }
+
+    @Test
+    void testCreateFlight_AllSeatsAvailableAndEventPublished() {
+        // Given
+        when(flightRepository.saveAndFlush(any(Flight.class))).thenAnswer(invocation -> {
+            Flight flight = invocation.getArgument(0);
+            flight.setId(1L);
+            flight.setVersion(0L);
+            return flight;
+        });
+
+        // When
+        FlightResponse response = flightService.createFlight(request);
+
+        // Then
+        assertEquals(180, response.availableSeats());
+        assertEquals("CDG", response.origin());
+        assertEquals("JFK", response.destination());
+        assertEquals(Flight.FlightStatus.SCHEDULED, response.status());
+        verify(eventPublisher).publishEvent(new FlightChangedEvent(response));
+    }
+
+    @Test
+    void testCreateFlight_ArrivalBeforeDeparture() {
+        // Given
+        request.setArrivalTime(request.getDepartureTime().minusHours(1));
+
+        // When & Then
+        assertThrows(InvalidFlightException.class, () -> flightService.createFlight(request));
+        verify(flightRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testUpdateFlight_SoldSeatsStaySold() {
+        // Given
+        Flight flight = new Flight();
+        flight.setId(1L);
+        flight.setTotalSeats(180);
+        flight.setAvailableSeats(150);
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight));
+        when(flightRepository.saveAndFlush(flight)).thenReturn(flight);
+        request.setTotalSeats(200);
+
+        // When
+        FlightResponse response = flightService.updateFlight(1L, request);
+
+        // Then
+        assertEquals(200, response.totalSeats());
+        assertEquals(170, response.availableSeats());
+    }
+
+    @Test
+    void testCancelFlight_NotFound() {
+        // Given
+        when(flightRepository.findById(1L)).thenReturn(Optional.empty());
+
+        // When & Then
+        assertThrows(FlightNotFoundException.class, () -> flightService.cancelFlight(1L));
+    }
+
+    @Test
+    void testSearch_ServedFromIndexWithNormalizedCodes() {
+        // Given
+        LocalDate day = LocalDate.of(2030, 6, 1);
+        when(flightSearchIndex.search("CDG", "JFK", day, day)).thenReturn(List.of());
+
+        // When
+        flightService.search("cdg", "jfk", day, null);
+
+        // Then
+        verify(flightSearchIndex).search("CDG", "JFK", day, day);
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void testSearch_WindowTooLong() {
+        // Given
+        LocalDate from = LocalDate.of(2030, 6, 1);
+
+        // When & Then
+        assertThrows(InvalidFlightException.class,
+                () -> flightService.search("CDG", "JFK", from, from.plusDays(31)));
+        verify(flightSearchIndex, never()).search(anyString(), anyString(), any(), any());
+    }
+}
@@ -0,0 +1,75 @@
+package com.prj.gateway.filter;
+
+import com.prj.gateway.ratelimit.GradientConcurrencyLimit;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.SignalType;
+
+import java.util.List;
+
+/**
+ * Route filter {@code AdaptiveConcurrencyLimit=<initialLimit>,<minLimit>,<maxLimit>}: admission control with a
+ * {@link GradientConcurrencyLimit} per route. Requests over the current limit get 429 with {@code Retry-After}
+ * immediately; 503 and 504 from downstream count as overload and shrink the limit.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<AdaptiveConcurrencyLimitGatewayFilterFactory.Config> {
+
+    public static final String LIMIT_HEADER = "X-Concurrency-Limit";
+
+    public AdaptiveConcurrencyLimitGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("initialLimit", "minLimit", "maxLimit");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(config.getInitialLimit(),
+                config.getMinLimit(), config.getMaxLimit(), config.getSmoothing());
+        return (exchange, chain) -> {
+            if (!limit.tryAcquire()) {
+                log.debug("Shedding {} at concurrency limit {}", exchange.getRequest().getPath(), limit.getLimit());
+                ServerHttpResponse response = exchange.getResponse();
+                response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                response.getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                response.getHeaders().set(LIMIT_HEADER, String.valueOf(limit.getLimit()));
+                return response.setComplete();
+            }
+
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> {
+                if (signal == SignalType.CANCEL) {
+                    limit.cancel();
+                    return;
+                }
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                boolean dropped = signal == SignalType.ON_ERROR || (status != null
+                        && (status.value() == HttpStatus.SERVICE_UNAVAILABLE.value()
+                        || status.value() == HttpStatus.GATEWAY_TIMEOUT.value()));
+                limit.release(System.nanoTime() - start, dropped);
+            });
+        };
+    }
+
+    @Data
+    public static class Config {
+
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 200;
+        private double smoothing = 0.2;
+    }
+}
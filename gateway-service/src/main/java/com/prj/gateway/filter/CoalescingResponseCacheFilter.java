@@ -0,0 +1,303 @@
+package com.prj.gateway.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Caches GET responses for a short time and lets identical concurrent GETs share one backend call.
+ * <p>
+ * The first request for a key (the leader) goes to the backend; requests arriving while it is in flight
+ * wait for its response instead of being forwarded. A 200 response is then kept until its TTL expires,
+ * bounded by the backend's {@code Cache-Control: max-age} and skipped for {@code no-store}, {@code no-cache}
+ * and {@code private}. Cached {@code ETag}s answer {@code If-None-Match} with 304 at the gateway. Bodies over
+ * the size cap, announced by {@code Content-Length} or found while reading a chunked body, are written through
+ * unshared.
+ * <p>
+ * A write (any other method) evicts the responses of its own path, of the paths above it and of those below
+ * it: {@code POST /api/bookings/5/confirm} evicts {@code /api/bookings/5} and {@code /api/bookings}, and
+ * {@code POST /api/bookings} the whole route. Other views of the written resource, such as
+ * {@code /api/bookings/customer/1}, may be served for up to the TTL after the write.
+ */
+@Slf4j
+class CoalescingResponseCacheFilter implements GatewayFilter {
+
+    static final String CACHE_HEADER = "X-Cache";
+    static final String HIT = "HIT";
+    static final String MISS = "MISS";
+    static final String COALESCED = "COALESCED";
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+    private static final List<MediaType> STREAMING_TYPES = List.of(
+            MediaType.APPLICATION_NDJSON, MediaType.TEXT_EVENT_STREAM);
+    /**
+     * Headers that describe the leader's own quota and are not replayed to other clients.
+     */
+    private static final String RATE_LIMIT_HEADER_PREFIX = "X-RateLimit-";
+
+    private final long timeToLiveNanos;
+    private final int maxEntries;
+    private final long maxBodySize;
+    private final ConcurrentMap<String, CachedResponse> cache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Flight> inFlight = new ConcurrentHashMap<>();
+
+    CoalescingResponseCacheFilter(Duration timeToLive, int maxEntries, long maxBodySize) {
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.maxEntries = maxEntries;
+        this.maxBodySize = maxBodySize;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() == HttpMethod.HEAD || request.getMethod() == HttpMethod.OPTIONS) {
+            return chain.filter(exchange);
+        }
+        String path = request.getURI().getRawPath();
+        if (request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange).doFinally(signal -> invalidate(path));
+        }
+
+        String key = path + '?' + request.getURI().getRawQuery()
+                + '|' + request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        if (!noCache(request.getHeaders().getCacheControl())) {
+            CachedResponse cached = cache.get(key);
+            if (cached != null && cached.expiresAt() - System.nanoTime() > 0) {
+                return write(exchange, cached, HIT);
+            }
+        }
+
+        // Conditional requests only coalesce with identical ones: the leader's answer may be a 304
+        String flightKey = key + '|' + request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        Flight flight = new Flight(path);
+        Flight leader = inFlight.putIfAbsent(flightKey, flight);
+        if (leader != null) {
+            // An empty result means the leader could not share its response: go to the backend ourselves
+            return leader.result.asMono()
+                    .map(response -> write(exchange, response, COALESCED))
+                    .defaultIfEmpty(Mono.defer(() -> chain.filter(exchange)))
+                    .flatMap(Function.identity());
+        }
+
+        CachingResponse response = new CachingResponse(exchange.getResponse(), key, flightKey, flight);
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    inFlight.remove(flightKey, flight);
+                    flight.result.tryEmitEmpty();
+                });
+    }
+
+    /**
+     * Marks the matching flights first so that a leader storing its response concurrently either sees the
+     * mark or stores before the eviction below.
+     */
+    void invalidate(String writtenPath) {
+        inFlight.values().forEach(flight -> {
+            if (related(flight.path, writtenPath)) {
+                flight.stale = true;
+            }
+        });
+        cache.keySet().removeIf(key -> related(key.substring(0, key.indexOf('?')), writtenPath));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        String etag = cached.headers().getETag();
+        if (etag != null && matches(exchange.getRequest().getHeaders().getIfNoneMatch(), etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().setETag(etag);
+            response.getHeaders().set(CACHE_HEADER, cacheStatus);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().set(CACHE_HEADER, cacheStatus);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    private void complete(String key, String flightKey, Flight flight, CachedResponse response) {
+        inFlight.remove(flightKey, flight);
+        // A write that went through since the leader started may have made this response stale
+        if (response.status().value() == HttpStatus.OK.value() && response.expiresAt() - System.nanoTime() > 0
+                && !flight.stale) {
+            store(key, response);
+            if (flight.stale) {
+                cache.remove(key, response);
+            }
+        }
+        flight.result.tryEmitValue(response);
+    }
+
+    private void store(String key, CachedResponse response) {
+        if (cache.size() >= maxEntries) {
+            long now = System.nanoTime();
+            cache.values().removeIf(cached -> cached.expiresAt() - now <= 0);
+            if (cache.size() >= maxEntries) {
+                log.debug("Response cache full, not caching {}", key);
+                return;
+            }
+        }
+        cache.put(key, response);
+    }
+
+    private long expiresAt(HttpHeaders headers) {
+        long now = System.nanoTime();
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl == null) {
+            return now + timeToLiveNanos;
+        }
+        if (noCache(cacheControl) || cacheControl.contains("private")) {
+            return now;
+        }
+        Matcher maxAge = MAX_AGE.matcher(cacheControl);
+        if (maxAge.find()) {
+            return now + Math.min(timeToLiveNanos, Duration.ofSeconds(Long.parseLong(maxAge.group(1))).toNanos());
+        }
+        return now + timeToLiveNanos;
+    }
+
+    private boolean shareable(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        if (contentType != null && STREAMING_TYPES.stream().anyMatch(contentType::isCompatibleWith)) {
+            return false;
+        }
+        return headers.getContentLength() <= maxBodySize;
+    }
+
+    /**
+     * Whether a response for {@code cachedPath} may change with a write to {@code writtenPath}: same path,
+     * or one above the other.
+     */
+    static boolean related(String cachedPath, String writtenPath) {
+        String cached = trimSlash(cachedPath);
+        String written = trimSlash(writtenPath);
+        return cached.equals(written) || written.startsWith(cached + '/') || cached.startsWith(written + '/');
+    }
+
+    private static String trimSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private static boolean noCache(String cacheControl) {
+        return cacheControl != null && (cacheControl.contains("no-cache") || cacheControl.contains("no-store"));
+    }
+
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        return ifNoneMatch.contains("*") || ifNoneMatch.contains(etag);
+    }
+
+    private record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, long expiresAt) {
+    }
+
+    private static final class Flight {
+
+        private final String path;
+        private final Sinks.One<CachedResponse> result = Sinks.one();
+        private volatile boolean stale;
+
+        private Flight(String path) {
+            this.path = path;
+        }
+    }
+
+    /**
+     * Buffers the leader's body so it can be handed to waiting requests and cached, then writes it through.
+     */
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+        private final String flightKey;
+        private final Flight flight;
+
+        private CachingResponse(ServerHttpResponse delegate, String key, String flightKey, Flight flight) {
+            super(delegate);
+            this.key = key;
+            this.flightKey = flightKey;
+            this.flight = flight;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            if (!shareable(headers)) {
+                abandon();
+                return super.writeWith(body);
+            }
+            // Without a Content-Length the cap is checked on the bytes read: the first list holds either the
+            // whole body or the buffers up to the one crossing the cap, each later buffer comes on its own
+            AtomicLong size = new AtomicLong();
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxBodySize)
+                    .switchOnFirst((first, lists) -> {
+                        Flux<DataBuffer> buffers = lists.flatMapIterable(Function.identity());
+                        if (size.get() > maxBodySize) {
+                            abandon();
+                            return super.writeWith(buffers);
+                        }
+                        return cacheAndWrite(headers, buffers);
+                    })
+                    .then();
+        }
+
+        private Mono<Void> cacheAndWrite(HttpHeaders headers, Flux<DataBuffer> buffers) {
+            return DataBufferUtils.join(buffers, (int) Math.min(maxBodySize, Integer.MAX_VALUE))
+                    .map(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .flatMap(bytes -> {
+                        HttpHeaders copy = new HttpHeaders();
+                        copy.putAll(headers);
+                        copy.remove(HttpHeaders.TRANSFER_ENCODING);
+                        copy.remove(AdaptiveConcurrencyLimitGatewayFilterFactory.LIMIT_HEADER);
+                        copy.keySet().stream()
+                                .filter(name -> name.regionMatches(true, 0, RATE_LIMIT_HEADER_PREFIX, 0,
+                                        RATE_LIMIT_HEADER_PREFIX.length()))
+                                .toList()
+                                .forEach(copy::remove);
+                        copy.setContentLength(bytes.length);
+                        HttpStatusCode status = getStatusCode() == null ? HttpStatus.OK : getStatusCode();
+                        complete(key, flightKey, flight, new CachedResponse(status,
+                                HttpHeaders.readOnlyHttpHeaders(copy), bytes, expiresAt(headers)));
+
+                        headers.set(CACHE_HEADER, MISS);
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+
+        /**
+         * Lets waiting requests go to the backend themselves.
+         */
+        private void abandon() {
+            inFlight.remove(flightKey, flight);
+            flight.result.tryEmitEmpty();
+        }
+    }
+}
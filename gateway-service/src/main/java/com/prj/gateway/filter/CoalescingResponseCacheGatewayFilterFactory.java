@@ -0,0 +1,52 @@
+package com.prj.gateway.filter;
+
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Route filter {@code CoalescingResponseCache=<timeToLive>,<maxEntries>,<maxBodySize>}: short-lived caching
+ * of GET responses and single-flight coalescing of identical concurrent GETs.
+ * <p>
+ * It runs ahead of the route's other filters: hits and coalesced requests cost no backend call, so they
+ * take neither a rate-limit token nor a concurrency slot; only the request that goes to the backend passes
+ * through {@code RequestRateLimiter} and {@code AdaptiveConcurrencyLimit}. The per-client headers those
+ * filters add are not stored with the response.
+ */
+@Component
+public class CoalescingResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<CoalescingResponseCacheGatewayFilterFactory.Config> {
+
+    public CoalescingResponseCacheGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeToLive", "maxEntries", "maxBodySize");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Must wrap the response before NettyWriteResponseFilter copies the backend body into it
+        return new OrderedGatewayFilter(
+                new CoalescingResponseCacheFilter(config.getTimeToLive(), config.getMaxEntries(),
+                        config.getMaxBodySize().toBytes()),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    @Data
+    public static class Config {
+
+        private Duration timeToLive = Duration.ofSeconds(1);
+        private int maxEntries = 10_000;
+        private DataSize maxBodySize = DataSize.ofMegabytes(1);
+    }
+}
@@ -0,0 +1,99 @@
+package com.prj.gateway.ratelimit;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client token buckets kept in this gateway instance. It plugs into the gateway's {@code RequestRateLimiter}
+ * filter through the {@link org.springframework.cloud.gateway.filter.ratelimit.RateLimiter} contract, so a
+ * shared-store implementation (such as the Redis one) can replace it without touching the routes. Limits are
+ * per instance: with N gateways a client gets up to N times the configured rate. At most {@code maxBuckets}
+ * clients get their own bucket; past that, new clients share one overflow bucket per route until idle buckets
+ * are swept.
+ */
+@Slf4j
+public class InMemoryTokenBucketRateLimiter extends AbstractRateLimiter<InMemoryTokenBucketRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    static final String OVERFLOW_KEY = "overflow";
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Config defaultConfig;
+    private final int maxBuckets;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private volatile long lastSweep = System.nanoTime();
+
+    public InMemoryTokenBucketRateLimiter(ConfigurationService configurationService, Config defaultConfig,
+                                          int maxBuckets) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.defaultConfig = defaultConfig;
+        this.maxBuckets = maxBuckets;
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        long now = System.nanoTime();
+        sweepIdleBuckets(now);
+
+        String key = routeId + ':' + id;
+        if (!buckets.containsKey(key) && buckets.size() >= maxBuckets) {
+            log.debug("Rate limiter full, client {} on route {} shares the overflow bucket", id, routeId);
+            key = routeId + ':' + OVERFLOW_KEY;
+        }
+        TokenBucket bucket = buckets.computeIfAbsent(key,
+                ignored -> new TokenBucket(config.getBurstCapacity(), config.getReplenishRate(), now));
+        long remaining = bucket.tryConsume(config.getRequestedTokens(), now);
+        if (remaining < 0) {
+            log.debug("Rate limit exceeded for client {} on route {}", id, routeId);
+        }
+        return Mono.just(new Response(remaining >= 0, Map.of(
+                REMAINING_HEADER, String.valueOf(Math.max(remaining, 0)),
+                REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()),
+                BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()))));
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    /**
+     * A full bucket carries no state worth keeping, so idle clients do not accumulate in memory.
+     */
+    void sweepIdleBuckets(long now) {
+        if (now - lastSweep < SWEEP_INTERVAL_NANOS) {
+            return;
+        }
+        lastSweep = now;
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    @Data
+    @Validated
+    public static class Config {
+
+        @Min(1)
+        private int replenishRate = 50;
+
+        @Min(1)
+        private int burstCapacity = 100;
+
+        @Min(1)
+        private int requestedTokens = 1;
+    }
+}
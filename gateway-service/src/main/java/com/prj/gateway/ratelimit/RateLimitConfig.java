@@ -0,0 +1,43 @@
+package com.prj.gateway.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+@Configuration
+public class RateLimitConfig {
+
+    /**
+     * Limits each authenticated principal, otherwise each remote address. Nothing the client sends picks
+     * its key: the address is the TCP peer, or with {@code gateway.rate-limit.trusted-proxies} set, the
+     * {@code X-Forwarded-For} entry added by the outermost trusted proxy.
+     */
+    @Bean
+    public KeyResolver clientKeyResolver(@Value("${gateway.rate-limit.trusted-proxies:0}") int trustedProxies) {
+        RemoteAddressResolver addressResolver = trustedProxies > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(trustedProxies)
+                : new RemoteAddressResolver() {
+                };
+        return exchange -> exchange.getPrincipal()
+                .map(principal -> "user:" + principal.getName())
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    InetSocketAddress remoteAddress = addressResolver.resolve(exchange);
+                    return remoteAddress == null ? "anonymous" : "ip:" + remoteAddress.getHostString();
+                }));
+    }
+
+    @Bean
+    public InMemoryTokenBucketRateLimiter inMemoryRateLimiter(ConfigurationService configurationService,
+                                                              @Value("${gateway.rate-limit.max-buckets:100000}")
+                                                              int maxBuckets) {
+        return new InMemoryTokenBucketRateLimiter(configurationService, new InMemoryTokenBucketRateLimiter.Config(),
+                maxBuckets);
+    }
+}
@@ -0,0 +1,47 @@
+package com.prj.gateway.ratelimit;
+
+/**
+ * Classic token bucket: holds up to {@code capacity} tokens, refilled continuously at {@code ratePerSecond}.
+ * Time is passed in by the caller so the bucket stays deterministic under test.
+ */
+final class TokenBucket {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long refilledAt;
+
+    TokenBucket(long capacity, long ratePerSecond, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = ratePerSecond / NANOS_PER_SECOND;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    /**
+     * @return the tokens left after the request, or -1 if it was refused
+     */
+    synchronized long tryConsume(long requested, long now) {
+        refill(now);
+        if (tokens < requested) {
+            return -1;
+        }
+        tokens -= requested;
+        return (long) tokens;
+    }
+
+    synchronized boolean isFull(long now) {
+        refill(now);
+        return tokens >= capacity;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - refilledAt;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * tokensPerNano);
+            refilledAt = now;
+        }
+    }
+}
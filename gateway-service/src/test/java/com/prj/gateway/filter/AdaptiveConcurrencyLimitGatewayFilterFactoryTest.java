@@ -0,0 +1,86 @@
+package com.prj.gateway.filter;
+
+import com.prj.gateway.ratelimit.GradientConcurrencyLimit;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimitGatewayFilterFactoryTest {
+
+    @Test
+    void testRequestOverLimit_ShedWith429() {
+        // Given
+        AdaptiveConcurrencyLimitGatewayFilterFactory.Config config =
+                new AdaptiveConcurrencyLimitGatewayFilterFactory.Config();
+        config.setInitialLimit(1);
+        config.setMinLimit(1);
+        GatewayFilter filter = new AdaptiveConcurrencyLimitGatewayFilterFactory().apply(config);
+        Sinks.Empty<Void> backend = Sinks.empty();
+        MockServerWebExchange first = exchange();
+        MockServerWebExchange second = exchange();
+
+        // When
+        filter.filter(first, exchange -> backend.asMono()).subscribe();
+        filter.filter(second, exchange -> Mono.empty()).block();
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, second.getResponse().getStatusCode());
+        assertEquals("1", second.getResponse().getHeaders().getFirst("Retry-After"));
+        backend.tryEmitEmpty();
+    }
+
+    @Test
+    void testLatencyIncrease_ShrinksLimit() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 0.2);
+        for (int i = 0; i < 200; i++) {
+            saturateAndRelease(limit, TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int steady = limit.getLimit();
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            saturateAndRelease(limit, TimeUnit.MILLISECONDS.toNanos(80));
+        }
+
+        // Then
+        assertTrue(steady > 20, "limit should grow while latency holds, was " + steady);
+        assertTrue(limit.getLimit() < steady, "limit should shrink when latency rises");
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void testDroppedRequest_BacksOff() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 4, 200, 0.2);
+        assertTrue(limit.tryAcquire());
+
+        // When
+        limit.release(TimeUnit.MILLISECONDS.toNanos(5), true);
+
+        // Then
+        assertEquals(18, limit.getLimit());
+    }
+
+    private static void saturateAndRelease(GradientConcurrencyLimit limit, long rttNanos) {
+        int acquired = 0;
+        while (limit.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limit.release(rttNanos, false);
+        }
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/bookings/flight/100"));
+    }
+}
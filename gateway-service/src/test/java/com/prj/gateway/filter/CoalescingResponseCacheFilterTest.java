@@ -0,0 +1,203 @@
+package com.prj.gateway.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingResponseCacheFilterTest {
+
+    private static final String BODY = "[{\"id\":1,\"flightId\":100}]";
+
+    private CoalescingResponseCacheFilter filter;
+    private AtomicInteger backendCalls;
+    private GatewayFilterChain backend;
+
+    @BeforeEach
+    void setUp() {
+        filter = new CoalescingResponseCacheFilter(Duration.ofSeconds(30), 100, 1024 * 1024);
+        backendCalls = new AtomicInteger();
+        backend = exchange -> {
+            backendCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setETag("\"7\"");
+            return Mono.delay(Duration.ofMillis(100))
+                    .then(response.writeWith(Mono.fromSupplier(() ->
+                            response.bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8)))));
+        };
+    }
+
+    @Test
+    void testConcurrentIdenticalGets_ShareOneBackendCall() {
+        // Given
+        List<MockServerWebExchange> exchanges = Flux.range(0, 5).map(i -> get()).collectList().block();
+
+        // When
+        Flux.fromIterable(exchanges).flatMap(exchange -> filter.filter(exchange, backend)).blockLast();
+
+        // Then
+        assertEquals(1, backendCalls.get());
+        for (MockServerWebExchange exchange : exchanges) {
+            assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+            assertEquals(BODY, exchange.getResponse().getBodyAsString().block());
+        }
+        assertEquals(1, exchanges.stream()
+                .filter(e -> CoalescingResponseCacheFilter.MISS.equals(header(e))).count());
+        assertEquals(4, exchanges.stream()
+                .filter(e -> CoalescingResponseCacheFilter.COALESCED.equals(header(e))).count());
+    }
+
+    @Test
+    void testRepeatedGet_ServedFromCache() {
+        // Given
+        filter.filter(get(), backend).block();
+        MockServerWebExchange exchange = get();
+
+        // When
+        filter.filter(exchange, backend).block();
+
+        // Then
+        assertEquals(1, backendCalls.get());
+        assertEquals(CoalescingResponseCacheFilter.HIT, header(exchange));
+        assertEquals(BODY, exchange.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testIfNoneMatch_AnsweredFromCache() {
+        // Given
+        filter.filter(get(), backend).block();
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/bookings/flight/100").ifNoneMatch("\"7\""));
+
+        // When
+        filter.filter(exchange, backend).block();
+
+        // Then
+        assertEquals(1, backendCalls.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testWrite_InvalidatesCache() {
+        // Given
+        filter.filter(get(), backend).block();
+        MockServerWebExchange post = MockServerWebExchange.from(MockServerHttpRequest.post("/api/bookings"));
+
+        // When
+        filter.filter(post, exchange -> exchange.getResponse().setComplete()).block();
+        filter.filter(get(), backend).block();
+
+        // Then
+        assertEquals(2, backendCalls.get());
+    }
+
+    @Test
+    void testWrite_KeepsUnrelatedPaths() {
+        // Given
+        filter.filter(get(), backend).block();
+        MockServerWebExchange post = MockServerWebExchange.from(MockServerHttpRequest.post("/api/bookings/5/confirm"));
+        MockServerWebExchange exchange = get();
+
+        // When
+        filter.filter(post, e -> e.getResponse().setComplete()).block();
+        filter.filter(exchange, backend).block();
+
+        // Then
+        assertEquals(1, backendCalls.get());
+        assertEquals(CoalescingResponseCacheFilter.HIT, header(exchange));
+    }
+
+    @Test
+    void testRelated_SamePathOrOneAboveTheOther() {
+        assertTrue(CoalescingResponseCacheFilter.related("/api/bookings/5", "/api/bookings/5/confirm"));
+        assertTrue(CoalescingResponseCacheFilter.related("/api/bookings", "/api/bookings/5/"));
+        assertTrue(CoalescingResponseCacheFilter.related("/api/bookings/flight/100", "/api/bookings"));
+        assertFalse(CoalescingResponseCacheFilter.related("/api/bookings/flight/100", "/api/bookings/5"));
+        assertFalse(CoalescingResponseCacheFilter.related("/api/bookings/50", "/api/bookings/5"));
+    }
+
+    @Test
+    void testChunkedBodyOverCap_WrittenThroughUncached() {
+        // Given: no Content-Length, body larger than the cap once read
+        filter = new CoalescingResponseCacheFilter(Duration.ofSeconds(30), 100, 10);
+        GatewayFilterChain chunked = exchange -> {
+            backendCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            return response.writeWith(Flux.just("[{\"id\":1}", ",{\"id\":2}", ",{\"id\":3}]")
+                    .map(part -> response.bufferFactory().wrap(part.getBytes(StandardCharsets.UTF_8))));
+        };
+        MockServerWebExchange first = get();
+        MockServerWebExchange second = get();
+
+        // When
+        filter.filter(first, chunked).block();
+        filter.filter(second, chunked).block();
+
+        // Then
+        assertEquals(2, backendCalls.get());
+        assertEquals("[{\"id\":1},{\"id\":2},{\"id\":3}]", second.getResponse().getBodyAsString().block());
+        assertNull(header(second));
+    }
+
+    @Test
+    void testCachedResponse_DropsPerClientLimitHeaders() {
+        // Given: the limiters behind the cache tagged the leader's response with its own quota
+        GatewayFilterChain limited = exchange -> {
+            exchange.getResponse().getHeaders().set("X-RateLimit-Remaining", "3");
+            exchange.getResponse().getHeaders().set(AdaptiveConcurrencyLimitGatewayFilterFactory.LIMIT_HEADER, "20");
+            return backend.filter(exchange);
+        };
+        filter.filter(get(), limited).block();
+        MockServerWebExchange exchange = get();
+
+        // When
+        filter.filter(exchange, limited).block();
+
+        // Then
+        assertEquals(CoalescingResponseCacheFilter.HIT, header(exchange));
+        assertNull(exchange.getResponse().getHeaders().getFirst("X-RateLimit-Remaining"));
+        assertNull(exchange.getResponse().getHeaders()
+                .getFirst(AdaptiveConcurrencyLimitGatewayFilterFactory.LIMIT_HEADER));
+        assertEquals("\"7\"", exchange.getResponse().getHeaders().getETag());
+    }
+
+    @Test
+    void testNoStoreResponse_NotCached() {
+        // Given
+        GatewayFilterChain noStore = exchange -> {
+            exchange.getResponse().getHeaders().setCacheControl("no-store");
+            return backend.filter(exchange);
+        };
+
+        // When
+        filter.filter(get(), noStore).block();
+        filter.filter(get(), noStore).block();
+
+        // Then
+        assertEquals(2, backendCalls.get());
+    }
+
+    private static MockServerWebExchange get() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/bookings/flight/100"));
+    }
+
+    private static String header(MockServerWebExchange exchange) {
+        return exchange.getResponse().getHeaders().getFirst(CoalescingResponseCacheFilter.CACHE_HEADER);
+    }
+}
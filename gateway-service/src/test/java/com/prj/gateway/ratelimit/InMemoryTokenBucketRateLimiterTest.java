@@ -0,0 +1,93 @@
+package com.prj.gateway.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTokenBucketRateLimiterTest {
+
+    private InMemoryTokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryTokenBucketRateLimiter.Config config = new InMemoryTokenBucketRateLimiter.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(2);
+        rateLimiter = new InMemoryTokenBucketRateLimiter(null, config, 2);
+    }
+
+    @Test
+    void testBurstThenRefused() {
+        // When
+        RateLimiter.Response first = rateLimiter.isAllowed("booking-service", "client:a").block();
+        RateLimiter.Response second = rateLimiter.isAllowed("booking-service", "client:a").block();
+        RateLimiter.Response third = rateLimiter.isAllowed("booking-service", "client:a").block();
+
+        // Then
+        assertTrue(first.isAllowed());
+        assertEquals("1", first.getHeaders().get(InMemoryTokenBucketRateLimiter.REMAINING_HEADER));
+        assertTrue(second.isAllowed());
+        assertFalse(third.isAllowed());
+        assertEquals("0", third.getHeaders().get(InMemoryTokenBucketRateLimiter.REMAINING_HEADER));
+    }
+
+    @Test
+    void testClientsHaveSeparateBuckets() {
+        // Given
+        rateLimiter.isAllowed("booking-service", "client:a").block();
+        rateLimiter.isAllowed("booking-service", "client:a").block();
+
+        // When
+        RateLimiter.Response other = rateLimiter.isAllowed("booking-service", "client:b").block();
+
+        // Then
+        assertTrue(other.isAllowed());
+        assertFalse(rateLimiter.isAllowed("booking-service", "client:a").block().isAllowed());
+    }
+
+    @Test
+    void testNewClientsShareOverflowBucketWhenFull() {
+        // Given: two clients fill the limiter
+        rateLimiter.isAllowed("booking-service", "ip:a").block();
+        rateLimiter.isAllowed("booking-service", "ip:b").block();
+
+        // When
+        rateLimiter.isAllowed("booking-service", "ip:c").block();
+        rateLimiter.isAllowed("booking-service", "ip:d").block();
+        RateLimiter.Response third = rateLimiter.isAllowed("booking-service", "ip:e").block();
+
+        // Then
+        assertFalse(third.isAllowed());
+        assertEquals(3, rateLimiter.bucketCount());
+    }
+
+    @Test
+    void testBucketRefillsOverTime() {
+        // Given
+        long start = 0;
+        TokenBucket bucket = new TokenBucket(2, 1, start);
+        bucket.tryConsume(2, start);
+
+        // When & Then
+        assertEquals(-1, bucket.tryConsume(1, start + TimeUnit.MILLISECONDS.toNanos(500)));
+        assertEquals(0, bucket.tryConsume(1, start + TimeUnit.SECONDS.toNanos(1)));
+        assertTrue(bucket.isFull(start + TimeUnit.SECONDS.toNanos(3)));
+    }
+
+    @Test
+    void testFullBucketsAreSwept() {
+        // Given
+        rateLimiter.isAllowed("booking-service", "client:a").block();
+        assertEquals(1, rateLimiter.bucketCount());
+
+        // When
+        rateLimiter.sweepIdleBuckets(System.nanoTime() + TimeUnit.MINUTES.toNanos(2));
+
+        // Then
+        assertEquals(0, rateLimiter.bucketCount());
+    }
+}
@@ -0,0 +1,40 @@
+package com.prj.gateway.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitConfigTest {
+
+    private static final InetSocketAddress PEER = new InetSocketAddress("10.0.0.7", 51000);
+
+    @Test
+    void testKeyIgnoresClientSuppliedHeaders() {
+        // Given
+        KeyResolver resolver = new RateLimitConfig().clientKeyResolver(0);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/bookings")
+                .remoteAddress(PEER)
+                .header("X-Client-Id", "someone-else")
+                .header("X-Forwarded-For", "203.0.113.9"));
+
+        // When & Then
+        assertEquals("ip:10.0.0.7", resolver.resolve(exchange).block());
+    }
+
+    @Test
+    void testKeyTakesForwardedAddressFromTrustedProxy() {
+        // Given: the client forged the first entry, the proxy appended the real one
+        KeyResolver resolver = new RateLimitConfig().clientKeyResolver(1);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/bookings")
+                .remoteAddress(PEER)
+                .header("X-Forwarded-For", "198.51.100.1, 203.0.113.9"));
+
+        // When & Then
+        assertEquals("ip:203.0.113.9", resolver.resolve(exchange).block());
+    }
+}